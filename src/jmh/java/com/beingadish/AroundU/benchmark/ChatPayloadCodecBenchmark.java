@@ -0,0 +1,108 @@
+package com.beingadish.AroundU.benchmark;
+
+import com.beingadish.AroundU.chat.dto.ChatMessageResponseDTO;
+import com.beingadish.AroundU.chat.dto.MessageStatusUpdate;
+import com.beingadish.AroundU.chat.dto.TypingEvent;
+import com.beingadish.AroundU.infrastructure.config.WebSocketProperties;
+import com.beingadish.AroundU.infrastructure.websocket.CompactPayloadCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.zip.Deflater;
+
+/**
+ * Bytes per chat frame and CPU cost of the JSON path versus the negotiated
+ * CBOR path, with and without permessage-deflate.
+ * <p>
+ * Payload sizes are printed once per trial; throughput/latency comes from JMH:
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="ChatPayloadCodec -f 1 -wi 3 -i 5"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatPayloadCodecBenchmark {
+
+    @Param({"chatMessage", "statusUpdate", "typingEvent"})
+    private String payloadType;
+
+    private ObjectMapper jsonMapper;
+    private CompactPayloadCodec codec;
+    private Object payload;
+    private byte[] json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        jsonMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        codec = new CompactPayloadCodec(new WebSocketProperties(), new SimpleMeterRegistry());
+        payload = switch (payloadType) {
+            case "chatMessage" -> chatMessage();
+            case "statusUpdate" -> MessageStatusUpdate.builder()
+                    .conversationId(4211L)
+                    .messageIds(LongStream.rangeClosed(90001, 90010).boxed().toList())
+                    .status("READ")
+                    .build();
+            default -> TypingEvent.builder().conversationId(4211L).userId(77L).typing(true).build();
+        };
+        json = jsonMapper.writeValueAsBytes(payload);
+        byte[] cbor = codec.toCompact(json);
+        System.out.printf("%n[%s] json=%dB json+deflate=%dB cbor=%dB cbor+deflate=%dB%n",
+                payloadType, json.length, deflate(json).length, cbor.length, deflate(cbor).length);
+    }
+
+    @Benchmark
+    public byte[] jsonSerialize() throws Exception {
+        return jsonMapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] jsonSerializeDeflate() throws Exception {
+        return deflate(jsonMapper.writeValueAsBytes(payload));
+    }
+
+    @Benchmark
+    public byte[] cborTranscode() throws Exception {
+        return codec.toCompact(json);
+    }
+
+    @Benchmark
+    public byte[] cborTranscodeDeflate() throws Exception {
+        return deflate(codec.toCompact(json));
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        deflater.setInput(input);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(input.length);
+        byte[] buffer = new byte[256];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+
+    private static ChatMessageResponseDTO chatMessage() {
+        ChatMessageResponseDTO dto = new ChatMessageResponseDTO();
+        dto.setId(90001L);
+        dto.setConversationId(4211L);
+        dto.setSenderId(77L);
+        dto.setSenderRole("WORKER");
+        dto.setContent("Hi, I can come by around 5pm to look at the leaking tap. Does that work?");
+        dto.setStatus("SENT");
+        dto.setCreatedAt(LocalDateTime.of(2026, 3, 14, 17, 5, 12));
+        return dto;
+    }
+}
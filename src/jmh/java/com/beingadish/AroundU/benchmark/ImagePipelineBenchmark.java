@@ -0,0 +1,180 @@
+package com.beingadish.AroundU.benchmark;
+
+import com.beingadish.AroundU.infrastructure.config.ImageStorageProperties;
+import com.beingadish.AroundU.infrastructure.storage.ImageStorageService;
+import com.beingadish.AroundU.infrastructure.storage.impl.ImageProcessingPipeline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uploads processed per second by {@link ImageProcessingPipeline}: hash,
+ * decode once, then scale and encode every rendition.
+ * <p>
+ * {@code perCore} runs the renditions on the calling thread, so each JMH
+ * thread uses one core and ops/s per thread is the throughput per core;
+ * scale it up with {@code -t}. {@code parallel} fans the renditions out over
+ * a pool sized to the cores like {@code computationExecutor}, which is what a
+ * single upload's latency sees. {@code deduplicated} re-submits an upload
+ * whose renditions are already stored. Stored bytes versus the original are
+ * printed once per trial; storage itself is stubbed out.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="ImagePipeline -f 1 -wi 2 -i 3 -t 1"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ImagePipelineBenchmark {
+
+    /**
+     * Typical phone camera output and a 1080p screenshot.
+     */
+    @Param({"4032x3024", "1920x1080"})
+    private String resolution;
+
+    private byte[] upload;
+    private ExecutorService pool;
+    private ImageProcessingPipeline perCorePipeline;
+    private ImageProcessingPipeline parallelPipeline;
+    private ImageProcessingPipeline dedupPipeline;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String[] size = resolution.split("x");
+        upload = photo(Integer.parseInt(size[0]), Integer.parseInt(size[1]));
+        pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+
+        ImageStorageProperties properties = new ImageStorageProperties();
+        StubStorage stored = new StubStorage(false);
+        perCorePipeline = new ImageProcessingPipeline(stored, properties, Runnable::run, new SimpleMeterRegistry());
+        parallelPipeline = new ImageProcessingPipeline(new StubStorage(false), properties, pool,
+                new SimpleMeterRegistry());
+        dedupPipeline = new ImageProcessingPipeline(new StubStorage(true), properties, pool,
+                new SimpleMeterRegistry());
+
+        perCorePipeline.process(new ByteArrayInputStream(upload), upload.length);
+        long renditions = stored.sizes.values().stream().mapToLong(Long::longValue).sum();
+        System.out.printf("%n[%s] original=%dB renditions=%dB %s%n",
+                resolution, upload.length, renditions, stored.sizes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public ImageProcessingPipeline.ProcessedImage perCore() throws IOException {
+        return perCorePipeline.process(new ByteArrayInputStream(upload), upload.length);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public ImageProcessingPipeline.ProcessedImage parallel() throws IOException {
+        return parallelPipeline.process(new ByteArrayInputStream(upload), upload.length);
+    }
+
+    @Benchmark
+    public ImageProcessingPipeline.ProcessedImage deduplicated() throws IOException {
+        return dedupPipeline.process(new ByteArrayInputStream(upload), upload.length);
+    }
+
+    /**
+     * A noisy gradient saved as a high-quality JPEG, so it compresses roughly
+     * like a photo rather than like a flat test card.
+     */
+    private static byte[] photo(int width, int height) throws IOException {
+        Random random = new Random(42);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int r = (x * 255 / width + random.nextInt(24)) & 0xff;
+                int g = (y * 255 / height + random.nextInt(24)) & 0xff;
+                int b = ((x + y) * 127 / (width + height) + random.nextInt(24)) & 0xff;
+                image.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (MemoryCacheImageOutputStream out = new MemoryCacheImageOutputStream(bytes)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(0.92f);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Records rendition sizes instead of storing them.
+     */
+    private static final class StubStorage implements ImageStorageService {
+
+        private final boolean stored;
+        private final Map<String, Long> sizes = new ConcurrentHashMap<>();
+
+        private StubStorage(boolean stored) {
+            this.stored = stored;
+        }
+
+        @Override
+        public String uploadImage(String fileName, InputStream data, long size) throws IOException {
+            try (data) {
+                data.transferTo(OutputStream.nullOutputStream());
+            }
+            sizes.put(fileName.substring(fileName.lastIndexOf('/') + 1), size);
+            return fileName;
+        }
+
+        @Override
+        public String getImageUrl(String fileName) {
+            return fileName;
+        }
+
+        @Override
+        public Optional<Path> findSpooled(String fileName) {
+            return Optional.empty();
+        }
+
+        @Override
+        public boolean exists(String fileName) {
+            return stored;
+        }
+
+        @Override
+        public void deleteImage(String fileName) {
+        }
+
+        @Override
+        public int uploadPending() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.beingadish.AroundU.benchmark;
+
+import com.beingadish.AroundU.common.exception.PasswordHashingUnavailableException;
+import com.beingadish.AroundU.common.util.DistanceUtils;
+import com.beingadish.AroundU.infrastructure.config.PasswordHashingProperties;
+import com.beingadish.AroundU.infrastructure.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency of a feed-style request while a login storm is in progress.
+ * <p>
+ * Every request, the measured one included, runs on a virtual thread as it
+ * does under {@code spring.threads.virtual.enabled}. The storm is
+ * {@code cores × 32} virtual threads verifying passwords in a loop, either
+ * straight on the carrier threads ({@code direct}, the old behaviour) or
+ * through {@link BoundedPasswordEncoder}; {@code none} is the quiet baseline.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="PasswordHashingSpike -f 1 -wi 2 -i 3"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordHashingSpikeBenchmark {
+
+    @Param({"none", "direct", "bounded"})
+    private String loginStorm;
+
+    private final List<Thread> stormThreads = new ArrayList<>();
+    private final AtomicLong logins = new AtomicLong();
+    private final AtomicLong shed = new AtomicLong();
+    private volatile boolean storming;
+
+    private PasswordEncoder encoder;
+    private double[][] jobs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        jobs = new double[2_000][2];
+        for (double[] job : jobs) {
+            job[0] = 12.8 + random.nextDouble();
+            job[1] = 77.4 + random.nextDouble();
+        }
+        if ("none".equals(loginStorm)) {
+            return;
+        }
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder();
+        encoder = "bounded".equals(loginStorm)
+                ? new BoundedPasswordEncoder(bcrypt, new PasswordHashingProperties(), new SimpleMeterRegistry())
+                : bcrypt;
+        String hash = bcrypt.encode("correct horse battery staple");
+        storming = true;
+        int stormSize = Runtime.getRuntime().availableProcessors() * 32;
+        for (int i = 0; i < stormSize; i++) {
+            stormThreads.add(Thread.ofVirtual().name("login-", i).start(() -> login(hash)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        storming = false;
+        for (Thread thread : stormThreads) {
+            thread.join();
+        }
+        if (encoder instanceof BoundedPasswordEncoder bounded) {
+            bounded.close();
+        }
+        System.out.printf("%n[%s] logins=%d shed=%d%n", loginStorm, logins.get(), shed.get());
+    }
+
+    /**
+     * Nearest-first ordering of 2,000 jobs: a few hundred microseconds of CPU,
+     * comparable to building a feed page.
+     */
+    @Benchmark
+    public double feedRequest() throws InterruptedException {
+        double[] nearest = new double[1];
+        Thread request = Thread.ofVirtual().start(() -> {
+            double[] distances = new double[jobs.length];
+            for (int i = 0; i < jobs.length; i++) {
+                distances[i] = DistanceUtils.haversine(12.97, 77.59, jobs[i][0], jobs[i][1]);
+            }
+            Arrays.sort(distances);
+            nearest[0] = distances[0];
+        });
+        request.join();
+        return nearest[0];
+    }
+
+    private void login(String hash) {
+        while (storming) {
+            try {
+                encoder.matches("correct horse battery staple", hash);
+                logins.incrementAndGet();
+                // Stands in for the response write; a busy loop would never release its carrier
+                Thread.yield();
+            } catch (PasswordHashingUnavailableException ex) {
+                // A real client would honour Retry-After; back off briefly instead
+                shed.incrementAndGet();
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.beingadish.AroundU.benchmark;
+
+import com.beingadish.AroundU.infrastructure.security.PayloadCryptoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response encryption cost of the original per-call implementation versus the
+ * pooled envelope path and the streaming frame path.
+ * <p>
+ * {@code legacyEnvelope} reproduces the previous {@code PayloadCryptoService}
+ * (strong {@link SecureRandom} and a new {@link Cipher} per call, String
+ * round-trips). Add {@code -prof gc} for allocation per operation:
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="PayloadEncryption -f 1 -wi 3 -i 5 -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadEncryptionBenchmark {
+
+    private static final String KEY = "dGhpcyBpcyBhIDMyIGJ5dGUga2V5ISEhMTIzNDU2Nzg=";
+
+    @Param({"1024", "65536", "1048576"})
+    private int payloadBytes;
+
+    private PayloadCryptoService service;
+    private SecretKeySpec legacyKey;
+    private String json;
+    private byte[] jsonBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new PayloadCryptoService();
+        ReflectionTestUtils.setField(service, "base64Key", KEY);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        legacyKey = new SecretKeySpec(Base64.getDecoder().decode(KEY), "ChaCha20");
+
+        char[] body = new char[payloadBytes];
+        Arrays.fill(body, 'x');
+        json = new String(body);
+        jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String legacyEnvelope() throws Exception {
+        byte[] nonce = new byte[12];
+        SecureRandom.getInstanceStrong().nextBytes(nonce);
+        Cipher cipher = Cipher.getInstance("ChaCha20-Poly1305");
+        cipher.init(Cipher.ENCRYPT_MODE, legacyKey, new IvParameterSpec(nonce));
+        byte[] ciphertext = cipher.doFinal(new String(jsonBytes, StandardCharsets.UTF_8).getBytes(StandardCharsets.UTF_8));
+        ByteBuffer buffer = ByteBuffer.allocate(nonce.length + ciphertext.length);
+        buffer.put(nonce);
+        buffer.put(ciphertext);
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+
+    @Benchmark
+    public String pooledEnvelope() throws Exception {
+        return Base64.getEncoder().encodeToString(service.encrypt(jsonBytes));
+    }
+
+    @Benchmark
+    public void streamFrames() throws Exception {
+        try (OutputStream out = service.encryptingStream(OutputStream.nullOutputStream())) {
+            // Written in 8 KiB slices, as a servlet container would hand them over
+            for (int i = 0; i < jsonBytes.length; i += 8192) {
+                out.write(jsonBytes, i, Math.min(8192, jsonBytes.length - i));
+            }
+        }
+    }
+}
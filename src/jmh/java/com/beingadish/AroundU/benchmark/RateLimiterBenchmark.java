@@ -0,0 +1,111 @@
+package com.beingadish.AroundU.benchmark;
+
+import com.beingadish.AroundU.fixtures.InMemoryProxyManager;
+import com.beingadish.AroundU.infrastructure.config.HybridRateLimitProperties;
+import com.beingadish.AroundU.infrastructure.ratelimit.HybridRateLimiter;
+import com.beingadish.AroundU.infrastructure.ratelimit.RateLimit;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.annotation.Annotation;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limiter overhead per request: the previous Redis round trip per check
+ * ({@code exact}) against local leases ({@code hybrid}).
+ * <p>
+ * The shared store is in memory with {@code roundTripMicros} of simulated
+ * network latency per command. Requests rotate over 1,000 active users under
+ * a per-minute limit of {@code capacity} (30 is the worker feed). Once a user
+ * runs out, the rejection is part of the measured cost too; the split between
+ * local and remote decisions is printed after each iteration.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="RateLimiter -f 1 -wi 2 -i 3"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final int USERS = 1_000;
+
+    @Param({"exact", "hybrid"})
+    private String mode;
+
+    @Param({"0", "250"})
+    private int roundTripMicros;
+
+    @Param({"30", "1000"})
+    private int capacity;
+
+    private RateLimit limit;
+    private SimpleMeterRegistry registry;
+
+    private ExecutorService leaseExecutor;
+    private HybridRateLimiter limiter;
+    private String[] keys;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUpKeys() {
+        limit = new PerMinuteLimit(capacity);
+        keys = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            keys[i] = "rate-limit:WorkerController.getFeed:user:" + i;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        HybridRateLimitProperties properties = new HybridRateLimitProperties();
+        properties.setEnabled("hybrid".equals(mode));
+        leaseExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        registry = new SimpleMeterRegistry();
+        limiter = new HybridRateLimiter(new InMemoryProxyManager(Duration.ofNanos(roundTripMicros * 1_000L)),
+                properties, leaseExecutor, registry);
+        next = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        leaseExecutor.shutdownNow();
+        System.out.printf("%n[%s rtt=%dus cap=%d] local=%.0f remote=%.0f%n", mode, roundTripMicros, capacity,
+                registry.get("aroundu.ratelimit.decisions").tag("path", "local").counter().count(),
+                registry.get("aroundu.ratelimit.decisions").tag("path", "remote").counter().count());
+    }
+
+    @Benchmark
+    public ConsumptionProbe check() {
+        String key = keys[next];
+        next = next + 1 == USERS ? 0 : next + 1;
+        return limiter.tryAcquire(key, limit);
+    }
+
+    @SuppressWarnings("ClassExplicitlyAnnotation")
+    private record PerMinuteLimit(int capacity) implements RateLimit {
+
+        @Override
+        public int refillTokens() {
+            return capacity;
+        }
+
+        @Override
+        public int refillMinutes() {
+            return 1;
+        }
+
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return RateLimit.class;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.beingadish.AroundU.bid.event;
+
+/**
+ * Published by {@link com.beingadish.AroundU.bid.service.impl.BidServiceImpl}
+ * once a worker's bid has been saved.
+ */
+public record BidPlacedEvent(Long bidId, Long jobId, Long workerId) {
+}
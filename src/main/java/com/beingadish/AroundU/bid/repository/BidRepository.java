@@ -1,6 +1,7 @@
 package com.beingadish.AroundU.bid.repository;
 
 import com.beingadish.AroundU.bid.entity.Bid;
+import com.beingadish.AroundU.infrastructure.analytics.model.HourlyTotal;
 import com.beingadish.AroundU.job.entity.Job;
 import com.beingadish.AroundU.user.entity.Worker;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -26,6 +27,18 @@ public interface BidRepository extends JpaRepository<Bid, Long> {
 
     long countByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
 
+    /**
+     * Bids placed in {@code [from, to)}, per hour of day. {@code from} and
+     * {@code to} must lie within one day.
+     */
+    @Query("""
+            SELECT EXTRACT(HOUR FROM b.createdAt) AS hourOfDay, COUNT(b) AS total
+            FROM Bid b
+            WHERE b.createdAt >= :from AND b.createdAt < :to
+            GROUP BY EXTRACT(HOUR FROM b.createdAt)
+            """)
+    List<HourlyTotal> countPlacedByHour(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
     /**
      * Batch reject all bids for a job except the selected bid.
      */
@@ -3,6 +3,7 @@ package com.beingadish.AroundU.bid.service.impl;
 import com.beingadish.AroundU.common.constants.enums.BidStatus;
 import com.beingadish.AroundU.common.constants.enums.JobStatus;
 import com.beingadish.AroundU.bid.dto.BidCreateRequest;
+import com.beingadish.AroundU.bid.event.BidPlacedEvent;
 import com.beingadish.AroundU.bid.dto.BidHandshakeRequest;
 import com.beingadish.AroundU.bid.dto.BidResponseDTO;
 import com.beingadish.AroundU.bid.entity.Bid;
@@ -22,6 +23,7 @@ import com.beingadish.AroundU.infrastructure.cache.CacheEvictionService;
 import com.beingadish.AroundU.infrastructure.metrics.MetricsService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -51,6 +53,7 @@ public class BidServiceImpl implements BidService {
     private final MetricsService metricsService;
     private final BidDuplicateCheckService bidDuplicateCheckService;
     private final CacheEvictionService cacheEvictionService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public BidResponseDTO placeBid(Long jobId, Long workerId, BidCreateRequest request) {
@@ -74,6 +77,7 @@ public class BidServiceImpl implements BidService {
             Bid saved = bidRepository.save(bid);
             bidDuplicateCheckService.recordBid(workerId, jobId);
             metricsService.getBidsPlacedCounter().increment();
+            eventPublisher.publishEvent(new BidPlacedEvent(saved.getId(), jobId, workerId));
             return bidMapper.toDto(saved);
         });
     }
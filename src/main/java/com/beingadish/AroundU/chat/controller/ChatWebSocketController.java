@@ -5,7 +5,9 @@ import com.beingadish.AroundU.chat.dto.ChatMessageResponseDTO;
 import com.beingadish.AroundU.chat.dto.MessageStatusUpdate;
 import com.beingadish.AroundU.chat.dto.TypingEvent;
 import com.beingadish.AroundU.chat.service.ChatService;
+import com.beingadish.AroundU.chat.service.TypingIndicatorThrottle;
 import com.beingadish.AroundU.infrastructure.security.UserPrincipal;
+import com.beingadish.AroundU.infrastructure.websocket.CompactPayloadCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
@@ -25,7 +27,9 @@ import java.util.List;
  * <ul>
  * <li>/topic/conversation/{conversationId} — new messages and status
  * updates</li>
- * <li>/topic/conversation/{conversationId}/typing — typing indicators</li>
+ * <li>/topic/conversation/{conversationId}/typing — typing indicators
+ * (start/stop transitions plus periodic keepalives, see
+ * {@link TypingIndicatorThrottle})</li>
  * </ul>
  *
  * <p>
@@ -44,6 +48,7 @@ public class ChatWebSocketController {
 
     private final ChatService chatService;
     private final SimpMessagingTemplate messagingTemplate;
+    private final TypingIndicatorThrottle typingThrottle;
 
     @MessageMapping("/chat.send/{jobId}")
     public void sendMessage(@DestinationVariable Long jobId,
@@ -66,6 +71,9 @@ public class ChatWebSocketController {
             @Payload TypingEvent event,
             Principal principal) {
         UserPrincipal user = (UserPrincipal) ((org.springframework.security.authentication.UsernamePasswordAuthenticationToken) principal).getPrincipal();
+        if (!typingThrottle.shouldBroadcast(conversationId, user.getId(), event.isTyping())) {
+            return;
+        }
         event.setConversationId(conversationId);
         event.setUserId(user.getId());
 
@@ -83,15 +91,7 @@ public class ChatWebSocketController {
 
         List<Long> updatedIds = chatService.markAsDelivered(conversationId, user.getId(), role);
 
-        for (Long msgId : updatedIds) {
-            messagingTemplate.convertAndSend(
-                    "/topic/conversation/" + conversationId,
-                    MessageStatusUpdate.builder()
-                            .messageId(msgId)
-                            .conversationId(conversationId)
-                            .status("DELIVERED")
-                            .build());
-        }
+        publishStatusUpdate(conversationId, updatedIds, "DELIVERED");
     }
 
     @MessageMapping("/chat.read/{conversationId}")
@@ -104,14 +104,36 @@ public class ChatWebSocketController {
 
         List<Long> updatedIds = chatService.markAsRead(conversationId, user.getId(), role);
 
+        publishStatusUpdate(conversationId, updatedIds, "READ");
+    }
+
+    /**
+     * Sessions that negotiated the compact codec get one update listing every
+     * affected message; older clients keep receiving one update per message.
+     */
+    private void publishStatusUpdate(Long conversationId, List<Long> updatedIds, String status) {
+        if (updatedIds.isEmpty()) {
+            return;
+        }
+        String destination = "/topic/conversation/" + conversationId;
+        if (updatedIds.size() == 1) {
+            messagingTemplate.convertAndSend(destination, statusUpdate(conversationId, updatedIds, status));
+            return;
+        }
+        messagingTemplate.convertAndSend(destination, statusUpdate(conversationId, updatedIds, status),
+                CompactPayloadCodec.compactOnly());
         for (Long msgId : updatedIds) {
-            messagingTemplate.convertAndSend(
-                    "/topic/conversation/" + conversationId,
-                    MessageStatusUpdate.builder()
-                            .messageId(msgId)
-                            .conversationId(conversationId)
-                            .status("READ")
-                            .build());
+            messagingTemplate.convertAndSend(destination, statusUpdate(conversationId, List.of(msgId), status),
+                    CompactPayloadCodec.jsonOnly());
         }
     }
+
+    private MessageStatusUpdate statusUpdate(Long conversationId, List<Long> messageIds, String status) {
+        return MessageStatusUpdate.builder()
+                .messageId(messageIds.size() == 1 ? messageIds.get(0) : null)
+                .messageIds(messageIds)
+                .conversationId(conversationId)
+                .status(status)
+                .build();
+    }
 }
@@ -5,8 +5,14 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 /**
  * WebSocket payload for message delivery / read status updates.
+ * {@code messageId} is set when the update covers one message. Clients that
+ * negotiated the compact codec get one update per receipt listing every
+ * affected message in {@code messageIds}; other clients get one update per
+ * message.
  */
 @Data
 @NoArgsConstructor
@@ -15,6 +21,7 @@ import lombok.NoArgsConstructor;
 public class MessageStatusUpdate {
 
     private Long messageId;
+    private List<Long> messageIds;
     private Long conversationId;
     private String status; // DELIVERED or READ
 }
@@ -1,6 +1,7 @@
 package com.beingadish.AroundU.chat.repository;
 
 import com.beingadish.AroundU.chat.entity.Conversation;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,18 +32,25 @@ public interface ConversationRepository extends JpaRepository<Conversation, Long
     List<Conversation> findByJobId(@Param("jobId") Long jobId);
 
     /**
-     * Conversations archived more than 30 days ago — ready for deletion.
+     * Ids of conversations archived before the cutoff — ready for deletion —
+     * in id order after {@code afterId}.
      */
-    @Query("SELECT c FROM Conversation c WHERE c.archivedAt IS NOT NULL AND c.archivedAt < :cutoff")
-    List<Conversation> findExpiredArchived(@Param("cutoff") LocalDateTime cutoff);
+    @Query("SELECT c.id FROM Conversation c WHERE c.archivedAt IS NOT NULL AND c.archivedAt < :cutoff "
+            + "AND c.id > :afterId ORDER BY c.id")
+    List<Long> findExpiredArchivedIds(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") long afterId,
+            Limit limit);
 
     /**
-     * Conversations whose job reached a terminal state but are not yet
-     * archived.
+     * Ids of conversations whose job reached a terminal state but are not yet
+     * archived, in id order after {@code afterId}.
      */
-    @Query("SELECT c FROM Conversation c WHERE c.archivedAt IS NULL "
-            + "AND c.job.jobStatus IN ('COMPLETED', 'CANCELLED')")
-    List<Conversation> findConversationsToArchive();
+    @Query("SELECT c.id FROM Conversation c WHERE c.archivedAt IS NULL "
+            + "AND c.job.jobStatus IN ('COMPLETED', 'CANCELLED') AND c.id > :afterId ORDER BY c.id")
+    List<Long> findIdsToArchive(@Param("afterId") long afterId, Limit limit);
+
+    @Modifying
+    @Query("UPDATE Conversation c SET c.archivedAt = :now WHERE c.id IN :ids AND c.archivedAt IS NULL")
+    int archive(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
 
     @Modifying
     @Query("DELETE FROM Conversation c WHERE c.id IN :ids")
@@ -12,6 +12,9 @@ import com.beingadish.AroundU.chat.exception.ConversationNotFoundException;
 import com.beingadish.AroundU.chat.mapper.ChatMessageMapper;
 import com.beingadish.AroundU.chat.repository.ChatMessageRepository;
 import com.beingadish.AroundU.chat.repository.ConversationRepository;
+import com.beingadish.AroundU.infrastructure.batch.model.BatchJob;
+import com.beingadish.AroundU.infrastructure.batch.model.BatchResult;
+import com.beingadish.AroundU.infrastructure.batch.service.BatchJobRunner;
 import com.beingadish.AroundU.job.entity.Job;
 import com.beingadish.AroundU.job.exception.JobNotFoundException;
 import com.beingadish.AroundU.job.repository.JobRepository;
@@ -41,6 +44,7 @@ public class ChatServiceImpl implements ChatService {
     private final ClientReadRepository clientReadRepository;
     private final WorkerReadRepository workerReadRepository;
     private final ChatMessageMapper chatMessageMapper;
+    private final BatchJobRunner batchJobRunner;
 
     @Override
     @Transactional
@@ -239,30 +243,27 @@ public class ChatServiceImpl implements ChatService {
     }
 
     @Override
-    @Transactional
     public void archiveCompletedConversations() {
-        List<Conversation> toArchive = conversationRepository.findConversationsToArchive();
         LocalDateTime now = LocalDateTime.now();
-        for (Conversation c : toArchive) {
-            c.setArchivedAt(now);
-        }
-        if (!toArchive.isEmpty()) {
-            conversationRepository.saveAll(toArchive);
-            log.info("Archived {} conversations for completed/cancelled jobs", toArchive.size());
+        BatchResult result = batchJobRunner.run(new BatchJob("archive-conversations",
+                conversationRepository::findIdsToArchive,
+                ids -> conversationRepository.archive(ids, now)));
+        if (result.items() > 0) {
+            log.info("Archived {} conversations for completed/cancelled jobs", result.items());
         }
     }
 
     @Override
-    @Transactional
     public void deleteExpiredConversations() {
         LocalDateTime cutoff = LocalDateTime.now().minusDays(30);
-        List<Conversation> expired = conversationRepository.findExpiredArchived(cutoff);
-
-        if (!expired.isEmpty()) {
-            List<Long> ids = expired.stream().map(Conversation::getId).collect(Collectors.toList());
-            chatMessageRepository.deleteByConversationIds(ids);
-            conversationRepository.deleteByIds(ids);
-            log.info("Deleted {} expired conversations (archived > 30 days)", ids.size());
+        BatchResult result = batchJobRunner.run(new BatchJob("delete-conversations",
+                (afterId, limit) -> conversationRepository.findExpiredArchivedIds(cutoff, afterId, limit),
+                ids -> {
+                    chatMessageRepository.deleteByConversationIds(ids);
+                    return conversationRepository.deleteByIds(ids);
+                }));
+        if (result.items() > 0) {
+            log.info("Deleted {} expired conversations (archived > 30 days)", result.items());
         }
     }
 
@@ -0,0 +1,107 @@
+package com.beingadish.AroundU.chat.service;
+
+import com.beingadish.AroundU.infrastructure.config.WebSocketProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces inbound typing indicators so only meaningful frames reach the
+ * broker.
+ * <p>
+ * State is tracked per (conversation, user):
+ * <ul>
+ * <li>A start (not typing → typing) or stop (typing → not typing) transition
+ * is always broadcast.</li>
+ * <li>Repeated "typing" events are broadcast as a keepalive at most once per
+ * {@code websocket.typing.keepalive-interval-ms}.</li>
+ * <li>Repeated "stopped" events are dropped.</li>
+ * </ul>
+ * Subscribers should treat a missing keepalive (roughly twice the interval) as
+ * an implicit stop. Sent and suppressed frames are counted under
+ * {@code aroundu.chat.typing.frames} with an {@code outcome} tag.
+ */
+@Component
+@Slf4j
+public class TypingIndicatorThrottle {
+
+    private final WebSocketProperties properties;
+    private final Clock clock;
+    private final Counter sentCounter;
+    private final Counter suppressedCounter;
+
+    private final Map<Key, State> states = new ConcurrentHashMap<>();
+
+    public TypingIndicatorThrottle(WebSocketProperties properties, Clock clock, MeterRegistry registry) {
+        this.properties = properties;
+        this.clock = clock;
+        this.sentCounter = Counter.builder("aroundu.chat.typing.frames")
+                .tag("outcome", "sent")
+                .description("Typing indicator frames broadcast to subscribers")
+                .register(registry);
+        this.suppressedCounter = Counter.builder("aroundu.chat.typing.frames")
+                .tag("outcome", "suppressed")
+                .description("Typing indicator frames dropped by the throttle")
+                .register(registry);
+    }
+
+    /**
+     * Records an inbound typing event and decides whether it should be
+     * rebroadcast.
+     *
+     * @return {@code true} if the caller should publish the event
+     */
+    public boolean shouldBroadcast(Long conversationId, Long userId, boolean typing) {
+        long now = clock.millis();
+        boolean[] broadcast = new boolean[1];
+
+        states.compute(new Key(conversationId, userId), (key, current) -> {
+            if (!typing) {
+                // Stop edge: only meaningful if the user was typing
+                broadcast[0] = current != null;
+                return null;
+            }
+            if (current == null) {
+                broadcast[0] = true;
+                return new State(now, now);
+            }
+            if (now - current.lastSentAt() >= properties.getTyping().getKeepaliveIntervalMs()) {
+                broadcast[0] = true;
+                return new State(now, now);
+            }
+            return new State(current.lastSentAt(), now);
+        });
+
+        (broadcast[0] ? sentCounter : suppressedCounter).increment();
+        return broadcast[0];
+    }
+
+    /**
+     * Drops state for users whose clients stopped sending events without a
+     * final "stopped" frame (closed tab, lost connection).
+     */
+    @Scheduled(fixedDelayString = "${websocket.typing.idle-timeout-ms:15000}")
+    public void evictIdle() {
+        long cutoff = clock.millis() - properties.getTyping().getIdleTimeoutMs();
+        int before = states.size();
+        states.values().removeIf(state -> state.lastSeenAt() < cutoff);
+        int evicted = before - states.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle typing states", evicted);
+        }
+    }
+
+    private record Key(Long conversationId, Long userId) {
+
+    }
+
+    private record State(long lastSentAt, long lastSeenAt) {
+
+    }
+}
@@ -0,0 +1,18 @@
+package com.beingadish.AroundU.common.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when every image decode slot stays taken for longer than the
+ * configured wait. Mapped to 503 with a {@code Retry-After} header.
+ */
+@Getter
+public class ImageProcessingBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ImageProcessingBusyException(long retryAfterSeconds) {
+        super("Too many images are being processed. Try again in %d seconds.".formatted(retryAfterSeconds));
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.beingadish.AroundU.common.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when the image upload spool is at capacity, typically because the
+ * object store has been unreachable for a while. Mapped to 503 with a
+ * {@code Retry-After} header.
+ */
+@Getter
+public class ImageSpoolFullException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ImageSpoolFullException(long retryAfterSeconds) {
+        super("Image uploads are temporarily unavailable. Try again in %d seconds.".formatted(retryAfterSeconds));
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
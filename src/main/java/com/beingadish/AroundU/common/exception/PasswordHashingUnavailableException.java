@@ -0,0 +1,19 @@
+package com.beingadish.AroundU.common.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when the password-hashing executor is saturated and a login or
+ * registration is shed instead of queued. Mapped to 503 with a
+ * {@code Retry-After} header.
+ */
+@Getter
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingUnavailableException(long retryAfterSeconds) {
+        super("Authentication is temporarily overloaded. Try again in %d seconds.".formatted(retryAfterSeconds));
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,23 @@
+package com.beingadish.AroundU.common.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. Pass {@code nextCursor} back as
+ * the cursor to get the page after this one; it is {@code null} on the last
+ * page. Unlike {@link PageResponse} there is no total, so deep pages cost
+ * the same as the first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    private Long nextCursor;
+    private boolean last;
+}
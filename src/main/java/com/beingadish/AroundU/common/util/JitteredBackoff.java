@@ -0,0 +1,31 @@
+package com.beingadish.AroundU.common.util;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry delays for the outbox-style retry loops (notifications, payment
+ * operations, image cleanup): {@code initial × 2^(attempt-1)}, capped at
+ * {@code max}, with equal jitter so retries from one burst spread out.
+ */
+public final class JitteredBackoff {
+
+    private JitteredBackoff() {
+        // utility class
+    }
+
+    /**
+     * Delay before retry number {@code attempts} (1 for the first retry).
+     * Half of the capped delay is fixed and half is random.
+     *
+     * @param initialMs delay before the first retry, before jitter
+     * @param maxMs     upper bound on the delay
+     * @param attempts  attempts made so far; values below 1 count as 1
+     */
+    public static Duration delay(long initialMs, long maxMs, int attempts) {
+        long exponential = initialMs << Math.min(Math.max(attempts - 1, 0), 30);
+        long capped = Math.min(exponential > 0 ? exponential : Long.MAX_VALUE, maxMs);
+        long half = capped / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+}
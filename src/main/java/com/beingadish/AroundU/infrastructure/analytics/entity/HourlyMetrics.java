@@ -0,0 +1,76 @@
+package com.beingadish.AroundU.infrastructure.analytics.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * One hour of business activity. Kept up to date incrementally by
+ * {@code MetricsRollupService} from domain events and rebuilt from the
+ * source tables by {@code MetricsBackfillService}; daily
+ * {@link AggregatedMetrics} and the admin overview are summed from these
+ * rows.
+ */
+@Entity
+@Table(name = "hourly_metrics", uniqueConstraints = {
+        @UniqueConstraint(columnNames = "bucketStart")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HourlyMetrics {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Start of the hour this row covers.
+     */
+    @Column(nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private long jobsCreated = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private long jobsCompleted = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private long bidsPlaced = 0;
+
+    /**
+     * Escrow amount released to workers.
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private double revenueTotal = 0;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        HourlyMetrics that = (HourlyMetrics) o;
+        return id != null && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,11 @@
+package com.beingadish.AroundU.infrastructure.analytics.model;
+
+/**
+ * A count or sum for one hour of a day, as returned by the backfill queries.
+ */
+public interface HourlyTotal {
+
+    Integer getHourOfDay();
+
+    Number getTotal();
+}
@@ -0,0 +1,14 @@
+package com.beingadish.AroundU.infrastructure.analytics.model;
+
+/**
+ * Activity summed over a range of hourly buckets.
+ */
+public record RollupTotals(long jobsCreated, long jobsCompleted, long bidsPlaced, double revenueTotal) {
+
+    public static final RollupTotals EMPTY = new RollupTotals(0, 0, 0, 0);
+
+    public RollupTotals plus(RollupTotals other) {
+        return new RollupTotals(jobsCreated + other.jobsCreated, jobsCompleted + other.jobsCompleted,
+                bidsPlaced + other.bidsPlaced, revenueTotal + other.revenueTotal);
+    }
+}
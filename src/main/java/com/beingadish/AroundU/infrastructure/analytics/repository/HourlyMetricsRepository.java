@@ -0,0 +1,80 @@
+package com.beingadish.AroundU.infrastructure.analytics.repository;
+
+import com.beingadish.AroundU.infrastructure.analytics.entity.HourlyMetrics;
+import com.beingadish.AroundU.infrastructure.analytics.model.RollupTotals;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface HourlyMetricsRepository extends JpaRepository<HourlyMetrics, Long> {
+
+    List<HourlyMetrics> findByBucketStartBetween(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Locks the buckets starting in {@code [from, to)}, in bucket order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM HourlyMetrics h WHERE h.bucketStart >= :from AND h.bucketStart < :to "
+            + "ORDER BY h.bucketStart")
+    List<HourlyMetrics> lockBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Inserts an empty bucket in the caller's transaction unless one exists.
+     * An insert racing another transaction's waits for it and then does
+     * nothing, so the caller can lock the row either way.
+     *
+     * @return 1 if the row was created, 0 if it already existed
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO hourly_metrics (bucket_start, jobs_created, jobs_completed, bids_placed, revenue_total,
+                                        updated_at)
+            VALUES (:bucketStart, 0, 0, 0, 0, :now)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int createIfAbsent(@Param("bucketStart") LocalDateTime bucketStart, @Param("now") LocalDateTime now);
+
+    /**
+     * Adds the deltas to an existing bucket. Returns 0 if the bucket does
+     * not exist yet.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE HourlyMetrics h
+            SET h.jobsCreated = h.jobsCreated + :jobsCreated,
+                h.jobsCompleted = h.jobsCompleted + :jobsCompleted,
+                h.bidsPlaced = h.bidsPlaced + :bidsPlaced,
+                h.revenueTotal = h.revenueTotal + :revenueTotal,
+                h.updatedAt = CURRENT_TIMESTAMP
+            WHERE h.bucketStart = :bucketStart
+            """)
+    int addToBucket(@Param("bucketStart") LocalDateTime bucketStart,
+                    @Param("jobsCreated") long jobsCreated,
+                    @Param("jobsCompleted") long jobsCompleted,
+                    @Param("bidsPlaced") long bidsPlaced,
+                    @Param("revenueTotal") double revenueTotal);
+
+    /**
+     * Sums the buckets starting in {@code [from, to)}.
+     */
+    @Query("""
+            SELECT new com.beingadish.AroundU.infrastructure.analytics.model.RollupTotals(
+                COALESCE(SUM(h.jobsCreated), 0L), COALESCE(SUM(h.jobsCompleted), 0L),
+                COALESCE(SUM(h.bidsPlaced), 0L), COALESCE(SUM(h.revenueTotal), 0.0))
+            FROM HourlyMetrics h
+            WHERE h.bucketStart >= :from AND h.bucketStart < :to
+            """)
+    RollupTotals sumBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    boolean existsByBucketStartGreaterThanEqualAndBucketStartLessThan(LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,141 @@
+package com.beingadish.AroundU.infrastructure.analytics.service;
+
+import com.beingadish.AroundU.bid.repository.BidRepository;
+import com.beingadish.AroundU.common.constants.enums.JobStatus;
+import com.beingadish.AroundU.infrastructure.analytics.entity.HourlyMetrics;
+import com.beingadish.AroundU.infrastructure.analytics.model.HourlyTotal;
+import com.beingadish.AroundU.infrastructure.analytics.repository.HourlyMetricsRepository;
+import com.beingadish.AroundU.job.repository.JobRepository;
+import com.beingadish.AroundU.payment.entity.LedgerEntry;
+import com.beingadish.AroundU.payment.repository.LedgerEntryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Rebuilds {@link HourlyMetrics} from the source tables, revenue from the
+ * payment ledger, e.g. for days before the rollups existed or after a gap in
+ * event delivery.
+ * <p>
+ * Each day is computed with one grouped query per table and written as a
+ * whole, days in parallel on the {@code databaseExecutor} pool. Rebuilt
+ * hours replace what was there; the current hour is left to the live
+ * rollup.
+ * <p>
+ * Missing hours are created with {@code INSERT ... ON CONFLICT DO NOTHING}
+ * and the day's rows are locked before they are overwritten, so a rollup
+ * flush creating or incrementing the same hour waits instead of failing
+ * the backfill on the unique bucket.
+ */
+@Service
+@Slf4j
+public class MetricsBackfillService {
+
+    /**
+     * Upper bound on one backfill request.
+     */
+    static final int MAX_DAYS = 366;
+
+    private final HourlyMetricsRepository hourlyMetricsRepository;
+    private final JobRepository jobRepository;
+    private final BidRepository bidRepository;
+    private final LedgerEntryRepository ledgerRepository;
+    private final Executor backfillExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    public MetricsBackfillService(HourlyMetricsRepository hourlyMetricsRepository,
+                                  JobRepository jobRepository,
+                                  BidRepository bidRepository,
+                                  LedgerEntryRepository ledgerRepository,
+                                  @Qualifier("databaseExecutor") Executor backfillExecutor,
+                                  PlatformTransactionManager transactionManager,
+                                  Clock clock) {
+        this.hourlyMetricsRepository = hourlyMetricsRepository;
+        this.jobRepository = jobRepository;
+        this.bidRepository = bidRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.backfillExecutor = backfillExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    /**
+     * Rebuilds every day in {@code [from, to]}; returns the number of hourly
+     * rows written.
+     */
+    public int backfill(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Backfill range ends before it starts");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            throw new IllegalArgumentException("Backfill range is limited to " + MAX_DAYS + " days");
+        }
+        long start = System.currentTimeMillis();
+        List<CompletableFuture<Integer>> days = from.datesUntil(to.plusDays(1))
+                .map(day -> CompletableFuture.supplyAsync(() -> backfillDay(day), backfillExecutor))
+                .toList();
+        int rows = days.stream().mapToInt(CompletableFuture::join).sum();
+        log.info("Backfilled {} hourly metric rows for {}..{} ({}ms)", rows, from, to,
+                System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    /**
+     * Rebuilds the hours of {@code day} that have activity or an existing
+     * row.
+     */
+    public int backfillDay(LocalDate day) {
+        LocalDateTime from = day.atStartOfDay();
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime currentHour = now.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime to = from.plusDays(1).isAfter(currentHour) ? currentHour : from.plusDays(1);
+        if (!to.isAfter(from)) {
+            return 0;
+        }
+
+        Map<Integer, Number> created = byHour(jobRepository.countCreatedByHour(from, to));
+        Map<Integer, Number> completed = byHour(jobRepository.countUpdatedByHour(JobStatus.COMPLETED, from, to));
+        Map<Integer, Number> bids = byHour(bidRepository.countPlacedByHour(from, to));
+        Map<Integer, Number> revenue = byHour(ledgerRepository.sumAmountByHour(LedgerEntry.PAYOUT_TYPES, from, to));
+        Set<Integer> active = new TreeSet<>();
+        active.addAll(created.keySet());
+        active.addAll(completed.keySet());
+        active.addAll(bids.keySet());
+        active.addAll(revenue.keySet());
+
+        return transactionTemplate.execute(status -> {
+            for (int hour : active) {
+                hourlyMetricsRepository.createIfAbsent(from.plusHours(hour), now);
+            }
+            // Hours with a row but no activity are rebuilt too, as zero
+            List<HourlyMetrics> rows = hourlyMetricsRepository.lockBetween(from, to);
+            for (HourlyMetrics row : rows) {
+                int hour = row.getBucketStart().getHour();
+                row.setJobsCreated(created.getOrDefault(hour, 0).longValue());
+                row.setJobsCompleted(completed.getOrDefault(hour, 0).longValue());
+                row.setBidsPlaced(bids.getOrDefault(hour, 0).longValue());
+                row.setRevenueTotal(revenue.getOrDefault(hour, 0).doubleValue());
+            }
+            return rows.size();
+        });
+    }
+
+    private static Map<Integer, Number> byHour(List<HourlyTotal> totals) {
+        return totals.stream().collect(Collectors.toMap(HourlyTotal::getHourOfDay, HourlyTotal::getTotal));
+    }
+}
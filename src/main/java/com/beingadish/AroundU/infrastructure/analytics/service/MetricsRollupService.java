@@ -0,0 +1,187 @@
+package com.beingadish.AroundU.infrastructure.analytics.service;
+
+import com.beingadish.AroundU.bid.event.BidPlacedEvent;
+import com.beingadish.AroundU.bid.repository.BidRepository;
+import com.beingadish.AroundU.common.constants.enums.JobStatus;
+import com.beingadish.AroundU.infrastructure.analytics.entity.HourlyMetrics;
+import com.beingadish.AroundU.infrastructure.analytics.model.RollupTotals;
+import com.beingadish.AroundU.infrastructure.analytics.repository.HourlyMetricsRepository;
+import com.beingadish.AroundU.job.event.JobCompletedEvent;
+import com.beingadish.AroundU.job.event.JobModifiedEvent;
+import com.beingadish.AroundU.job.repository.JobRepository;
+import com.beingadish.AroundU.payment.event.EscrowReleasedEvent;
+import com.beingadish.AroundU.payment.entity.LedgerEntry;
+import com.beingadish.AroundU.payment.repository.LedgerEntryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * Keeps {@link HourlyMetrics} current from domain events.
+ * <p>
+ * Job and bid events arrive in batches from the domain event relay and are
+ * counted against the hour they were recorded in, but only once the relay's
+ * transaction commits, so a batch that rolls back and is redelivered is not
+ * counted twice. Escrow releases come from the in-process event once its
+ * transaction commits and count against the current hour. Counts are kept
+ * in memory and added to the hour's row every
+ * {@code scheduler.analytics-rollup-flush-ms}.
+ * Writes are increments, so every instance flushes its own counts without
+ * coordinating. Counts that fail to flush are kept for the next attempt.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MetricsRollupService {
+
+    private final HourlyMetricsRepository hourlyMetricsRepository;
+    private final JobRepository jobRepository;
+    private final BidRepository bidRepository;
+    private final LedgerEntryRepository ledgerRepository;
+    private final Clock clock;
+
+    private final ConcurrentMap<LocalDateTime, Delta> pending = new ConcurrentHashMap<>();
+
+    public void onJobModified(JobModifiedEvent event, LocalDateTime occurredAt) {
+        if (event.type() == JobModifiedEvent.Type.CREATED) {
+            recordAfterCommit(occurredAt, delta -> delta.jobsCreated++);
+        }
+    }
+
+    public void onJobCompleted(JobCompletedEvent event, LocalDateTime occurredAt) {
+        recordAfterCommit(occurredAt, delta -> delta.jobsCompleted++);
+    }
+
+    public void onBidPlaced(BidPlacedEvent event, LocalDateTime occurredAt) {
+        recordAfterCommit(occurredAt, delta -> delta.bidsPlaced++);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEscrowReleased(EscrowReleasedEvent event) {
+        record(LocalDateTime.now(clock), delta -> delta.revenueTotal += event.amount());
+    }
+
+    /**
+     * Adds the pending counts to their hourly rows.
+     */
+    @Scheduled(fixedDelayString = "${scheduler.analytics-rollup-flush-ms:10000}")
+    @PreDestroy
+    public void flush() {
+        for (LocalDateTime bucket : List.copyOf(pending.keySet())) {
+            Delta delta = pending.remove(bucket);
+            if (delta == null) {
+                continue;
+            }
+            try {
+                write(bucket, delta);
+            } catch (RuntimeException ex) {
+                log.warn("Failed to flush metrics rollup for {}, keeping it for the next flush: {}",
+                        bucket, ex.getMessage());
+                pending.merge(bucket, delta, Delta::merge);
+            }
+        }
+    }
+
+    /**
+     * Activity since {@code from}, which should be an hour boundary: the
+     * rolled-up hours before the current one plus a live count of the
+     * current hour, so the cost does not grow with the range or the tables.
+     */
+    public RollupTotals since(LocalDateTime from) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime currentHour = now.truncatedTo(ChronoUnit.HOURS);
+        RollupTotals rolledUp = currentHour.isAfter(from)
+                ? hourlyMetricsRepository.sumBetween(from, currentHour)
+                : RollupTotals.EMPTY;
+        RollupTotals live = new RollupTotals(
+                jobRepository.countByCreatedAtBetween(currentHour, now),
+                jobRepository.countByJobStatusAndUpdatedAtBetween(JobStatus.COMPLETED, currentHour, now),
+                bidRepository.countByCreatedAtBetween(currentHour, now),
+                ledgerRepository.sumAmount(LedgerEntry.PAYOUT_TYPES, currentHour, now));
+        return rolledUp.plus(live);
+    }
+
+    /**
+     * Records the change once the surrounding transaction commits, or now if
+     * there is none.
+     */
+    private void recordAfterCommit(LocalDateTime occurredAt, Consumer<Delta> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(occurredAt, change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(occurredAt, change);
+            }
+        });
+    }
+
+    private void record(LocalDateTime occurredAt, Consumer<Delta> change) {
+        // compute() serialises with flush's remove(), so no increment is lost
+        pending.compute(occurredAt.truncatedTo(ChronoUnit.HOURS), (bucket, delta) -> {
+            Delta current = delta != null ? delta : new Delta();
+            change.accept(current);
+            return current;
+        });
+    }
+
+    private void write(LocalDateTime bucket, Delta delta) {
+        if (add(bucket, delta) > 0) {
+            return;
+        }
+        try {
+            hourlyMetricsRepository.save(HourlyMetrics.builder()
+                    .bucketStart(bucket)
+                    .jobsCreated(delta.jobsCreated)
+                    .jobsCompleted(delta.jobsCompleted)
+                    .bidsPlaced(delta.bidsPlaced)
+                    .revenueTotal(delta.revenueTotal)
+                    .build());
+        } catch (DataIntegrityViolationException ex) {
+            // Another instance created the row first
+            add(bucket, delta);
+        }
+    }
+
+    private int add(LocalDateTime bucket, Delta delta) {
+        return hourlyMetricsRepository.addToBucket(bucket, delta.jobsCreated, delta.jobsCompleted,
+                delta.bidsPlaced, delta.revenueTotal);
+    }
+
+    /**
+     * Counts for one hour not yet written. Only mutated inside
+     * {@link ConcurrentMap#compute} or after removal from the map.
+     */
+    private static final class Delta {
+
+        private long jobsCreated;
+        private long jobsCompleted;
+        private long bidsPlaced;
+        private double revenueTotal;
+
+        private Delta merge(Delta other) {
+            jobsCreated += other.jobsCreated;
+            jobsCompleted += other.jobsCompleted;
+            bidsPlaced += other.bidsPlaced;
+            revenueTotal += other.revenueTotal;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.beingadish.AroundU.infrastructure.batch.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Progress of one chunked maintenance job through its current pass. A pass
+ * that stops early (failure, time budget, shutdown) resumes after
+ * {@link #lastId} on the next run; a finished pass clears it.
+ */
+@Entity
+@Table(name = "batch_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchCheckpoint {
+
+    @Id
+    @Column(length = 100)
+    private String jobName;
+
+    /**
+     * Highest id handled in the current pass.
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private long lastId = 0;
+
+    /**
+     * Rows changed so far in the current pass.
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private long passItems = 0;
+
+    /**
+     * Start of the current pass; null between passes.
+     */
+    private LocalDateTime passStartedAt;
+
+    /**
+     * When a pass last worked through everything that was due.
+     */
+    private LocalDateTime caughtUpAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BatchCheckpoint that = (BatchCheckpoint) o;
+        return jobName != null && Objects.equals(jobName, that.jobName);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,30 @@
+package com.beingadish.AroundU.infrastructure.batch.model;
+
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+/**
+ * A maintenance task run in chunks by
+ * {@link com.beingadish.AroundU.infrastructure.batch.service.BatchJobRunner}.
+ *
+ * @param name   checkpoint key and {@code task} tag on the batch metrics
+ * @param reader next ids due for the change, after the given id in
+ *               ascending order
+ * @param writer set-based change applied to one chunk of ids; returns the
+ *               rows it changed
+ */
+public record BatchJob(String name, ChunkReader reader, ChunkWriter writer) {
+
+    @FunctionalInterface
+    public interface ChunkReader {
+
+        List<Long> nextIds(long afterId, Limit limit);
+    }
+
+    @FunctionalInterface
+    public interface ChunkWriter {
+
+        int apply(List<Long> ids);
+    }
+}
@@ -0,0 +1,12 @@
+package com.beingadish.AroundU.infrastructure.batch.model;
+
+/**
+ * Outcome of one {@link BatchJob} run.
+ *
+ * @param items    rows changed in this run
+ * @param chunks   chunks committed in this run
+ * @param caughtUp whether the pass reached the end of the due rows; false
+ *                 when the run stopped early and will resume
+ */
+public record BatchResult(long items, int chunks, boolean caughtUp) {
+}
@@ -0,0 +1,9 @@
+package com.beingadish.AroundU.infrastructure.batch.repository;
+
+import com.beingadish.AroundU.infrastructure.batch.entity.BatchCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BatchCheckpointRepository extends JpaRepository<BatchCheckpoint, String> {
+}
@@ -0,0 +1,153 @@
+package com.beingadish.AroundU.infrastructure.batch.service;
+
+import com.beingadish.AroundU.infrastructure.batch.entity.BatchCheckpoint;
+import com.beingadish.AroundU.infrastructure.batch.model.BatchJob;
+import com.beingadish.AroundU.infrastructure.batch.model.BatchResult;
+import com.beingadish.AroundU.infrastructure.batch.repository.BatchCheckpointRepository;
+import com.beingadish.AroundU.infrastructure.config.SchedulerProperties;
+import com.beingadish.AroundU.infrastructure.metrics.SchedulerMetricsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs maintenance jobs in keyset-ordered chunks instead of loading every
+ * due row at once.
+ * <p>
+ * Each chunk reads the next {@code scheduler.batch-chunk-size} ids after the
+ * checkpoint, applies the job's set-based update and advances the checkpoint
+ * in the same transaction, so a run that stops part-way resumes where it
+ * left off. Between chunks the runner pauses for at least
+ * {@code scheduler.batch-pause-ms}, or {@code scheduler.batch-pause-ratio}
+ * times the chunk's duration, to leave room for request traffic; a run
+ * longer than {@code scheduler.batch-max-run-ms} stops and continues on the
+ * next schedule.
+ * <p>
+ * Callers hold whatever lock the task needs; the runner does not lock.
+ */
+@Component
+@Slf4j
+public class BatchJobRunner {
+
+    private final BatchCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerProperties schedulerProperties;
+    private final SchedulerMetricsService schedulerMetrics;
+    private final Clock clock;
+
+    public BatchJobRunner(BatchCheckpointRepository checkpointRepository,
+                          PlatformTransactionManager transactionManager,
+                          SchedulerProperties schedulerProperties,
+                          SchedulerMetricsService schedulerMetrics,
+                          Clock clock) {
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.schedulerProperties = schedulerProperties;
+        this.schedulerMetrics = schedulerMetrics;
+        this.clock = clock;
+    }
+
+    /**
+     * Works through the job's due rows, resuming an unfinished pass.
+     * Exceptions from a chunk propagate after the committed chunks are
+     * recorded; that chunk is retried on the next run.
+     */
+    public BatchResult run(BatchJob job) {
+        BatchCheckpoint checkpoint = checkpointRepository.findById(job.name())
+                .orElseGet(() -> BatchCheckpoint.builder().jobName(job.name()).build());
+        if (checkpoint.getPassStartedAt() == null) {
+            checkpoint.setPassStartedAt(LocalDateTime.now(clock));
+            checkpoint.setLastId(0);
+            checkpoint.setPassItems(0);
+        } else {
+            log.info("Resuming {} after id {} ({} rows done since {})", job.name(), checkpoint.getLastId(),
+                    checkpoint.getPassItems(), checkpoint.getPassStartedAt());
+        }
+
+        int chunkSize = schedulerProperties.getBatchChunkSize();
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(schedulerProperties.getBatchMaxRunMs());
+        long items = 0;
+        int chunks = 0;
+        boolean caughtUp = false;
+        try {
+            while (true) {
+                long chunkStart = System.nanoTime();
+                List<Long> ids = job.reader().nextIds(checkpoint.getLastId(), Limit.of(chunkSize));
+                if (ids.isEmpty()) {
+                    caughtUp = true;
+                    break;
+                }
+                Integer changed = transactionTemplate.execute(status -> {
+                    int rows = job.writer().apply(ids);
+                    checkpoint.setLastId(ids.getLast());
+                    checkpoint.setPassItems(checkpoint.getPassItems() + rows);
+                    checkpointRepository.save(checkpoint);
+                    return rows;
+                });
+                long chunkNanos = System.nanoTime() - chunkStart;
+                items += changed != null ? changed : 0;
+                chunks++;
+                schedulerMetrics.recordChunk(job.name(), ids.size(), chunkNanos);
+
+                if (ids.size() < chunkSize) {
+                    caughtUp = true;
+                    break;
+                }
+                if (System.nanoTime() - deadline > 0) {
+                    log.info("{} reached its run budget after {} chunks; resuming after id {} next run",
+                            job.name(), chunks, checkpoint.getLastId());
+                    break;
+                }
+                if (!pause(chunkNanos)) {
+                    log.info("{} interrupted after {} chunks; resuming after id {} next run",
+                            job.name(), chunks, checkpoint.getLastId());
+                    break;
+                }
+            }
+            if (caughtUp) {
+                LocalDateTime now = LocalDateTime.now(clock);
+                log.info("{} caught up: {} rows in this pass since {}", job.name(), checkpoint.getPassItems(),
+                        checkpoint.getPassStartedAt());
+                checkpoint.setCaughtUpAt(now);
+                checkpoint.setPassStartedAt(null);
+                checkpoint.setLastId(0);
+                checkpoint.setPassItems(0);
+                checkpointRepository.save(checkpoint);
+            }
+            return new BatchResult(items, chunks, caughtUp);
+        } finally {
+            LocalDateTime caughtUpAt = checkpoint.getCaughtUpAt() != null
+                    ? checkpoint.getCaughtUpAt()
+                    : checkpoint.getPassStartedAt();
+            schedulerMetrics.recordBatchRun(job.name(), items, System.nanoTime() - started,
+                    caughtUpAt.atZone(clock.getZone()).toInstant());
+        }
+    }
+
+    /**
+     * Sleeps between chunks; returns false if interrupted.
+     */
+    private boolean pause(long chunkNanos) {
+        long pauseMs = Math.max(schedulerProperties.getBatchPauseMs(),
+                Duration.ofNanos((long) (chunkNanos * schedulerProperties.getBatchPauseRatio())).toMillis());
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
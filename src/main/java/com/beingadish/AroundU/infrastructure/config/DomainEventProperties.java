@@ -0,0 +1,41 @@
+package com.beingadish.AroundU.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Domain event outbox and relay tunables bound from {@code events.*} in
+ * YAML.
+ */
+@Component
+@ConfigurationProperties(prefix = "events")
+@Getter
+@Setter
+public class DomainEventProperties {
+
+    /**
+     * Gap between relay runs on each instance.
+     */
+    private long relayIntervalMs = 500;
+    /**
+     * Events handed to a consumer per call, and per transaction.
+     */
+    private int batchSize = 200;
+    /**
+     * Batches one consumer may take per run before yielding to the next run.
+     */
+    private int maxBatchesPerRun = 20;
+    /**
+     * How long the relay waits at a missing event id for a slower
+     * transaction to commit it before treating the id as rolled back. Must
+     * exceed the longest transaction that publishes events.
+     */
+    private long gapTimeoutMs = 60_000;
+    /**
+     * Events every consumer has read are deleted after this many days.
+     */
+    private int retentionDays = 3;
+    private String purgeCron = "0 45 4 * * ?";
+}
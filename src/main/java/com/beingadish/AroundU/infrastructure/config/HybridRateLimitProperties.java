@@ -0,0 +1,47 @@
+package com.beingadish.AroundU.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tuning for the local token leases in front of the shared Redis buckets,
+ * bound from {@code rate-limit.hybrid.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "rate-limit.hybrid")
+@Getter
+@Setter
+public class HybridRateLimitProperties {
+
+    /**
+     * When false every check is a Redis round trip, as before.
+     */
+    private boolean enabled = true;
+    /**
+     * Share of a bucket's capacity leased per batch (0.1 = 10 %).
+     */
+    private double leaseFraction = 0.1;
+    /**
+     * Limits whose batch would be smaller than this stay exact; leasing one
+     * token at a time saves nothing.
+     */
+    private int minLeaseTokens = 2;
+    /**
+     * Share of capacity an instance may admit on credit while a lease is in
+     * flight. The credit is charged to the shared bucket afterwards, so an
+     * overshoot is repaid by later rejections.
+     */
+    private double overAdmission = 0.05;
+    /**
+     * Leased tokens unused for this long go back to the shared bucket and the
+     * local state is dropped.
+     */
+    private long leaseTtlMs = 30_000;
+    /**
+     * Upper bound on locally tracked buckets; keys beyond it use the exact
+     * path.
+     */
+    private int maxLocalBuckets = 100_000;
+}
@@ -0,0 +1,106 @@
+package com.beingadish.AroundU.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Image upload spool, object store and processing tunables bound from
+ * {@code storage.images.*} in YAML.
+ */
+@Component
+@ConfigurationProperties(prefix = "storage.images")
+@Getter
+@Setter
+public class ImageStorageProperties {
+
+    private Spool spool = new Spool();
+    private Store store = new Store();
+    private Pipeline pipeline = new Pipeline();
+
+    // ── Spool ────────────────────────────────────────────────────────────
+    @Getter
+    @Setter
+    public static class Spool {
+
+        /**
+         * Local directory uploads are streamed to before they reach the
+         * object store. Files left here by a restart are uploaded on the
+         * next drain.
+         */
+        private String dir = System.getProperty("java.io.tmpdir") + "/aroundu/image-spool";
+        /**
+         * Upper bound on spooled bytes; uploads beyond it are rejected with
+         * 503 until the object store catches up.
+         */
+        private long maxBytes = 512L * 1024 * 1024;
+        private int maxFiles = 10_000;
+        /**
+         * Gap between background upload runs on each instance.
+         */
+        private long drainIntervalMs = 5_000;
+        /**
+         * Files uploaded per run at most.
+         */
+        private int drainBatchSize = 20;
+        /**
+         * Delay before a failed file is tried again; doubles with every
+         * further attempt.
+         */
+        private long initialBackoffMs = 5_000;
+        private long maxBackoffMs = 600_000;
+        /**
+         * {@code Retry-After} sent when the spool is full.
+         */
+        private long retryAfterSeconds = 30;
+    }
+
+    // ── Object store ─────────────────────────────────────────────────────
+    @Getter
+    @Setter
+    public static class Store {
+
+        /**
+         * Directory of the file-system object store.
+         */
+        private String root = System.getProperty("java.io.tmpdir") + "/aroundu/object-store";
+        /**
+         * Prefix of public object URLs; the object key is appended.
+         */
+        private String publicBaseUrl = "https://s3.example.com/aroundu-images/";
+    }
+
+    // ── Processing pipeline ──────────────────────────────────────────────
+    @Getter
+    @Setter
+    public static class Pipeline {
+
+        /**
+         * Largest decoded image accepted, in pixels. A small PNG can decode
+         * to gigabytes of heap; anything bigger is rejected before decoding.
+         * At 4 bytes a pixel the default caps one decode at 64 MB, which
+         * still fits a 12 MP phone photo.
+         */
+        private long maxPixels = 16_000_000;
+        /**
+         * Uploads decoded at once on each instance. Together with
+         * {@link #maxPixels} this bounds the heap taken by decoded images;
+         * defaults to one per core, like {@code computationExecutor}.
+         */
+        private int maxConcurrentDecodes = Runtime.getRuntime().availableProcessors();
+        /**
+         * How long an upload waits for a decode slot before it is rejected
+         * with 503.
+         */
+        private long decodeWaitMs = 10_000;
+        /**
+         * {@code Retry-After} sent when no decode slot frees up in time.
+         */
+        private long retryAfterSeconds = 5;
+        /**
+         * JPEG quality of the generated renditions, 0–1.
+         */
+        private float jpegQuality = 0.82f;
+    }
+}
@@ -0,0 +1,30 @@
+package com.beingadish.AroundU.infrastructure.config;
+
+import com.beingadish.AroundU.notification.model.NotificationType;
+import com.beingadish.AroundU.notification.provider.LoggingNotificationProvider;
+import com.beingadish.AroundU.notification.provider.NotificationProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * One {@link NotificationProvider} per channel. All three are logging
+ * stand-ins for now; a real provider replaces the matching bean.
+ */
+@Configuration
+public class NotificationConfig {
+
+    @Bean("emailProvider")
+    public NotificationProvider emailProvider(NotificationProperties properties) {
+        return new LoggingNotificationProvider(NotificationType.EMAIL, properties.getEmail().getBatchSize());
+    }
+
+    @Bean("smsProvider")
+    public NotificationProvider smsProvider(NotificationProperties properties) {
+        return new LoggingNotificationProvider(NotificationType.SMS, properties.getSms().getBatchSize());
+    }
+
+    @Bean("pushProvider")
+    public NotificationProvider pushProvider(NotificationProperties properties) {
+        return new LoggingNotificationProvider(NotificationType.PUSH, properties.getPush().getBatchSize());
+    }
+}
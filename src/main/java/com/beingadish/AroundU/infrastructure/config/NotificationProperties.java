@@ -0,0 +1,136 @@
+package com.beingadish.AroundU.infrastructure.config;
+
+import com.beingadish.AroundU.notification.model.NotificationTopic;
+import com.beingadish.AroundU.notification.model.NotificationType;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Notification outbox and provider tunables bound from {@code notification.*}
+ * in YAML.
+ */
+@Component
+@ConfigurationProperties(prefix = "notification")
+@Getter
+@Setter
+public class NotificationProperties {
+
+    private Outbox outbox = new Outbox();
+    private Digest digest = new Digest();
+    private Channel email = new Channel(100, 20, 10_000);
+    private Channel sms = new Channel(50, 10, 5_000);
+    private Channel push = new Channel(500, 50, 5_000);
+
+    public Channel channel(NotificationType type) {
+        return switch (type) {
+            case EMAIL -> email;
+            case SMS -> sms;
+            case PUSH -> push;
+        };
+    }
+
+    // ── Outbox dispatch ──────────────────────────────────────────────────
+    @Getter
+    @Setter
+    public static class Outbox {
+
+        /**
+         * Gap between dispatch runs on each instance.
+         */
+        private long dispatchIntervalMs = 1000;
+        /**
+         * Rows claimed per batch. Claims skip rows another dispatcher holds,
+         * so instances drain the backlog side by side.
+         */
+        private int claimBatchSize = 200;
+        /**
+         * Batches one run may dispatch before yielding to the next run.
+         */
+        private int maxBatchesPerRun = 20;
+        /**
+         * How long a claimed row stays hidden from other dispatchers. A
+         * dispatcher that dies mid-batch leaves its rows to be picked up
+         * again after this.
+         */
+        private long claimTimeoutMs = 60_000;
+        /**
+         * Delivery attempts before a row is given up as dead.
+         */
+        private int maxAttempts = 8;
+        /**
+         * Delay before the first retry; doubles with every further attempt.
+         */
+        private long initialBackoffMs = 5_000;
+        private long maxBackoffMs = 3_600_000;
+        /**
+         * Delivered rows are deleted after this many days.
+         */
+        private int retentionDays = 7;
+        private String purgeCron = "0 30 4 * * ?";
+    }
+
+    // ── Digests ──────────────────────────────────────────────────────────
+    @Getter
+    @Setter
+    public static class Digest {
+
+        private boolean enabled = true;
+        /**
+         * How long non-urgent notifications to one recipient on one channel
+         * are held to be merged into a single message. Each recipient's
+         * windows are offset differently so digests do not all fall due at
+         * once.
+         */
+        private long windowMs = 300_000;
+        /**
+         * Notifications summarised line by line in a digest; the rest are
+         * only counted.
+         */
+        private int maxItems = 10;
+        /**
+         * Topics sent straight away, never held for a digest.
+         */
+        private Set<NotificationTopic> urgentTopics = EnumSet.of(NotificationTopic.PAYMENT);
+    }
+
+    // ── Providers ────────────────────────────────────────────────────────
+    @Getter
+    @Setter
+    public static class Channel {
+
+        /**
+         * Messages per provider call; 1 for providers without a batch API.
+         */
+        private int batchSize;
+        /**
+         * Provider calls in flight at once on this channel, across live
+         * sends and the outbox dispatcher. A slow channel fills its own
+         * bulkhead without starving the others.
+         */
+        private int maxConcurrentCalls;
+        /**
+         * How long a call waits for a free slot before it is rejected and
+         * left to the outbox.
+         */
+        private long maxWaitMs = 100;
+        /**
+         * Provider calls running longer than this are interrupted and
+         * treated as failed.
+         */
+        private long timeoutMs;
+
+        public Channel() {
+        }
+
+        Channel(int batchSize, int maxConcurrentCalls, long timeoutMs) {
+            this.batchSize = batchSize;
+            this.maxConcurrentCalls = maxConcurrentCalls;
+            this.timeoutMs = timeoutMs;
+        }
+    }
+}
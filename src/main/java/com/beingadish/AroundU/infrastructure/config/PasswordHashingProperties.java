@@ -0,0 +1,39 @@
+package com.beingadish.AroundU.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizing of the dedicated password-hashing executor, bound from
+ * {@code app.password-hashing.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.password-hashing")
+@Getter
+@Setter
+public class PasswordHashingProperties {
+
+    /**
+     * Hashing threads; {@code 0} means one per available core.
+     */
+    private int threads = 0;
+    /**
+     * Hashes allowed to wait for a thread before new ones are rejected.
+     */
+    private int queueCapacity = 64;
+    /**
+     * Longest a caller waits for its hash (queueing included) before the
+     * request is shed.
+     */
+    private long maxWaitMs = 2000;
+    /**
+     * {@code Retry-After} advertised when a hash is rejected.
+     */
+    private long retryAfterSeconds = 1;
+
+    public int effectiveThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,36 @@
+package com.beingadish.AroundU.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Payment operation queue and reconciler tunables bound from
+ * {@code payments.*} in YAML.
+ */
+@Component
+@ConfigurationProperties(prefix = "payments")
+@Getter
+@Setter
+public class PaymentProperties {
+
+    /**
+     * Gap between reconciler runs on each instance.
+     */
+    private long reconcileIntervalMs = 5_000;
+    private int claimBatchSize = 50;
+    private int maxBatchesPerRun = 10;
+    /**
+     * How long a claimed operation stays hidden from other reconcilers. Must
+     * exceed the gateway timeout plus its in-process retries.
+     */
+    private long claimTimeoutMs = 60_000;
+    /**
+     * Gateway attempts, the caller's first one included, before an operation
+     * is failed and handed to an admin.
+     */
+    private int maxAttempts = 10;
+    private long initialBackoffMs = 10_000;
+    private long maxBackoffMs = 1_800_000;
+}
@@ -20,10 +20,12 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter.ReferrerPolicy;
 
+import com.beingadish.AroundU.infrastructure.security.BoundedPasswordEncoder;
 import com.beingadish.AroundU.infrastructure.security.CustomAccessDeniedHandler;
 import com.beingadish.AroundU.infrastructure.security.CustomAuthenticationEntryPoint;
 import com.beingadish.AroundU.infrastructure.security.JwtAuthenticationFilter;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -74,10 +76,12 @@ public class ProfileConfig {
 
         private final JwtAuthenticationFilter jwtAuthenticationFilter;
         private final UserDetailsService userDetailsService;
+        private final PasswordHashingProperties passwordHashingProperties;
+        private final MeterRegistry meterRegistry;
 
         @Bean
         public PasswordEncoder passwordEncoder() {
-            return new BCryptPasswordEncoder();
+            return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingProperties, meterRegistry);
         }
 
         @Bean
@@ -16,7 +16,10 @@ public class SchedulerProperties {
 
     // ── Cron expressions ─────────────────────────────────────────────────
     private String userCleanupCron = "0 0 2 * * ?";
-    private String jobExpirationCron = "0 0 * * * ?";
+    /**
+     * Safety-net sweep; jobs normally close on time through the expiry timer.
+     */
+    private String jobExpirationCron = "0 0 */6 * * ?";
     private String reminderCron = "0 0 */6 * * ?";
     private String cacheSyncCron = "0 */30 * * * ?";
     private String analyticsCron = "0 0 3 * * ?";
@@ -36,11 +39,107 @@ public class SchedulerProperties {
      */
     private int jobExpirationDays = 30;
 
+    /**
+     * Jobs closed per expiration statement; each chunk commits on its own.
+     */
+    private int jobExpirationChunkSize = 500;
+
+    /**
+     * Resolution of the in-process expiry timer.
+     */
+    private long jobExpiryTickMs = 250;
+
+    /**
+     * How often each instance claims due entries from the shared expiry
+     * queue.
+     */
+    private long jobExpiryClaimIntervalMs = 5_000;
+
+    /**
+     * How far ahead entries are claimed into the local timer. Must exceed the
+     * claim interval so jobs are held locally before they fall due.
+     */
+    private long jobExpiryClaimAheadMs = 15_000;
+
+    /**
+     * Entries claimed from the shared queue per round trip.
+     */
+    private int jobExpiryClaimBatch = 1_000;
+
+    /**
+     * Shards of the job expiration sweep; live instances split them.
+     */
+    private int jobExpirationShards = 4;
+
     /**
      * Hours after which a zero-bid job triggers a reminder email.
      */
     private int reminderThresholdHours = 24;
 
+    /**
+     * Zero-bid jobs read per page by the reminder run.
+     */
+    private int reminderPageSize = 500;
+
+    /**
+     * Reminder emails in flight at once.
+     */
+    private int reminderConcurrency = 8;
+
+    /**
+     * How often in-memory metric counts are added to the hourly rollups.
+     */
+    private long analyticsRollupFlushMs = 10_000;
+
+    /**
+     * Partitions of the payment id space settled in parallel; instances
+     * split them through per-partition locks.
+     */
+    private int escrowSettlementPartitions = 4;
+
+    /**
+     * Payments released per settlement transaction.
+     */
+    private int escrowSettlementChunkSize = 200;
+
+    /**
+     * How often unfinished settlement runs are looked for and resumed.
+     */
+    private long escrowSettlementResumeMs = 900_000;
+
+    /**
+     * Shards of the geo-index reconciliation; live instances split them.
+     */
+    private int cacheSyncShards = 4;
+
+    /**
+     * How often held scheduler locks are renewed. Must be well below the
+     * shortest lock TTL.
+     */
+    private long lockRenewIntervalMs = 10_000;
+
+    /**
+     * Rows per chunk, and per transaction, in chunked maintenance jobs.
+     */
+    private int batchChunkSize = 500;
+
+    /**
+     * Minimum pause between maintenance chunks.
+     */
+    private long batchPauseMs = 10;
+
+    /**
+     * Pause between maintenance chunks as a multiple of the chunk's duration;
+     * 1.0 keeps a job busy at most half the time.
+     */
+    private double batchPauseRatio = 1.0;
+
+    /**
+     * Longest a maintenance job runs before stopping at its checkpoint until
+     * the next schedule.
+     */
+    private long batchMaxRunMs = 1_200_000;
+
     /**
      * Whether scheduled tasks are enabled (master switch).
      */
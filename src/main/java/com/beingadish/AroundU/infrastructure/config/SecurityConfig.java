@@ -16,11 +16,13 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.beingadish.AroundU.infrastructure.security.BoundedPasswordEncoder;
 import com.beingadish.AroundU.infrastructure.security.CustomAccessDeniedHandler;
 import com.beingadish.AroundU.infrastructure.security.CustomAuthenticationEntryPoint;
 import com.beingadish.AroundU.infrastructure.security.JwtAuthenticationFilter;
 import com.beingadish.AroundU.infrastructure.security.PayloadEncryptionFilter;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -41,6 +43,7 @@ public class SecurityConfig {
         "/css/**",
         "/js/**",
         "/images/**",
+        "/local-images/**",
         "/webjars/**",
         "/api/v1/auth/**",
         "/api/v1/client/register",
@@ -61,10 +64,12 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final PayloadEncryptionFilter payloadEncryptionFilter;
     private final UserDetailsService userDetailsService;
+    private final PasswordHashingProperties passwordHashingProperties;
+    private final MeterRegistry meterRegistry;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingProperties, meterRegistry);
     }
 
     @Bean
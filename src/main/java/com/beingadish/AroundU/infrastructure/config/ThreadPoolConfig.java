@@ -19,12 +19,11 @@ import java.util.concurrent.ThreadPoolExecutor;
  * <p>
  * Each executor is sized according to its workload characteristics:
  * <ul>
- * <li><b>notificationExecutor</b> – lightweight I/O for email, SMS, push</li>
  * <li><b>databaseExecutor</b> – heavy DB operations (batch reads/writes)</li>
  * <li><b>apiExecutor</b> – external API calls with unpredictable latency</li>
  * <li><b>computationExecutor</b> – CPU-bound work sized to available cores</li>
  * <li><b>virtualThreadExecutor</b> – Java 21 virtual threads for massive I/O
- * concurrency</li>
+ * concurrency, including email, SMS and push</li>
  * </ul>
  * All executors are instrumented with Micrometer for Actuator / Prometheus
  * monitoring and use {@link ThreadPoolExecutor.CallerRunsPolicy} as the
@@ -36,22 +35,6 @@ import java.util.concurrent.ThreadPoolExecutor;
 @Profile("!test")
 public class ThreadPoolConfig implements AsyncConfigurer {
 
-    // ── Notification executor ────────────────────────────────────────────
-    @Bean("notificationExecutor")
-    public Executor notificationExecutor(MeterRegistry registry) {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(15);
-        executor.setQueueCapacity(200);
-        executor.setThreadNamePrefix("notif-");
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
-        executor.setAwaitTerminationSeconds(30);
-        executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.initialize();
-        log.info("Initialized notificationExecutor: core=5, max=15, queue=200");
-        return executor;
-    }
-
     // ── Database executor ────────────────────────────────────────────────
     @Bean("databaseExecutor")
     public Executor databaseExecutor(MeterRegistry registry) {
@@ -1,14 +1,18 @@
 package com.beingadish.AroundU.infrastructure.config;
 
 import com.beingadish.AroundU.infrastructure.interceptor.ApiVersionInterceptor;
+import com.beingadish.AroundU.infrastructure.interceptor.CurrentUserArgumentResolver;
 import com.beingadish.AroundU.infrastructure.interceptor.RequestIdInterceptor;
 import com.beingadish.AroundU.infrastructure.interceptor.RequestLoggingInterceptor;
 import com.beingadish.AroundU.infrastructure.interceptor.UserContextInterceptor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 /**
  * Registers all custom
  * {@link org.springframework.web.servlet.HandlerInterceptor} implementations
@@ -22,8 +26,8 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  * elapsed time.</li>
  * <li><b>ApiVersionInterceptor</b> (order 3) — resolves the API-Version
  * header.</li>
- * <li><b>UserContextInterceptor</b> (order 4) — loads authenticated user from
- * the database.</li>
+ * <li><b>UserContextInterceptor</b> (order 4) — attaches a lazily loaded
+ * {@link com.beingadish.AroundU.infrastructure.interceptor.CurrentUser}.</li>
  * </ol>
  */
 @Configuration
@@ -43,6 +47,7 @@ public class WebMvcConfig implements WebMvcConfigurer {
     private final RequestLoggingInterceptor requestLoggingInterceptor;
     private final ApiVersionInterceptor apiVersionInterceptor;
     private final UserContextInterceptor userContextInterceptor;
+    private final CurrentUserArgumentResolver currentUserArgumentResolver;
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
@@ -59,4 +64,9 @@ public class WebMvcConfig implements WebMvcConfigurer {
         // 4. User context — /api/** minus auth endpoints
         registry.addInterceptor(userContextInterceptor).addPathPatterns("/api/**").excludePathPatterns(USER_CONTEXT_EXCLUDE_PATHS).order(4);
     }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(currentUserArgumentResolver);
+    }
 }
@@ -1,6 +1,6 @@
 package com.beingadish.AroundU.infrastructure.config;
 
-import com.beingadish.AroundU.infrastructure.security.JwtTokenProvider;
+import com.beingadish.AroundU.infrastructure.security.JwtPrincipalResolver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Configuration;
@@ -15,8 +15,6 @@ import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.util.StringUtils;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
@@ -30,8 +28,7 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @Slf4j
 public class WebSocketAuthInterceptor implements WebSocketMessageBrokerConfigurer {
 
-    private final JwtTokenProvider tokenProvider;
-    private final UserDetailsService userDetailsService;
+    private final JwtPrincipalResolver principalResolver;
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
@@ -43,17 +40,12 @@ public class WebSocketAuthInterceptor implements WebSocketMessageBrokerConfigure
                     String authHeader = accessor.getFirstNativeHeader("Authorization");
                     if (StringUtils.hasText(authHeader) && authHeader.startsWith("Bearer ")) {
                         String jwt = authHeader.substring(7);
-                        if (tokenProvider.validateToken(jwt)) {
-                            String email = tokenProvider.getEmailFromToken(jwt);
-                            if (!StringUtils.hasText(email)) {
-                                email = tokenProvider.getUserIdFromToken(jwt);
-                            }
-                            UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+                        principalResolver.resolve(jwt).ifPresent(userDetails -> {
                             UsernamePasswordAuthenticationToken auth
                                     = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                             SecurityContextHolder.getContext().setAuthentication(auth);
                             accessor.setUser(auth);
-                        }
+                        });
                     }
                 }
                 return message;
@@ -1,31 +1,147 @@
 package com.beingadish.AroundU.infrastructure.config;
 
+import com.beingadish.AroundU.infrastructure.ratelimit.StompRateLimitInterceptor;
+import com.beingadish.AroundU.infrastructure.websocket.CompactPayloadCodec;
+import com.beingadish.AroundU.infrastructure.websocket.WebSocketSessionMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.socket.WebSocketExtension;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.util.List;
 
 /**
  * STOMP-over-WebSocket configuration for real-time chat messaging.
+ * <p>
+ * Transport limits, broker heartbeats and channel executors are driven by
+ * {@link WebSocketProperties}. A client that cannot keep up with its outbound
+ * traffic (send time or buffer limit exceeded) is disconnected by Spring's
+ * session decorator rather than holding outbound threads and memory; see
+ * {@link WebSocketSessionMetrics} for the per-session backlog meters.
+ * Inbound SEND frames are budgeted by {@link StompRateLimitInterceptor}, which
+ * runs after JWT authentication on CONNECT.
+ * <p>
+ * Payload size is reduced in two negotiated, independent ways: the
+ * permessage-deflate extension (handled by the servlet container) and the
+ * opt-in CBOR codec in {@link CompactPayloadCodec}.
  */
 @Configuration
 @EnableWebSocketMessageBroker
+@Slf4j
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
+    private final WebSocketProperties properties;
+    private final WebSocketSessionMetrics sessionMetrics;
+    private final StompRateLimitInterceptor rateLimitInterceptor;
+    private final CompactPayloadCodec compactPayloadCodec;
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    public WebSocketConfig(WebSocketProperties properties, WebSocketSessionMetrics sessionMetrics,
+            StompRateLimitInterceptor rateLimitInterceptor, CompactPayloadCodec compactPayloadCodec) {
+        this.properties = properties;
+        this.sessionMetrics = sessionMetrics;
+        this.rateLimitInterceptor = rateLimitInterceptor;
+        this.compactPayloadCodec = compactPayloadCodec;
+    }
+
+    @Autowired
+    public void setMessageBrokerTaskScheduler(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler taskScheduler) {
+        this.messageBrokerTaskScheduler = taskScheduler;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
+        WebSocketProperties.Transport transport = properties.getTransport();
         // Destinations prefixed with /topic are broadcast, /queue are point-to-point
-        registry.enableSimpleBroker("/topic", "/queue");
+        registry.enableSimpleBroker("/topic", "/queue")
+                .setTaskScheduler(messageBrokerTaskScheduler)
+                .setHeartbeatValue(new long[]{transport.getHeartbeatOutgoingMs(), transport.getHeartbeatIncomingMs()});
         // Client-send destinations are prefixed with /app
         registry.setApplicationDestinationPrefixes("/app");
         // User-specific destinations prefix
         registry.setUserDestinationPrefix("/user");
+        // Keep per-session order when the outbound channel runs on many threads
+        registry.setPreservePublishOrder(true);
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws/chat")
+                .setHandshakeHandler(new DefaultHandshakeHandler() {
+                    @Override
+                    protected List<WebSocketExtension> filterRequestedExtensions(ServerHttpRequest request,
+                            List<WebSocketExtension> requestedExtensions, List<WebSocketExtension> supportedExtensions) {
+                        List<WebSocketExtension> accepted = super.filterRequestedExtensions(request, requestedExtensions, supportedExtensions);
+                        if (properties.getCompression().isPermessageDeflate()) {
+                            return accepted;
+                        }
+                        return accepted.stream()
+                                .filter(ext -> !PERMESSAGE_DEFLATE.equalsIgnoreCase(ext.getName()))
+                                .toList();
+                    }
+                })
                 .setAllowedOriginPatterns("*");
+        registry.setPreserveReceiveOrder(true);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        WebSocketProperties.Transport transport = properties.getTransport();
+        registration.setSendTimeLimit(transport.getSendTimeLimitMs())
+                .setSendBufferSizeLimit(transport.getSendBufferSizeLimitBytes())
+                .setMessageSizeLimit(transport.getMessageSizeLimitBytes())
+                .setTimeToFirstMessage(transport.getTimeToFirstMessageMs())
+                .addDecoratorFactory(sessionMetrics);
+        log.info("WebSocket transport: sendTimeLimit={}ms, sendBufferSizeLimit={}B, messageSizeLimit={}B",
+                transport.getSendTimeLimitMs(), transport.getSendBufferSizeLimitBytes(),
+                transport.getMessageSizeLimitBytes());
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        configureExecutor(registration, properties.getInbound(), "ws-in-");
+        registration.interceptors(rateLimitInterceptor, compactPayloadCodec.inboundInterceptor());
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        configureExecutor(registration, properties.getOutbound(), "ws-out-");
+        // The codec may drop frames meant for the other audience, so it runs before they are counted
+        registration.interceptors(compactPayloadCodec.outboundInterceptor(), sessionMetrics);
+    }
+
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        // CBOR first (strict content-type match), then Spring's defaults
+        messageConverters.add(compactPayloadCodec.messageConverter());
+        return true;
+    }
+
+    private void configureExecutor(ChannelRegistration registration, WebSocketProperties.Channel channel, String prefix) {
+        if (channel.isVirtualThreads()) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(prefix);
+            executor.setVirtualThreads(true);
+            registration.executor(executor);
+        } else {
+            registration.taskExecutor()
+                    .corePoolSize(channel.getCorePoolSize())
+                    .maxPoolSize(channel.getMaxPoolSize())
+                    .queueCapacity(channel.getQueueCapacity());
+        }
     }
 }
@@ -0,0 +1,182 @@
+package com.beingadish.AroundU.infrastructure.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Externalised STOMP / WebSocket tunables bound from {@code websocket.*} in
+ * YAML. Defaults are sized for mobile clients on the production profile.
+ */
+@Component
+@ConfigurationProperties(prefix = "websocket")
+@Getter
+@Setter
+public class WebSocketProperties {
+
+    private Typing typing = new Typing();
+    private Transport transport = new Transport();
+    private Channel inbound = new Channel();
+    private Channel outbound = new Channel();
+    private RateLimit rateLimit = new RateLimit();
+    private Compression compression = new Compression();
+
+    // ── Typing indicators ────────────────────────────────────────────────
+    @Getter
+    @Setter
+    public static class Typing {
+
+        /**
+         * Minimum gap between two "still typing" broadcasts for the same
+         * (conversation, user). Start/stop transitions are always sent.
+         */
+        private long keepaliveIntervalMs = 3000;
+        /**
+         * Typing state with no inbound event for this long is discarded so
+         * abandoned sessions do not accumulate.
+         */
+        private long idleTimeoutMs = 15000;
+    }
+
+    // ── Transport limits ─────────────────────────────────────────────────
+    @Getter
+    @Setter
+    public static class Transport {
+
+        /**
+         * Maximum time a single send to one client may take before the
+         * session is considered unreliable and closed.
+         */
+        private int sendTimeLimitMs = 10000;
+        /**
+         * Maximum bytes buffered for one client while a send is in progress.
+         * A client that falls further behind is disconnected.
+         */
+        private int sendBufferSizeLimitBytes = 256 * 1024;
+        /**
+         * Maximum size of an inbound STOMP frame.
+         */
+        private int messageSizeLimitBytes = 64 * 1024;
+        /**
+         * Time allowed between the handshake and the first STOMP frame.
+         */
+        private int timeToFirstMessageMs = 30000;
+        /**
+         * Broker heartbeat the server sends, in milliseconds (0 disables).
+         */
+        private long heartbeatOutgoingMs = 10000;
+        /**
+         * Broker heartbeat the server expects from clients, in milliseconds
+         * (0 disables).
+         */
+        private long heartbeatIncomingMs = 10000;
+    }
+
+    // ── Payload compression ──────────────────────────────────────────────
+    @Getter
+    @Setter
+    public static class Compression {
+
+        /**
+         * Accept the permessage-deflate extension when a client offers it.
+         */
+        private boolean permessageDeflate = true;
+        /**
+         * Allow clients to opt into CBOR-encoded binary frames with the
+         * {@code payload-codec:cbor} CONNECT header.
+         */
+        private boolean compactPayloads = true;
+    }
+
+    // ── Channel executors ────────────────────────────────────────────────
+    @Getter
+    @Setter
+    public static class Channel {
+
+        /**
+         * Run channel handlers on virtual threads instead of a sized pool.
+         * Per-session ordering is preserved either way.
+         */
+        private boolean virtualThreads = true;
+        private int corePoolSize = 8;
+        private int maxPoolSize = 32;
+        private int queueCapacity = 1000;
+    }
+
+    // ── Inbound rate limiting ────────────────────────────────────────────
+    @Getter
+    @Setter
+    public static class RateLimit {
+
+        private boolean enabled = true;
+        /**
+         * What to do with a frame that exceeds its budget.
+         */
+        private RejectMode mode = RejectMode.DROP;
+        /**
+         * Also consume from a Redis-backed bucket so the budget holds across
+         * instances. Only consulted once the local bucket has admitted the
+         * frame.
+         */
+        private boolean distributed = false;
+        /**
+         * How often buckets that have refilled to capacity are discarded.
+         */
+        private long evictionIntervalMs = 60000;
+        /**
+         * Budget shared by every SEND frame of one user (or anonymous
+         * session), whatever the destination.
+         */
+        private Limit session = new Limit(60, 30, 1000);
+        /**
+         * Additional per-destination budgets, matched by prefix.
+         */
+        private List<DestinationLimit> destinations = new ArrayList<>(List.of(
+                new DestinationLimit("/app/chat.send", 10, 10, 10000),
+                new DestinationLimit("/app/chat.typing", 10, 5, 1000),
+                new DestinationLimit("/app/chat.read", 10, 2, 1000),
+                new DestinationLimit("/app/chat.delivered", 10, 2, 1000)));
+    }
+
+    public enum RejectMode {
+        /**
+         * Silently discard the frame.
+         */
+        DROP,
+        /**
+         * Discard the frame and reply with a STOMP ERROR frame, which also
+         * closes the session.
+         */
+        ERROR
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        private int capacity;
+        private int refillTokens;
+        private long refillPeriodMs;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class DestinationLimit extends Limit {
+
+        private String destinationPrefix;
+
+        public DestinationLimit(String destinationPrefix, int capacity, int refillTokens, long refillPeriodMs) {
+            super(capacity, refillTokens, refillPeriodMs);
+            this.destinationPrefix = destinationPrefix;
+        }
+    }
+}
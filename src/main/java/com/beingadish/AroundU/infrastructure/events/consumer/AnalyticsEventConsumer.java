@@ -0,0 +1,40 @@
+package com.beingadish.AroundU.infrastructure.events.consumer;
+
+import com.beingadish.AroundU.bid.event.BidPlacedEvent;
+import com.beingadish.AroundU.infrastructure.analytics.service.MetricsRollupService;
+import com.beingadish.AroundU.infrastructure.events.model.DomainEvent;
+import com.beingadish.AroundU.job.event.JobCompletedEvent;
+import com.beingadish.AroundU.job.event.JobModifiedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Feeds job and bid activity into the hourly rollups, each event in the hour
+ * it was recorded. Counts only take effect when the relay commits the batch.
+ */
+@Component
+@RequiredArgsConstructor
+public class AnalyticsEventConsumer implements DomainEventConsumer {
+
+    private final MetricsRollupService metricsRollupService;
+
+    @Override
+    public String name() {
+        return "analytics";
+    }
+
+    @Override
+    public void handle(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            switch (event.payload()) {
+                case JobModifiedEvent modified -> metricsRollupService.onJobModified(modified, event.createdAt());
+                case JobCompletedEvent completed -> metricsRollupService.onJobCompleted(completed, event.createdAt());
+                case BidPlacedEvent placed -> metricsRollupService.onBidPlaced(placed, event.createdAt());
+                default -> {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.beingadish.AroundU.infrastructure.events.consumer;
+
+import com.beingadish.AroundU.infrastructure.events.model.DomainEvent;
+import com.beingadish.AroundU.job.event.JobExpiredEvent;
+import com.beingadish.AroundU.job.event.JobModifiedEvent;
+import com.beingadish.AroundU.location.service.JobGeoSyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Evicts job caches for committed job changes through
+ * {@link JobGeoSyncService#onJobModified}. An expired job is evicted like a
+ * status change. Repeats of the same change within a batch are evicted once.
+ */
+@Component
+@Profile("!test")
+@RequiredArgsConstructor
+public class CacheInvalidationEventConsumer implements DomainEventConsumer {
+
+    private final JobGeoSyncService jobGeoSyncService;
+
+    @Override
+    public String name() {
+        return "cache-invalidation";
+    }
+
+    @Override
+    public void handle(List<DomainEvent> events) {
+        events.stream()
+                .map(event -> switch (event.payload()) {
+                    case JobModifiedEvent modified -> modified;
+                    case JobExpiredEvent expired -> new JobModifiedEvent(expired.jobId(), expired.clientId(),
+                            JobModifiedEvent.Type.STATUS_CHANGED, false);
+                    default -> null;
+                })
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(jobGeoSyncService::onJobModified);
+    }
+}
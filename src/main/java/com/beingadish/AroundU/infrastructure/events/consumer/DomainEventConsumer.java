@@ -0,0 +1,25 @@
+package com.beingadish.AroundU.infrastructure.events.consumer;
+
+import com.beingadish.AroundU.infrastructure.events.model.DomainEvent;
+
+import java.util.List;
+
+/**
+ * Receives committed domain events from the outbox relay, in batches and in
+ * outbox order.
+ * <p>
+ * Delivery is at least once: a batch whose handling throws, or whose
+ * instance dies before the offset is saved, is delivered again. Handlers
+ * must therefore be idempotent, and should ignore event types they do not
+ * use.
+ */
+public interface DomainEventConsumer {
+
+    /**
+     * Offset key and {@code consumer} metric tag. Renaming a consumer starts
+     * it again from the oldest retained event.
+     */
+    String name();
+
+    void handle(List<DomainEvent> events);
+}
@@ -0,0 +1,64 @@
+package com.beingadish.AroundU.infrastructure.events.consumer;
+
+import com.beingadish.AroundU.common.constants.enums.JobStatus;
+import com.beingadish.AroundU.infrastructure.events.model.DomainEvent;
+import com.beingadish.AroundU.job.entity.Job;
+import com.beingadish.AroundU.job.event.JobExpiredEvent;
+import com.beingadish.AroundU.job.event.JobModifiedEvent;
+import com.beingadish.AroundU.job.repository.JobRepository;
+import com.beingadish.AroundU.location.entity.Address;
+import com.beingadish.AroundU.location.service.JobGeoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Brings the Redis geo-index in line with the database for every job a
+ * batch touches: open jobs with coordinates are added or moved, the rest
+ * removed. Services update the index as they commit; this repairs whatever
+ * a failed or lost update left behind, without waiting for the nightly
+ * cleanup.
+ */
+@Component
+@RequiredArgsConstructor
+public class GeoIndexEventConsumer implements DomainEventConsumer {
+
+    private final JobRepository jobRepository;
+    private final JobGeoService jobGeoService;
+
+    @Override
+    public String name() {
+        return "geo-index";
+    }
+
+    @Override
+    public void handle(List<DomainEvent> events) {
+        Set<Long> touched = new LinkedHashSet<>();
+        for (DomainEvent event : events) {
+            switch (event.payload()) {
+                case JobModifiedEvent modified when modified.type() != JobModifiedEvent.Type.UPDATED
+                        || modified.locationChanged() -> touched.add(modified.jobId());
+                case JobExpiredEvent expired -> touched.add(expired.jobId());
+                default -> {
+                }
+            }
+        }
+        if (touched.isEmpty()) {
+            return;
+        }
+
+        Set<Long> closed = new HashSet<>(touched);
+        for (Job job : jobRepository.findWithLocationByIdIn(touched)) {
+            Address location = job.getJobLocation();
+            if (job.getJobStatus() == JobStatus.OPEN_FOR_BIDS && location != null
+                    && location.getLatitude() != null && location.getLongitude() != null) {
+                jobGeoService.addOrUpdateOpenJob(job.getId(), location.getLatitude(), location.getLongitude());
+                closed.remove(job.getId());
+            }
+        }
+        if (!closed.isEmpty()) {
+            jobGeoService.removeOpenJobs(closed);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.beingadish.AroundU.infrastructure.events.consumer;
+
+import com.beingadish.AroundU.bid.event.BidPlacedEvent;
+import com.beingadish.AroundU.infrastructure.events.model.DomainEvent;
+import com.beingadish.AroundU.job.entity.Job;
+import com.beingadish.AroundU.job.event.JobExpiredEvent;
+import com.beingadish.AroundU.job.repository.JobRepository;
+import com.beingadish.AroundU.notification.model.NotificationTopic;
+import com.beingadish.AroundU.notification.model.NotificationType;
+import com.beingadish.AroundU.notification.model.OutboundNotification;
+import com.beingadish.AroundU.notification.service.NotificationOutboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Tells clients their job has expired or received a bid, with one outbox
+ * insert per topic per batch. Both topics are digested, so a burst of bids
+ * on a popular job reaches the client as one message. A redelivered batch
+ * queues its notifications again.
+ */
+@Component
+@RequiredArgsConstructor
+public class JobNotificationEventConsumer implements DomainEventConsumer {
+
+    private final NotificationOutboxService outboxService;
+    private final JobRepository jobRepository;
+
+    @Override
+    public String name() {
+        return "notifications";
+    }
+
+    @Override
+    public void handle(List<DomainEvent> events) {
+        List<OutboundNotification> expired = new ArrayList<>();
+        List<BidPlacedEvent> bids = new ArrayList<>();
+        for (DomainEvent event : events) {
+            switch (event.payload()) {
+                case JobExpiredEvent job when job.clientId() != null -> expired.add(OutboundNotification.of(
+                        NotificationType.PUSH, String.valueOf(job.clientId()), "Job expired",
+                        "Your job #" + job.jobId() + " has expired and is closed for bids."));
+                case BidPlacedEvent bid -> bids.add(bid);
+                default -> {
+                }
+            }
+        }
+        outboxService.enqueueAll(NotificationTopic.JOB_EXPIRED, expired);
+        if (!bids.isEmpty()) {
+            outboxService.enqueueAll(NotificationTopic.BID_PLACED, bidNotifications(bids));
+        }
+    }
+
+    private List<OutboundNotification> bidNotifications(List<BidPlacedEvent> bids) {
+        Map<Long, Job> jobs = new HashMap<>();
+        jobRepository.findAllById(bids.stream().map(BidPlacedEvent::jobId).collect(Collectors.toSet()))
+                .forEach(job -> jobs.put(job.getId(), job));
+        List<OutboundNotification> notifications = new ArrayList<>(bids.size());
+        for (BidPlacedEvent bid : bids) {
+            Job job = jobs.get(bid.jobId());
+            if (job == null || job.getCreatedBy() == null) {
+                continue;
+            }
+            notifications.add(OutboundNotification.of(NotificationType.PUSH,
+                    String.valueOf(job.getCreatedBy().getId()), "New bid on \"" + job.getTitle() + "\"",
+                    "A worker placed a bid on your job #" + job.getId() + "."));
+        }
+        return notifications;
+    }
+}
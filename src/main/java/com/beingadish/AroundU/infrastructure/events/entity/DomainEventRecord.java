@@ -0,0 +1,57 @@
+package com.beingadish.AroundU.infrastructure.events.entity;
+
+import com.beingadish.AroundU.infrastructure.events.model.DomainEventType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * A domain event written in the same transaction as the change it
+ * describes. Rows are append-only; each consumer tracks how far it has read
+ * in {@link EventConsumerOffset}.
+ */
+@Entity
+@Table(name = "domain_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DomainEventRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private DomainEventType type;
+
+    /**
+     * The event record as JSON.
+     */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DomainEventRecord that = (DomainEventRecord) o;
+        return id != null && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,54 @@
+package com.beingadish.AroundU.infrastructure.events.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * How far one consumer has read the domain event outbox. Advanced in the
+ * same transaction as the consumer handles a batch, so a batch is either
+ * handled and recorded or handed out again.
+ */
+@Entity
+@Table(name = "event_consumer_offsets")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventConsumerOffset {
+
+    @Id
+    @Column(length = 100)
+    private String consumer;
+
+    /**
+     * Id of the last event the consumer has handled.
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private long lastEventId = 0;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        EventConsumerOffset that = (EventConsumerOffset) o;
+        return consumer != null && Objects.equals(consumer, that.consumer);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
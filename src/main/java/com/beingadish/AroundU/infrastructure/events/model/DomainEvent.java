@@ -0,0 +1,13 @@
+package com.beingadish.AroundU.infrastructure.events.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * A committed domain event as handed to consumers.
+ *
+ * @param id      position in the outbox; increases with every event
+ * @param payload the published event record, e.g. a
+ *                {@link com.beingadish.AroundU.job.event.JobModifiedEvent}
+ */
+public record DomainEvent(long id, DomainEventType type, Record payload, LocalDateTime createdAt) {
+}
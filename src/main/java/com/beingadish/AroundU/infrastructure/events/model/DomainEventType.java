@@ -0,0 +1,37 @@
+package com.beingadish.AroundU.infrastructure.events.model;
+
+import com.beingadish.AroundU.bid.event.BidPlacedEvent;
+import com.beingadish.AroundU.job.event.JobCompletedEvent;
+import com.beingadish.AroundU.job.event.JobExpiredEvent;
+import com.beingadish.AroundU.job.event.JobModifiedEvent;
+
+import java.util.Arrays;
+
+/**
+ * Domain events kept in the outbox, with the record each one is stored as.
+ * The constant name is persisted, so renaming one orphans its stored rows.
+ */
+public enum DomainEventType {
+    JOB_MODIFIED(JobModifiedEvent.class),
+    JOB_EXPIRED(JobExpiredEvent.class),
+    JOB_COMPLETED(JobCompletedEvent.class),
+    BID_PLACED(BidPlacedEvent.class);
+
+    private final Class<? extends Record> payloadType;
+
+    DomainEventType(Class<? extends Record> payloadType) {
+        this.payloadType = payloadType;
+    }
+
+    public Class<? extends Record> payloadType() {
+        return payloadType;
+    }
+
+    public static DomainEventType of(Record payload) {
+        return Arrays.stream(values())
+                .filter(type -> type.payloadType == payload.getClass())
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Not an outbox event: " + payload.getClass().getSimpleName()));
+    }
+}
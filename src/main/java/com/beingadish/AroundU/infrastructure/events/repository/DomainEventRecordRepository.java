@@ -0,0 +1,34 @@
+package com.beingadish.AroundU.infrastructure.events.repository;
+
+import com.beingadish.AroundU.infrastructure.events.entity.DomainEventRecord;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DomainEventRecordRepository extends JpaRepository<DomainEventRecord, Long> {
+
+    List<DomainEventRecord> findByIdGreaterThanOrderByIdAsc(long afterId, Limit limit);
+
+    Optional<DomainEventRecord> findFirstByIdGreaterThanOrderByIdAsc(long afterId);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM DomainEventRecord e")
+    long findMaxId();
+
+    /**
+     * Deletes events every consumer has read that are older than
+     * {@code cutoff}.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM DomainEventRecord e WHERE e.id <= :readUpTo AND e.createdAt < :cutoff")
+    int deleteReadBefore(@Param("readUpTo") long readUpTo, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,25 @@
+package com.beingadish.AroundU.infrastructure.events.repository;
+
+import com.beingadish.AroundU.infrastructure.events.entity.EventConsumerOffset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface EventConsumerOffsetRepository extends JpaRepository<EventConsumerOffset, String> {
+
+    /**
+     * Locks the consumer's offset for the rest of the transaction, or
+     * returns empty while another relay holds it, so each consumer reads on
+     * one instance at a time. Must run inside a transaction.
+     */
+    @Query(value = "SELECT * FROM event_consumer_offsets WHERE consumer = :consumer FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    Optional<EventConsumerOffset> lockForRelay(@Param("consumer") String consumer);
+
+    @Query("SELECT MIN(o.lastEventId) FROM EventConsumerOffset o")
+    Long findMinLastEventId();
+}
@@ -0,0 +1,81 @@
+package com.beingadish.AroundU.infrastructure.events.service;
+
+import com.beingadish.AroundU.bid.event.BidPlacedEvent;
+import com.beingadish.AroundU.infrastructure.events.entity.DomainEventRecord;
+import com.beingadish.AroundU.infrastructure.events.model.DomainEventType;
+import com.beingadish.AroundU.infrastructure.events.repository.DomainEventRecordRepository;
+import com.beingadish.AroundU.job.event.JobCompletedEvent;
+import com.beingadish.AroundU.job.event.JobModifiedEvent;
+import com.beingadish.AroundU.job.event.JobsExpiredEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes published domain events to the {@code domain_events} outbox just
+ * before the publishing transaction commits, so an event is stored if and
+ * only if its change is. A failed write rolls the change back.
+ * <p>
+ * Events published outside a transaction are written on their own.
+ */
+@Component
+@RequiredArgsConstructor
+public class DomainEventRecorder {
+
+    private final DomainEventRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry registry;
+    private final Clock clock;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onJobModified(JobModifiedEvent event) {
+        record(List.of(event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onJobsExpired(JobsExpiredEvent event) {
+        record(event.jobs());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onJobCompleted(JobCompletedEvent event) {
+        record(List.of(event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onBidPlaced(BidPlacedEvent event) {
+        record(List.of(event));
+    }
+
+    private void record(List<? extends Record> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        recordRepository.saveAll(events.stream()
+                .map(event -> DomainEventRecord.builder()
+                        .type(DomainEventType.of(event))
+                        .payload(toJson(event))
+                        .createdAt(now)
+                        .build())
+                .toList());
+        events.forEach(event -> registry.counter("aroundu.events.recorded", "type",
+                DomainEventType.of(event).name()).increment());
+    }
+
+    private String toJson(Record event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialise " + event.getClass().getSimpleName(), ex);
+        }
+    }
+}
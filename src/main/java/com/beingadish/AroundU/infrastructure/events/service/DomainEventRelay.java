@@ -0,0 +1,222 @@
+package com.beingadish.AroundU.infrastructure.events.service;
+
+import com.beingadish.AroundU.infrastructure.config.DomainEventProperties;
+import com.beingadish.AroundU.infrastructure.events.consumer.DomainEventConsumer;
+import com.beingadish.AroundU.infrastructure.events.entity.DomainEventRecord;
+import com.beingadish.AroundU.infrastructure.events.entity.EventConsumerOffset;
+import com.beingadish.AroundU.infrastructure.events.model.DomainEvent;
+import com.beingadish.AroundU.infrastructure.events.repository.DomainEventRecordRepository;
+import com.beingadish.AroundU.infrastructure.events.repository.EventConsumerOffsetRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers the domain event outbox to every {@link DomainEventConsumer}.
+ * <p>
+ * Each consumer reads from its own offset. A batch is handled and the offset
+ * advanced in one transaction that also holds the offset row
+ * ({@code FOR UPDATE SKIP LOCKED}), so every instance can relay without two
+ * of them feeding the same consumer, and a batch that fails or is cut short
+ * by a crash is delivered again. Consumers are independent: one that keeps
+ * failing falls behind without holding up the others.
+ * <p>
+ * Event ids are assigned at insert but become visible at commit, so a
+ * lower id can appear after a higher one. The relay stops at a missing id
+ * until {@code events.gap-timeout-ms} has passed since the event after it,
+ * then treats the id as rolled back.
+ */
+@Service
+@Slf4j
+public class DomainEventRelay {
+
+    private final DomainEventRecordRepository recordRepository;
+    private final EventConsumerOffsetRepository offsetRepository;
+    private final List<DomainEventConsumer> consumers;
+    private final TransactionTemplate transactionTemplate;
+    private final DomainEventProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry registry;
+    private final Clock clock;
+
+    private final Set<String> registered = ConcurrentHashMap.newKeySet();
+    private final Map<String, AtomicLong> lagEvents = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> lagSeconds = new ConcurrentHashMap<>();
+
+    public DomainEventRelay(DomainEventRecordRepository recordRepository,
+                            EventConsumerOffsetRepository offsetRepository,
+                            List<DomainEventConsumer> consumers,
+                            PlatformTransactionManager transactionManager,
+                            DomainEventProperties properties,
+                            ObjectMapper objectMapper,
+                            MeterRegistry registry,
+                            Clock clock) {
+        this.recordRepository = recordRepository;
+        this.offsetRepository = offsetRepository;
+        this.consumers = consumers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+        this.clock = clock;
+        for (DomainEventConsumer consumer : consumers) {
+            AtomicLong events = lagEvents.computeIfAbsent(consumer.name(), name -> new AtomicLong());
+            AtomicLong seconds = lagSeconds.computeIfAbsent(consumer.name(), name -> new AtomicLong());
+            Gauge.builder("aroundu.events.consumer.lag", events, AtomicLong::get)
+                    .tag("consumer", consumer.name())
+                    .description("Events recorded but not yet handled by the consumer")
+                    .register(registry);
+            Gauge.builder("aroundu.events.consumer.lag.seconds", seconds, AtomicLong::get)
+                    .tag("consumer", consumer.name())
+                    .baseUnit("seconds")
+                    .description("Age of the oldest event the consumer has not handled")
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Relays to every consumer in turn.
+     *
+     * @return events handled, summed over consumers
+     */
+    public int relayAll() {
+        int delivered = 0;
+        for (DomainEventConsumer consumer : consumers) {
+            delivered += relay(consumer);
+        }
+        return delivered;
+    }
+
+    /**
+     * Hands the consumer its unread events, batch by batch, until it is
+     * caught up, a batch fails or the per-run batch limit is reached.
+     */
+    public int relay(DomainEventConsumer consumer) {
+        register(consumer.name());
+        int delivered = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            int handled;
+            try {
+                handled = Objects.requireNonNull(transactionTemplate.execute(status -> relayBatch(consumer)));
+            } catch (RuntimeException ex) {
+                registry.counter("aroundu.events.failed", "consumer", consumer.name()).increment();
+                log.warn("Event consumer {} failed, its batch will be redelivered: {}", consumer.name(),
+                        ex.getMessage(), ex);
+                break;
+            }
+            delivered += handled;
+            if (handled < properties.getBatchSize()) {
+                break;
+            }
+        }
+        refreshLag(consumer.name());
+        return delivered;
+    }
+
+    /**
+     * Deletes events every consumer has read once they are past retention.
+     */
+    public int purgeRead() {
+        Long readUpTo = offsetRepository.findMinLastEventId();
+        if (readUpTo == null || readUpTo == 0) {
+            return 0;
+        }
+        LocalDateTime cutoff = LocalDateTime.now(clock).minusDays(properties.getRetentionDays());
+        int deleted = recordRepository.deleteReadBefore(readUpTo, cutoff);
+        if (deleted > 0) {
+            log.info("Purged {} domain events read by every consumer", deleted);
+        }
+        return deleted;
+    }
+
+    private int relayBatch(DomainEventConsumer consumer) {
+        Optional<EventConsumerOffset> locked = offsetRepository.lockForRelay(consumer.name());
+        if (locked.isEmpty()) {
+            return 0; // another instance is relaying to this consumer
+        }
+        EventConsumerOffset offset = locked.get();
+        List<DomainEventRecord> ready = contiguous(offset.getLastEventId(),
+                recordRepository.findByIdGreaterThanOrderByIdAsc(offset.getLastEventId(),
+                        Limit.of(properties.getBatchSize())));
+        if (ready.isEmpty()) {
+            return 0;
+        }
+
+        Timer.Sample sample = Timer.start(registry);
+        consumer.handle(ready.stream().map(this::toEvent).toList());
+        sample.stop(registry.timer("aroundu.events.batch.duration", "consumer", consumer.name()));
+
+        offset.setLastEventId(ready.getLast().getId());
+        offsetRepository.save(offset);
+        registry.counter("aroundu.events.delivered", "consumer", consumer.name()).increment(ready.size());
+        return ready.size();
+    }
+
+    /**
+     * The leading run of events with no unexplained gap in their ids.
+     */
+    private List<DomainEventRecord> contiguous(long afterId, List<DomainEventRecord> rows) {
+        LocalDateTime settled = LocalDateTime.now(clock).minus(Duration.ofMillis(properties.getGapTimeoutMs()));
+        List<DomainEventRecord> ready = new ArrayList<>(rows.size());
+        long expected = afterId + 1;
+        for (DomainEventRecord row : rows) {
+            if (row.getId() != expected && row.getCreatedAt().isAfter(settled)) {
+                break; // ids before this one may still commit
+            }
+            ready.add(row);
+            expected = row.getId() + 1;
+        }
+        return ready;
+    }
+
+    private DomainEvent toEvent(DomainEventRecord row) {
+        try {
+            return new DomainEvent(row.getId(), row.getType(),
+                    objectMapper.readValue(row.getPayload(), row.getType().payloadType()), row.getCreatedAt());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot read domain event " + row.getId(), ex);
+        }
+    }
+
+    /**
+     * Creates the consumer's offset at the start of the outbox the first
+     * time it runs.
+     */
+    private void register(String consumer) {
+        if (registered.contains(consumer)) {
+            return;
+        }
+        if (!offsetRepository.existsById(consumer)) {
+            try {
+                offsetRepository.save(EventConsumerOffset.builder().consumer(consumer).build());
+            } catch (DataIntegrityViolationException ex) {
+                // Another instance registered it first
+            }
+        }
+        registered.add(consumer);
+    }
+
+    private void refreshLag(String consumer) {
+        long readUpTo = offsetRepository.findById(consumer).map(EventConsumerOffset::getLastEventId).orElse(0L);
+        lagEvents.get(consumer).set(Math.max(0, recordRepository.findMaxId() - readUpTo));
+        lagSeconds.get(consumer).set(recordRepository.findFirstByIdGreaterThanOrderByIdAsc(readUpTo)
+                .map(oldest -> Math.max(0, Duration.between(oldest.getCreatedAt(), LocalDateTime.now(clock))
+                        .toSeconds()))
+                .orElse(0L));
+    }
+}
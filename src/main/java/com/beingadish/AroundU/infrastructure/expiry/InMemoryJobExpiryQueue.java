@@ -0,0 +1,43 @@
+package com.beingadish.AroundU.infrastructure.expiry;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Single-instance {@link JobExpiryQueue} for the test profile, where Redis is
+ * not available.
+ */
+@Service
+@Profile("test")
+public class InMemoryJobExpiryQueue implements JobExpiryQueue {
+
+    private final Map<Long, Instant> expiries = new HashMap<>();
+    private final TreeSet<Map.Entry<Long, Instant>> byExpiry = new TreeSet<>(
+            Map.Entry.<Long, Instant>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+
+    @Override
+    public synchronized void schedule(Long jobId, Instant expiresAt) {
+        Instant previous = expiries.put(jobId, expiresAt);
+        if (previous != null) {
+            byExpiry.remove(Map.entry(jobId, previous));
+        }
+        byExpiry.add(Map.entry(jobId, expiresAt));
+    }
+
+    @Override
+    public synchronized Map<Long, Instant> claimDue(Instant horizon, int limit) {
+        Map<Long, Instant> claimed = new LinkedHashMap<>();
+        while (claimed.size() < limit && !byExpiry.isEmpty() && !byExpiry.first().getValue().isAfter(horizon)) {
+            Map.Entry<Long, Instant> next = byExpiry.pollFirst();
+            expiries.remove(next.getKey());
+            claimed.put(next.getKey(), next.getValue());
+        }
+        return claimed;
+    }
+}
@@ -0,0 +1,23 @@
+package com.beingadish.AroundU.infrastructure.expiry;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Delay queue of open jobs keyed by the instant they expire, shared by all
+ * application instances.
+ */
+public interface JobExpiryQueue {
+
+    /**
+     * Adds the job, or moves it to {@code expiresAt} if already queued.
+     */
+    void schedule(Long jobId, Instant expiresAt);
+
+    /**
+     * Removes and returns up to {@code limit} jobs expiring at or before
+     * {@code horizon}, earliest first. An entry is handed to exactly one
+     * caller.
+     */
+    Map<Long, Instant> claimDue(Instant horizon, int limit);
+}
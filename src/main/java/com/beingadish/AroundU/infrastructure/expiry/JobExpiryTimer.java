@@ -0,0 +1,200 @@
+package com.beingadish.AroundU.infrastructure.expiry;
+
+import com.beingadish.AroundU.common.constants.enums.JobStatus;
+import com.beingadish.AroundU.infrastructure.config.SchedulerProperties;
+import com.beingadish.AroundU.job.entity.Job;
+import com.beingadish.AroundU.job.event.JobExpiredEvent;
+import com.beingadish.AroundU.job.event.JobsExpiredEvent;
+import com.beingadish.AroundU.job.model.ExpiredJob;
+import com.beingadish.AroundU.job.repository.JobRepository;
+import com.beingadish.AroundU.location.service.JobGeoService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Closes each open job when it expires rather than on the next sweep.
+ * <p>
+ * Job creation, edits and reopening put the job's expiry into the shared
+ * {@link JobExpiryQueue}. Every instance periodically claims the entries
+ * falling due within {@code scheduler.job-expiry-claim-ahead-ms} into its
+ * own {@link TimingWheel}, which fires them at
+ * {@code scheduler.job-expiry-tick-ms} resolution. Due jobs are closed with a
+ * conditional update, so an entry that went stale (job rescheduled, assigned
+ * or cancelled) does nothing.
+ * <p>
+ * Entries held in the wheel are handed back to the queue on shutdown; those
+ * lost to a crash are picked up by
+ * {@link com.beingadish.AroundU.infrastructure.scheduler.JobExpirationScheduler}.
+ */
+@Component
+@Slf4j
+public class JobExpiryTimer {
+
+    private static final int WHEEL_SLOTS = 64;
+    private static final int WHEEL_LEVELS = 3;
+
+    private final JobExpiryQueue expiryQueue;
+    private final JobRepository jobRepository;
+    private final JobGeoService jobGeoService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerProperties schedulerProperties;
+    private final Clock clock;
+    private final TimingWheel<Long> wheel;
+
+    private final Counter claimed;
+    private final Counter closed;
+    private final Timer lag;
+
+    public JobExpiryTimer(JobExpiryQueue expiryQueue,
+                          JobRepository jobRepository,
+                          JobGeoService jobGeoService,
+                          ApplicationEventPublisher eventPublisher,
+                          TransactionTemplate transactionTemplate,
+                          SchedulerProperties schedulerProperties,
+                          Clock clock,
+                          MeterRegistry registry) {
+        this.expiryQueue = expiryQueue;
+        this.jobRepository = jobRepository;
+        this.jobGeoService = jobGeoService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.schedulerProperties = schedulerProperties;
+        this.clock = clock;
+        this.wheel = new TimingWheel<>(schedulerProperties.getJobExpiryTickMs(), WHEEL_SLOTS, WHEEL_LEVELS,
+                clock.millis());
+        this.claimed = Counter.builder("aroundu.jobs.expiry.claimed")
+                .description("Expiry entries claimed from the shared queue")
+                .register(registry);
+        this.closed = Counter.builder("aroundu.jobs.expiry.closed")
+                .description("Jobs closed by the expiry timer")
+                .register(registry);
+        this.lag = Timer.builder("aroundu.jobs.expiry.lag")
+                .description("Delay between a job's expiry and the timer firing")
+                .register(registry);
+        Gauge.builder("aroundu.jobs.expiry.pending", this, JobExpiryTimer::pending)
+                .description("Expiry entries held in this instance's timer")
+                .register(registry);
+    }
+
+    /**
+     * Queues the job's expiry if it is open for bids; later calls move it.
+     */
+    public void schedule(Job job) {
+        if (job.getId() == null || job.getJobStatus() != JobStatus.OPEN_FOR_BIDS) {
+            return;
+        }
+        expiryQueue.schedule(job.getId(), expiresAt(job));
+    }
+
+    /**
+     * Moves entries falling due soon from the shared queue into the wheel.
+     */
+    @Scheduled(fixedDelayString = "${scheduler.job-expiry-claim-interval-ms:5000}")
+    public void claim() {
+        if (!schedulerProperties.isEnabled()) {
+            return;
+        }
+        int batch = schedulerProperties.getJobExpiryClaimBatch();
+        Instant horizon = clock.instant().plusMillis(schedulerProperties.getJobExpiryClaimAheadMs());
+        Map<Long, Instant> due;
+        do {
+            due = expiryQueue.claimDue(horizon, batch);
+            synchronized (wheel) {
+                due.forEach((jobId, expiresAt) -> wheel.add(jobId, expiresAt.toEpochMilli()));
+            }
+            claimed.increment(due.size());
+        } while (due.size() >= batch);
+    }
+
+    /**
+     * Closes the jobs whose expiry the wheel has reached.
+     */
+    @Scheduled(fixedRateString = "${scheduler.job-expiry-tick-ms:250}")
+    public void tick() {
+        List<TimingWheel.Timeout<Long>> due;
+        synchronized (wheel) {
+            due = wheel.advance(clock.millis());
+        }
+        int chunkSize = schedulerProperties.getJobExpirationChunkSize();
+        for (int from = 0; from < due.size(); from += chunkSize) {
+            expire(due.subList(from, Math.min(from + chunkSize, due.size())));
+        }
+    }
+
+    /**
+     * Hands entries not yet fired back to the shared queue for another
+     * instance.
+     */
+    @PreDestroy
+    public void release() {
+        List<TimingWheel.Timeout<Long>> pending;
+        synchronized (wheel) {
+            pending = wheel.drain();
+        }
+        requeue(pending);
+    }
+
+    private void expire(List<TimingWheel.Timeout<Long>> due) {
+        long nowMillis = clock.millis();
+        LocalDateTime now = LocalDateTime.now(clock);
+        try {
+            // The closed jobs and their events commit together
+            List<ExpiredJob> expired = transactionTemplate.execute(status -> {
+                List<ExpiredJob> closedJobs = jobRepository.expireJobs(
+                        due.stream().map(TimingWheel.Timeout::item).toList(),
+                        now, now.minusDays(schedulerProperties.getJobExpirationDays()));
+                if (!closedJobs.isEmpty()) {
+                    eventPublisher.publishEvent(new JobsExpiredEvent(closedJobs.stream()
+                            .map(job -> new JobExpiredEvent(job.getId(), job.getClientId()))
+                            .toList()));
+                }
+                return closedJobs;
+            });
+            due.forEach(timeout -> lag.record(Duration.ofMillis(Math.max(0, nowMillis - timeout.deadlineMillis()))));
+            if (expired.isEmpty()) {
+                return;
+            }
+            jobGeoService.removeOpenJobs(expired.stream().map(ExpiredJob::getId).toList());
+            closed.increment(expired.size());
+            log.debug("Expiry timer closed {} of {} due jobs", expired.size(), due.size());
+        } catch (Exception ex) {
+            log.warn("Expiry timer failed to close {} jobs, requeueing: {}", due.size(), ex.getMessage());
+            requeue(due);
+        }
+    }
+
+    private void requeue(List<TimingWheel.Timeout<Long>> timeouts) {
+        timeouts.forEach(timeout ->
+                expiryQueue.schedule(timeout.item(), Instant.ofEpochMilli(timeout.deadlineMillis())));
+    }
+
+    private Instant expiresAt(Job job) {
+        LocalDateTime expiresAt = job.getScheduledStartTime() != null
+                ? job.getScheduledStartTime()
+                : (job.getCreatedAt() != null ? job.getCreatedAt() : LocalDateTime.now(clock))
+                        .plusDays(schedulerProperties.getJobExpirationDays());
+        return expiresAt.atZone(clock.getZone()).toInstant();
+    }
+
+    private double pending() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.beingadish.AroundU.infrastructure.expiry;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link JobExpiryQueue} on a Redis sorted set scored by expiry epoch millis.
+ * <p>
+ * Key: {@code jobs:expiry}. Claiming reads and removes the due range in one
+ * Lua script, so concurrent instances never receive the same job.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Profile("!test")
+public class RedisJobExpiryQueue implements JobExpiryQueue {
+
+    private static final String EXPIRY_KEY = "jobs:expiry";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM_SCRIPT = new DefaultRedisScript<>("""
+            local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'WITHSCORES', 'LIMIT', 0, ARGV[2])
+            for i = 1, #due, 2 do
+                redis.call('ZREM', KEYS[1], due[i])
+            end
+            return due
+            """, List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Override
+    public void schedule(Long jobId, Instant expiresAt) {
+        try {
+            stringRedisTemplate.opsForZSet().add(EXPIRY_KEY, jobId.toString(), expiresAt.toEpochMilli());
+        } catch (Exception ex) {
+            // The periodic expiration sweep still closes the job, only later
+            log.warn("Failed to queue expiry for jobId={}: {}", jobId, ex.getMessage());
+        }
+    }
+
+    @Override
+    public Map<Long, Instant> claimDue(Instant horizon, int limit) {
+        try {
+            List<?> due = stringRedisTemplate.execute(CLAIM_SCRIPT, List.of(EXPIRY_KEY),
+                    String.valueOf(horizon.toEpochMilli()), String.valueOf(limit));
+            if (due == null || due.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            Map<Long, Instant> claimed = new LinkedHashMap<>();
+            for (int i = 0; i + 1 < due.size(); i += 2) {
+                claimed.put(Long.valueOf(due.get(i).toString()),
+                        Instant.ofEpochMilli((long) Double.parseDouble(due.get(i + 1).toString())));
+            }
+            return claimed;
+        } catch (Exception ex) {
+            log.warn("Failed to claim due job expiries: {}", ex.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+}
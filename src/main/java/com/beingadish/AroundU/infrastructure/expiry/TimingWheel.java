@@ -0,0 +1,137 @@
+package com.beingadish.AroundU.infrastructure.expiry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel: level 0 has {@code slots} buckets of one tick
+ * each, every further level has {@code slots} buckets each spanning a full
+ * turn of the level below. Adding and firing are O(1); an entry is moved down
+ * one level at a time as its bucket comes round, so no per-tick scan of
+ * pending entries is needed. Deadlines beyond the top level wait in an
+ * overflow list that is revisited once per top-level turn.
+ * <p>
+ * Each item has at most one live deadline; adding it again replaces the
+ * previous one. Not thread-safe on its own, callers synchronise.
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int slots;
+    /**
+     * {@code span[l]} is the number of ticks one bucket on level {@code l}
+     * covers; {@code span[levels]} is one full turn of the top level.
+     */
+    private final long[] span;
+    private final Deque<Timeout<T>>[][] wheels;
+    private final List<Timeout<T>> overflow = new ArrayList<>();
+    private final Map<T, Long> deadlines = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int slots, int levels, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.slots = slots;
+        this.span = new long[levels + 1];
+        this.wheels = new Deque[levels][slots];
+        span[0] = 1;
+        for (int level = 1; level <= levels; level++) {
+            span[level] = span[level - 1] * slots;
+        }
+        for (Deque<Timeout<T>>[] wheel : wheels) {
+            for (int slot = 0; slot < slots; slot++) {
+                wheel[slot] = new ArrayDeque<>();
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules {@code item} for {@code deadlineMillis}, replacing any earlier
+     * deadline. Deadlines already passed fire on the next {@link #advance}.
+     */
+    public void add(T item, long deadlineMillis) {
+        deadlines.put(item, deadlineMillis);
+        place(new Timeout<>(item, deadlineMillis));
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis} and returns every entry
+     * whose deadline has been reached, in deadline-tick order.
+     */
+    public List<Timeout<T>> advance(long nowMillis) {
+        List<Timeout<T>> due = new ArrayList<>();
+        long target = nowMillis / tickMillis;
+        while (currentTick <= target) {
+            if (currentTick % span[wheels.length] == 0) {
+                List<Timeout<T>> far = new ArrayList<>(overflow);
+                overflow.clear();
+                far.forEach(this::place);
+            }
+            for (int level = wheels.length - 1; level > 0; level--) {
+                if (currentTick % span[level] == 0) {
+                    cascade(wheels[level][slot(currentTick, level)]);
+                }
+            }
+            Deque<Timeout<T>> bucket = wheels[0][slot(currentTick, 0)];
+            for (Timeout<T> timeout = bucket.poll(); timeout != null; timeout = bucket.poll()) {
+                // A later add() for the same item supersedes this entry
+                if (deadlines.remove(timeout.item(), timeout.deadlineMillis())) {
+                    due.add(timeout);
+                }
+            }
+            currentTick++;
+        }
+        return due;
+    }
+
+    /**
+     * Empties the wheel and returns the live entries, e.g. to hand them back
+     * to a shared queue on shutdown.
+     */
+    public List<Timeout<T>> drain() {
+        List<Timeout<T>> pending = new ArrayList<>(deadlines.size());
+        deadlines.forEach((item, deadline) -> pending.add(new Timeout<>(item, deadline)));
+        deadlines.clear();
+        overflow.clear();
+        for (Deque<Timeout<T>>[] wheel : wheels) {
+            for (Deque<Timeout<T>> bucket : wheel) {
+                bucket.clear();
+            }
+        }
+        return pending;
+    }
+
+    public int size() {
+        return deadlines.size();
+    }
+
+    private void place(Timeout<T> timeout) {
+        long tick = Math.max(timeout.deadlineMillis() / tickMillis, currentTick);
+        // Lowest level whose current turn still contains the deadline
+        for (int level = 0; level < wheels.length; level++) {
+            if (tick / span[level + 1] == currentTick / span[level + 1]) {
+                wheels[level][slot(tick, level)].add(timeout);
+                return;
+            }
+        }
+        overflow.add(timeout);
+    }
+
+    private void cascade(Deque<Timeout<T>> bucket) {
+        List<Timeout<T>> moved = new ArrayList<>(bucket);
+        bucket.clear();
+        moved.forEach(this::place);
+    }
+
+    private int slot(long tick, int level) {
+        return (int) ((tick / span[level]) % slots);
+    }
+
+    public record Timeout<T>(T item, long deadlineMillis) {
+    }
+}
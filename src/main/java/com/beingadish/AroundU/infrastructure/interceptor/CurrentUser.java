@@ -0,0 +1,61 @@
+package com.beingadish.AroundU.infrastructure.interceptor;
+
+import com.beingadish.AroundU.user.entity.User;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * The authenticated caller for the current request.
+ * <p>
+ * {@link #getId()}, {@link #getEmail()} and {@link #getRole()} come from the
+ * token and are free. The persistent {@link User} is only loaded when
+ * {@link #getUser()} is first called and is then memoised for the rest of the
+ * request, so handlers that never need the entity cost no query.
+ * <p>
+ * Controllers receive it as a method argument:
+ * <pre>{@code
+ * @GetMapping("/me")
+ * public ResponseEntity<?> me(CurrentUser currentUser) { ... }
+ * }</pre>
+ * Not thread-safe; it lives for a single request.
+ */
+@Getter
+public final class CurrentUser {
+
+    private final Long id;
+    private final String email;
+    private final String role;
+
+    @Getter(AccessLevel.NONE)
+    private final Function<CurrentUser, Optional<User>> loader;
+    @Getter(AccessLevel.NONE)
+    private Optional<User> user;
+
+    CurrentUser(Long id, String email, String role, Function<CurrentUser, Optional<User>> loader) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.loader = loader;
+    }
+
+    /**
+     * Loads the user entity on first access; later calls return the same
+     * result without querying.
+     */
+    public Optional<User> getUser() {
+        if (user == null) {
+            user = loader.apply(this);
+        }
+        return user;
+    }
+
+    /**
+     * @return whether {@link #getUser()} has already hit the database
+     */
+    public boolean isLoaded() {
+        return user != null;
+    }
+}
@@ -7,10 +7,14 @@ import com.beingadish.AroundU.user.entity.Worker;
 import com.beingadish.AroundU.user.repository.AdminRepository;
 import com.beingadish.AroundU.user.repository.ClientReadRepository;
 import com.beingadish.AroundU.user.repository.WorkerReadRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,17 +24,20 @@ import org.springframework.web.servlet.HandlerInterceptor;
 import java.util.Optional;
 
 /**
- * Interceptor that extracts the authenticated user from the
- * {@link SecurityContextHolder}, loads full user details from the database, and
- * stores the user entity as a request attribute so controllers can access it
- * via {@code request.getAttribute("currentUser")}.
+ * Interceptor that exposes the authenticated user from the
+ * {@link SecurityContextHolder} as a {@link CurrentUser} request attribute
+ * ({@code request.getAttribute("currentUser")}) and, through
+ * {@link CurrentUserArgumentResolver}, as a controller method argument.
+ * <p>
+ * Nothing is read from the database here: the holder carries the id, email
+ * and role from the token and loads the {@code Client}/{@code Worker}/
+ * {@code Admin} entity by primary key only when a handler asks for it.
  * <p>
  * Anonymous / unauthenticated requests are handled gracefully — no error is
  * thrown.
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class UserContextInterceptor implements HandlerInterceptor {
 
     public static final String CURRENT_USER_ATTR = "currentUser";
@@ -40,51 +47,103 @@ public class UserContextInterceptor implements HandlerInterceptor {
     private final WorkerReadRepository workerReadRepository;
     private final AdminRepository adminRepository;
 
+    private final Counter contextsCreated;
+    private final Counter loadsFound;
+    private final Counter loadsMissing;
+    private final Counter loadsFailed;
+
+    /**
+     * Counts into the application's registry, or a private one where none is
+     * configured (e.g. MVC test slices).
+     */
+    @Autowired
+    public UserContextInterceptor(ClientReadRepository clientReadRepository,
+                                  WorkerReadRepository workerReadRepository,
+                                  AdminRepository adminRepository,
+                                  ObjectProvider<MeterRegistry> registry) {
+        this(clientReadRepository, workerReadRepository, adminRepository,
+                registry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    public UserContextInterceptor(ClientReadRepository clientReadRepository,
+                                  WorkerReadRepository workerReadRepository,
+                                  AdminRepository adminRepository,
+                                  MeterRegistry registry) {
+        this.clientReadRepository = clientReadRepository;
+        this.workerReadRepository = workerReadRepository;
+        this.adminRepository = adminRepository;
+        this.contextsCreated = Counter.builder("aroundu.user.context.created")
+                .description("Authenticated requests given a lazy user context")
+                .register(registry);
+        this.loadsFound = loadCounter(registry, "found");
+        this.loadsMissing = loadCounter(registry, "missing");
+        this.loadsFailed = loadCounter(registry, "error");
+    }
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        if (authentication == null || !authentication.isAuthenticated()) {
+        CurrentUser currentUser = currentUser(request);
+        if (currentUser == null) {
             log.debug("No authenticated user for request {}", request.getRequestURI());
-            return true;
         }
+        return true;
+    }
 
-        Object principal = authentication.getPrincipal();
-        if (!(principal instanceof UserPrincipal userPrincipal)) {
+    /**
+     * Returns the request's {@link CurrentUser}, creating and caching it on
+     * the request if needed, or {@code null} for anonymous callers.
+     */
+    public CurrentUser currentUser(HttpServletRequest request) {
+        if (request.getAttribute(CURRENT_USER_ATTR) instanceof CurrentUser existing) {
+            return existing;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        if (!(authentication.getPrincipal() instanceof UserPrincipal principal)) {
             // Could be an anonymous token or a simple String "anonymousUser"
-            log.debug("Principal is not a UserPrincipal: {}", principal.getClass().getSimpleName());
-            return true;
+            return null;
         }
 
-        String email = userPrincipal.getEmail();
         String role = extractRole(authentication);
+        CurrentUser currentUser = new CurrentUser(principal.getId(), principal.getEmail(), role, this::load);
+        request.setAttribute(CURRENT_USER_ATTR, currentUser);
+        request.setAttribute(CURRENT_USER_ROLE_ATTR, role);
+        contextsCreated.increment();
+        return currentUser;
+    }
 
+    private Optional<User> load(CurrentUser currentUser) {
         try {
-            Optional<? extends User> user = loadUser(email, role);
-            user.ifPresent(u -> {
-                request.setAttribute(CURRENT_USER_ATTR, u);
-                request.setAttribute(CURRENT_USER_ROLE_ATTR, role);
-                log.debug("User context loaded: id={}, email={}, role={}", u.getId(), email, role);
-            });
-
-            if (user.isEmpty()) {
-                log.warn("Authenticated user '{}' with role '{}' not found in database", email, role);
+            Optional<User> user = findUser(currentUser);
+            if (user.isPresent()) {
+                loadsFound.increment();
+                log.debug("User context loaded: id={}, role={}", currentUser.getId(), currentUser.getRole());
+            } else {
+                loadsMissing.increment();
+                log.warn("Authenticated user id={} with role '{}' not found in database",
+                        currentUser.getId(), currentUser.getRole());
             }
+            return user;
         } catch (Exception ex) {
-            log.error("Failed to load user context for '{}': {}", email, ex.getMessage());
-            // Do not block the request — let it proceed without user context
+            // Do not fail the request — the handler sees an empty user instead
+            loadsFailed.increment();
+            log.error("Failed to load user context for id={}: {}", currentUser.getId(), ex.getMessage());
+            return Optional.empty();
         }
-
-        return true;
     }
 
-    private Optional<? extends User> loadUser(String email, String role) {
-        return switch (role) {
-            case "ROLE_CLIENT" -> clientReadRepository.findByEmail(email).map(c -> (User) c);
-            case "ROLE_WORKER" -> workerReadRepository.findByEmail(email).map(w -> (User) w);
-            case "ROLE_ADMIN" -> adminRepository.findByEmail(email).map(a -> (User) a);
+    private Optional<User> findUser(CurrentUser currentUser) {
+        Long id = currentUser.getId();
+        return switch (currentUser.getRole()) {
+            case "ROLE_CLIENT" -> clientReadRepository.findById(id).map(c -> (User) c);
+            case "ROLE_WORKER" -> workerReadRepository.findById(id).map(w -> (User) w);
+            case "ROLE_ADMIN" -> adminRepository.findById(id).map(a -> (User) a);
             default -> {
-                log.warn("Unknown role '{}' — attempting to find user across all repositories", role);
+                // Ids are only unique per table, so fall back to the email here
+                String email = currentUser.getEmail();
+                log.warn("Unknown role '{}' — attempting to find user across all repositories", currentUser.getRole());
                 Optional<Client> client = clientReadRepository.findByEmail(email);
                 if (client.isPresent()) {
                     yield client.map(c -> (User) c);
@@ -101,4 +160,11 @@ public class UserContextInterceptor implements HandlerInterceptor {
     private String extractRole(Authentication authentication) {
         return authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).filter(a -> a.startsWith("ROLE_")).findFirst().orElse("UNKNOWN");
     }
+
+    private static Counter loadCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("aroundu.user.context.loaded")
+                .tag("outcome", outcome)
+                .description("User entities actually loaded from the database for a request")
+                .register(registry);
+    }
 }
@@ -0,0 +1,56 @@
+package com.beingadish.AroundU.infrastructure.lock;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * A lock held by this instance until it is released or stops being renewed.
+ * <p>
+ * The owner token identifies the holder, so only it can renew or release the
+ * lock. The fencing token increases with every acquisition across all locks:
+ * a store that records the highest token it has seen can refuse writes from a
+ * holder that lost its lease without noticing (long GC pause, network
+ * partition) and was replaced by a newer one.
+ */
+@Getter
+public final class Lease implements AutoCloseable {
+
+    private final LockServiceBase lockService;
+    private final String name;
+    private final String ownerToken;
+    private final long fencingToken;
+    private final Duration ttl;
+    private volatile long expiresAtNanos;
+    private volatile boolean lost;
+
+    public Lease(LockServiceBase lockService, String name, String ownerToken, long fencingToken, Duration ttl) {
+        this.lockService = lockService;
+        this.name = name;
+        this.ownerToken = ownerToken;
+        this.fencingToken = fencingToken;
+        this.ttl = ttl;
+        this.expiresAtNanos = System.nanoTime() + ttl.toNanos();
+    }
+
+    /**
+     * Whether the lease is still ours: not released, not taken over, and
+     * renewed recently enough that it cannot have expired.
+     */
+    public boolean isHeld() {
+        return !lost && System.nanoTime() - expiresAtNanos < 0;
+    }
+
+    void renewed(long renewedAtNanos) {
+        expiresAtNanos = renewedAtNanos + ttl.toNanos();
+    }
+
+    void markLost() {
+        lost = true;
+    }
+
+    @Override
+    public void close() {
+        lockService.release(this);
+    }
+}
@@ -0,0 +1,13 @@
+package com.beingadish.AroundU.infrastructure.lock;
+
+/**
+ * Thrown when work guarded by a {@link Lease} finds that a newer holder has
+ * taken over; the write is rolled back.
+ */
+public class LeaseLostException extends RuntimeException {
+
+    public LeaseLostException(String lockName, long fencingToken, long currentToken) {
+        super("Lease " + lockName + " with fencing token " + fencingToken
+                + " was superseded by token " + currentToken);
+    }
+}
@@ -4,18 +4,27 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.lang.management.ManagementFactory;
 import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
- * Redis-based distributed lock service. In a single-instance deployment the
- * lock is technically redundant, but it future-proofs the system for
- * multi-instance scaling where duplicate scheduled-task execution must be
- * prevented.
+ * Redis-based distributed lock service, so a scheduled task or shard runs on
+ * one instance at a time.
  * <p>
- * Lock key format: {@code scheduler:lock:{taskName}}<br>
- * TTL: task max duration + 60-second safety buffer.
+ * Lock key format: {@code scheduler:lock:{name}}, holding the owner token of
+ * the lease. Acquiring sets the key only if absent and takes the next fencing
+ * token from {@code scheduler:lock:fence}, one counter shared by all locks.
+ * Renewal and release are compare-and-act scripts on the owner token, so an
+ * instance can never extend or delete a lock another instance holds. Held
+ * leases are renewed every {@code scheduler.lock-renew-interval-ms}.
  */
 @Service
 @RequiredArgsConstructor
@@ -24,43 +33,65 @@ import java.time.Duration;
 public class LockService extends LockServiceBase {
 
     private static final String KEY_PREFIX = "scheduler:lock:";
+    private static final String FENCE_KEY = "scheduler:lock:fence";
+    private static final String INSTANCE = ManagementFactory.getRuntimeMXBean().getName();
+
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then
+                return redis.call('INCR', KEYS[2])
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
     private final StringRedisTemplate stringRedisTemplate;
 
-    /**
-     * Attempt to acquire a distributed lock for the given task.
-     *
-     * @param taskName unique task identifier (e.g. "cleanup-users")
-     * @param ttl      maximum expected duration + buffer
-     * @return {@code true} if the lock was acquired, {@code false} if another
-     * instance already holds it
-     */
-    public boolean tryAcquireLock(String taskName, Duration ttl) {
-        String key = KEY_PREFIX + taskName;
-        try {
-            Boolean acquired = stringRedisTemplate.opsForValue().setIfAbsent(key, "locked", ttl);
-            if (Boolean.TRUE.equals(acquired)) {
-                log.debug("Acquired lock for task={} ttl={}", taskName, ttl);
-                return true;
-            }
-            log.debug("Lock already held for task={}", taskName);
-            return false;
-        } catch (Exception ex) {
-            log.warn("Failed to acquire lock for task={}: {}", taskName, ex.getMessage());
-            return false;
+    @Override
+    protected Optional<Lease> acquire(String name, Duration ttl) {
+        String ownerToken = INSTANCE + ":" + UUID.randomUUID();
+        Long fencingToken = stringRedisTemplate.execute(ACQUIRE_SCRIPT, List.of(KEY_PREFIX + name, FENCE_KEY),
+                ownerToken, String.valueOf(ttl.toMillis()));
+        if (fencingToken == null || fencingToken == 0) {
+            log.debug("Lock already held for {}", name);
+            return Optional.empty();
         }
+        log.debug("Acquired lock for {} ttl={} fencingToken={}", name, ttl, fencingToken);
+        return Optional.of(new Lease(this, name, ownerToken, fencingToken, ttl));
     }
 
-    /**
-     * Release the lock for the given task. Safe to call even if the lock was
-     * never acquired or has already expired.
-     */
-    public void releaseLock(String taskName) {
-        String key = KEY_PREFIX + taskName;
-        try {
-            stringRedisTemplate.delete(key);
-            log.debug("Released lock for task={}", taskName);
-        } catch (Exception ex) {
-            log.warn("Failed to release lock for task={}: {}", taskName, ex.getMessage());
+    @Override
+    protected boolean renew(Lease lease) {
+        Long renewed = stringRedisTemplate.execute(RENEW_SCRIPT, List.of(KEY_PREFIX + lease.getName()),
+                lease.getOwnerToken(), String.valueOf(lease.getTtl().toMillis()));
+        return renewed != null && renewed == 1;
+    }
+
+    @Override
+    protected void releaseOwned(Lease lease) {
+        Long deleted = stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(KEY_PREFIX + lease.getName()),
+                lease.getOwnerToken());
+        if (deleted == null || deleted == 0) {
+            log.warn("Lock {} had already expired or changed owner before release", lease.getName());
+        } else {
+            log.debug("Released lock for {}", lease.getName());
         }
     }
+
+    @Scheduled(fixedDelayString = "${scheduler.lock-renew-interval-ms:10000}")
+    public void renewLeases() {
+        renewActiveLeases();
+    }
 }
@@ -1,14 +1,112 @@
 package com.beingadish.AroundU.infrastructure.lock;
 
+import lombok.extern.slf4j.Slf4j;
+
 import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Base abstraction for the distributed lock service, allowing a Redis-backed
  * implementation in production and a no-op variant in tests.
+ * <p>
+ * Locks are {@link Lease leases}: owned by a token, fenced, and renewed by
+ * {@link #renewActiveLeases()} until released, so a task that outruns its TTL
+ * keeps its lock and a task that crashes loses it after one TTL.
+ * {@link #tryAcquireLock}/{@link #releaseLock} keep the per-task form used by
+ * the schedulers on top of the same leases.
  */
+@Slf4j
 public abstract class LockServiceBase {
 
-    public abstract boolean tryAcquireLock(String taskName, Duration ttl);
+    private final Set<Lease> activeLeases = ConcurrentHashMap.newKeySet();
+    private final Map<String, Lease> taskLeases = new ConcurrentHashMap<>();
+
+    /**
+     * Acquires the named lock, or returns empty if another holder has it.
+     */
+    public Optional<Lease> tryAcquireLease(String name, Duration ttl) {
+        Optional<Lease> lease;
+        try {
+            lease = acquire(name, ttl);
+        } catch (Exception ex) {
+            log.warn("Failed to acquire lock {}: {}", name, ex.getMessage());
+            return Optional.empty();
+        }
+        lease.ifPresent(activeLeases::add);
+        return lease;
+    }
+
+    /**
+     * Releases the lease if this instance still owns it. Safe to call more
+     * than once.
+     */
+    public void release(Lease lease) {
+        if (!activeLeases.remove(lease)) {
+            return;
+        }
+        lease.markLost();
+        try {
+            releaseOwned(lease);
+        } catch (Exception ex) {
+            // Expires on its own once renewal stops
+            log.warn("Failed to release lock {}: {}", lease.getName(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Extends every lease this instance holds. A lease found to be owned by
+     * someone else is marked lost; one that cannot be renewed because the
+     * store is unreachable stays held until its TTL runs out.
+     */
+    public void renewActiveLeases() {
+        for (Lease lease : activeLeases) {
+            long now = System.nanoTime();
+            try {
+                if (renew(lease)) {
+                    lease.renewed(now);
+                } else {
+                    log.warn("Lost lock {} (fencing token {})", lease.getName(), lease.getFencingToken());
+                    lease.markLost();
+                    activeLeases.remove(lease);
+                }
+            } catch (Exception ex) {
+                log.warn("Failed to renew lock {}: {}", lease.getName(), ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Attempt to acquire the lock for a whole task.
+     *
+     * @return {@code true} if acquired, {@code false} if another instance
+     * holds it
+     */
+    public boolean tryAcquireLock(String taskName, Duration ttl) {
+        Optional<Lease> lease = tryAcquireLease(taskName, ttl);
+        lease.ifPresent(held -> taskLeases.put(taskName, held));
+        return lease.isPresent();
+    }
+
+    /**
+     * Release the task lock taken by {@link #tryAcquireLock}. Does nothing if
+     * this instance does not hold it.
+     */
+    public void releaseLock(String taskName) {
+        Lease lease = taskLeases.remove(taskName);
+        if (lease != null) {
+            release(lease);
+        }
+    }
+
+    protected abstract Optional<Lease> acquire(String name, Duration ttl);
+
+    /**
+     * @return {@code false} if the lock is no longer owned by the lease
+     */
+    protected abstract boolean renew(Lease lease);
 
-    public abstract void releaseLock(String taskName);
+    protected abstract void releaseOwned(Lease lease);
 }
@@ -5,6 +5,9 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * No-op lock service used in test profile where Redis is unavailable. Always
@@ -15,14 +18,21 @@ import java.time.Duration;
 @Profile("test")
 public class NoOpLockService extends LockServiceBase {
 
+    private final AtomicLong fencingTokens = new AtomicLong();
+
+    @Override
+    protected Optional<Lease> acquire(String name, Duration ttl) {
+        log.debug("NoOp lock acquired for {}", name);
+        return Optional.of(new Lease(this, name, UUID.randomUUID().toString(), fencingTokens.incrementAndGet(), ttl));
+    }
+
     @Override
-    public boolean tryAcquireLock(String taskName, Duration ttl) {
-        log.debug("NoOp lock acquired for task={}", taskName);
+    protected boolean renew(Lease lease) {
         return true;
     }
 
     @Override
-    public void releaseLock(String taskName) {
-        log.debug("NoOp lock released for task={}", taskName);
+    protected void releaseOwned(Lease lease) {
+        log.debug("NoOp lock released for {}", lease.getName());
     }
 }
@@ -0,0 +1,81 @@
+package com.beingadish.AroundU.infrastructure.lock;
+
+import com.beingadish.AroundU.infrastructure.metrics.SchedulerMetricsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Splits a scheduled task's keyspace into shards that every live instance
+ * works on at once, instead of one instance taking the whole task.
+ * <p>
+ * Each instance walks the shards from a random starting point and processes
+ * those whose lease it wins ({@code {task}:shard:{n}}); shards held elsewhere
+ * are skipped. The task decides what a shard covers, typically
+ * {@code MOD(id, count) = index}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ShardCoordinator {
+
+    private final LockServiceBase lockService;
+    private final SchedulerMetricsService schedulerMetrics;
+
+    /**
+     * One shard of a task, valid while its lease is held.
+     */
+    public record Shard(int index, int count, Lease lease) {
+
+        public boolean isHeld() {
+            return lease.isHeld();
+        }
+    }
+
+    @FunctionalInterface
+    public interface ShardWork {
+
+        void process(Shard shard);
+    }
+
+    /**
+     * Processes every shard of the task this instance can claim. A failing
+     * shard does not stop the others; the first failure is rethrown once all
+     * claimed shards have run.
+     *
+     * @return the number of shards this instance processed
+     */
+    public int runShards(String taskName, int shards, Duration ttl, ShardWork work) {
+        int offset = ThreadLocalRandom.current().nextInt(shards);
+        int processed = 0;
+        RuntimeException failure = null;
+        for (int i = 0; i < shards; i++) {
+            int index = (offset + i) % shards;
+            Optional<Lease> lease = lockService.tryAcquireLease(taskName + ":shard:" + index, ttl);
+            if (lease.isEmpty()) {
+                schedulerMetrics.recordShard(taskName, "skipped");
+                continue;
+            }
+            try (Lease held = lease.get()) {
+                work.process(new Shard(index, shards, held));
+                processed++;
+                schedulerMetrics.recordShard(taskName, "processed");
+            } catch (RuntimeException ex) {
+                log.error("Shard {}/{} of {} failed", index, shards, taskName, ex);
+                schedulerMetrics.recordShard(taskName, "failed");
+                if (failure == null) {
+                    failure = ex;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        log.debug("Processed {} of {} shards of {}", processed, shards, taskName);
+        return processed;
+    }
+}
@@ -1,11 +1,14 @@
 package com.beingadish.AroundU.infrastructure.metrics;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import lombok.Getter;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
@@ -22,6 +25,7 @@ import java.util.concurrent.atomic.AtomicReference;
 public class SchedulerMetricsService {
 
     private final MeterRegistry registry;
+    private final Clock clock;
 
     /**
      * Last successful execution instant per task name.
@@ -33,8 +37,15 @@ public class SchedulerMetricsService {
      */
     private final Map<String, AtomicReference<Long>> lastDurations = new ConcurrentHashMap<>();
 
-    public SchedulerMetricsService(MeterRegistry registry) {
+    /**
+     * When each batch job last worked through everything due, backing the
+     * lag gauge.
+     */
+    private final Map<String, AtomicReference<Instant>> caughtUpTimes = new ConcurrentHashMap<>();
+
+    public SchedulerMetricsService(MeterRegistry registry, Clock clock) {
         this.registry = registry;
+        this.clock = clock;
     }
 
     // ── Recording helpers ────────────────────────────────────────────────
@@ -46,7 +57,7 @@ public class SchedulerMetricsService {
         timer(taskName).record(Duration.ofMillis(durationMs));
         lastExecutionTimes
                 .computeIfAbsent(taskName, k -> new AtomicReference<>())
-                .set(Instant.now());
+                .set(clock.instant());
         lastDurations
                 .computeIfAbsent(taskName, k -> new AtomicReference<>())
                 .set(durationMs);
@@ -60,6 +71,66 @@ public class SchedulerMetricsService {
         timer(taskName).record(Duration.ofMillis(durationMs));
     }
 
+    /**
+     * Record one chunk of a task that works through its rows in batches.
+     */
+    public void recordChunk(String taskName, int rows, long durationNanos) {
+        DistributionSummary.builder("aroundu.scheduler.chunk.size")
+                .tag("task", taskName)
+                .description("Rows handled per chunk of " + taskName)
+                .register(registry)
+                .record(rows);
+        Timer.builder("aroundu.scheduler.chunk.duration")
+                .tag("task", taskName)
+                .description("Duration of one chunk of " + taskName)
+                .register(registry)
+                .record(Duration.ofNanos(durationNanos));
+    }
+
+    /**
+     * Record one run of a chunked batch job: rows changed, rows per second,
+     * and when the job was last caught up. The lag gauge reports the time
+     * since then, so it grows while a backlog is left over between runs.
+     */
+    public void recordBatchRun(String taskName, long items, long durationNanos, Instant caughtUpAt) {
+        Counter.builder("aroundu.scheduler.batch.items")
+                .tag("task", taskName)
+                .description("Rows changed by " + taskName)
+                .register(registry)
+                .increment(items);
+        if (items > 0 && durationNanos > 0) {
+            DistributionSummary.builder("aroundu.scheduler.batch.throughput")
+                    .tag("task", taskName)
+                    .baseUnit("items/s")
+                    .description("Rows changed per second by one run of " + taskName)
+                    .register(registry)
+                    .record(items * 1_000_000_000.0 / durationNanos);
+        }
+        caughtUpTimes.computeIfAbsent(taskName, task -> {
+            AtomicReference<Instant> ref = new AtomicReference<>();
+            Gauge.builder("aroundu.scheduler.batch.lag", ref, this::secondsSince)
+                    .tag("task", task)
+                    .baseUnit("seconds")
+                    .description("Time since " + task + " last had nothing left to process")
+                    .register(registry);
+            return ref;
+        }).set(caughtUpAt);
+    }
+
+    /**
+     * Record the outcome of one shard of a sharded task on this instance:
+     * {@code processed}, {@code skipped} (held by another instance) or
+     * {@code failed}.
+     */
+    public void recordShard(String taskName, String outcome) {
+        Counter.builder("aroundu.scheduler.shards")
+                .tag("task", taskName)
+                .tag("outcome", outcome)
+                .description("Shards of " + taskName + " by outcome on this instance")
+                .register(registry)
+                .increment();
+    }
+
     // ── Query helpers ────────────────────────────────────────────────────
     public Instant getLastExecutionTime(String taskName) {
         AtomicReference<Instant> ref = lastExecutionTimes.get(taskName);
@@ -72,6 +143,11 @@ public class SchedulerMetricsService {
     }
 
     // ── Internal meter factories ─────────────────────────────────────────
+    private double secondsSince(AtomicReference<Instant> ref) {
+        Instant since = ref.get();
+        return since != null ? Duration.between(since, clock.instant()).toMillis() / 1000.0 : Double.NaN;
+    }
+
     private Counter successCounter(String taskName) {
         return Counter.builder("aroundu.scheduler.success")
                 .tag("task", taskName)
@@ -0,0 +1,252 @@
+package com.beingadish.AroundU.infrastructure.ratelimit;
+
+import com.beingadish.AroundU.infrastructure.config.HybridRateLimitProperties;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.distributed.BucketProxy;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets shared through Redis, with per-instance leases so that most
+ * checks never leave the JVM.
+ * <p>
+ * For limits large enough to split ({@code capacity × lease-fraction ≥
+ * min-lease-tokens}) each instance consumes a batch of tokens from the shared
+ * bucket in the background and hands them out with a CAS. Leased tokens have
+ * already been taken from Redis, so the aggregate across instances cannot
+ * exceed the limit, except for a bounded credit
+ * ({@code capacity × over-admission}) that an instance may admit while a lease
+ * is in flight; that credit is charged to the shared bucket when the lease
+ * lands, so any overshoot is repaid by later rejections.
+ * <p>
+ * When the local batch is gone and no credit is available the check falls
+ * back to the exact Redis round trip, which is also the only place a request
+ * is rejected, so {@code Retry-After} comes from the authoritative bucket.
+ * A rejected key is then refused locally until that wait has passed, so a
+ * throttled client does not cost a round trip per request. Small limits (login, job creation) always take that path.
+ */
+@Component
+@Slf4j
+public class HybridRateLimiter {
+
+    private final ProxyManager<String> proxyManager;
+    private final HybridRateLimitProperties properties;
+    private final Executor leaseExecutor;
+    private final Map<String, LocalBucket> buckets = new ConcurrentHashMap<>();
+
+    private final Counter localDecisions;
+    private final Counter remoteDecisions;
+    private final Counter leasedTokens;
+    private final Counter returnedTokens;
+    private final Counter overAdmitted;
+
+    public HybridRateLimiter(ProxyManager<String> proxyManager,
+                             HybridRateLimitProperties properties,
+                             @Qualifier("virtualThreadExecutor") Executor leaseExecutor,
+                             MeterRegistry registry) {
+        this.proxyManager = proxyManager;
+        this.properties = properties;
+        this.leaseExecutor = leaseExecutor;
+        this.localDecisions = decisionCounter(registry, "local");
+        this.remoteDecisions = decisionCounter(registry, "remote");
+        this.leasedTokens = Counter.builder("aroundu.ratelimit.lease.tokens")
+                .description("Tokens leased from shared buckets")
+                .register(registry);
+        this.returnedTokens = Counter.builder("aroundu.ratelimit.lease.returned")
+                .description("Leased tokens handed back to shared buckets unused")
+                .register(registry);
+        this.overAdmitted = Counter.builder("aroundu.ratelimit.over.admitted")
+                .description("Requests admitted on credit that the shared bucket could not cover")
+                .register(registry);
+        Gauge.builder("aroundu.ratelimit.local.buckets", buckets, Map::size)
+                .description("Rate-limit buckets with local lease state")
+                .register(registry);
+    }
+
+    /**
+     * Takes one token for {@code key}. Rejections carry the wait reported by
+     * the shared bucket.
+     */
+    public ConsumptionProbe tryAcquire(String key, RateLimit rateLimit) {
+        int batch = leaseBatch(rateLimit);
+        if (!properties.isEnabled() || batch < properties.getMinLeaseTokens()) {
+            return exact(remoteBucket(key, rateLimit), null);
+        }
+        LocalBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= properties.getMaxLocalBuckets()) {
+                return exact(remoteBucket(key, rateLimit), null);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new LocalBucket(remoteBucket(k, rateLimit), batch,
+                    (long) Math.floor(rateLimit.capacity() * properties.getOverAdmission())));
+        }
+        bucket.lastUsedNanos = System.nanoTime();
+
+        long floor = bucket.remoteDry ? 0 : -bucket.maxCredit;
+        for (long tokens = bucket.tokens.get(); tokens > floor; tokens = bucket.tokens.get()) {
+            if (bucket.tokens.compareAndSet(tokens, tokens - 1)) {
+                localDecisions.increment();
+                if (tokens - 1 <= batch / 2) {
+                    lease(bucket);
+                }
+                return ConsumptionProbe.consumed(Math.max(0, tokens - 1), 0);
+            }
+        }
+        // The shared bucket said no recently; it will not have refilled before this
+        long blockedFor = bucket.blockedUntilNanos - System.nanoTime();
+        if (blockedFor > 0) {
+            localDecisions.increment();
+            return ConsumptionProbe.rejected(0, blockedFor, blockedFor);
+        }
+        return exact(bucket.remote, bucket);
+    }
+
+    /**
+     * Hands unused leases back to their shared buckets and forgets idle keys.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.hybrid.sweep-interval-ms:5000}")
+    public void sweep() {
+        long idleBefore = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(properties.getLeaseTtlMs());
+        buckets.forEach((key, bucket) -> {
+            if (bucket.lastUsedNanos - idleBefore <= 0 && !bucket.leasing.get() && buckets.remove(key, bucket)) {
+                settle(key, bucket);
+            }
+        });
+    }
+
+    private ConsumptionProbe exact(BucketProxy remote, LocalBucket bucket) {
+        remoteDecisions.increment();
+        ConsumptionProbe probe = remote.tryConsumeAndReturnRemaining(1);
+        if (bucket != null) {
+            if (!probe.isConsumed()) {
+                bucket.blockedUntilNanos = System.nanoTime() + probe.getNanosToWaitForRefill();
+            }
+            bucket.remoteDry = !probe.isConsumed() || probe.getRemainingTokens() == 0;
+            if (!bucket.remoteDry) {
+                lease(bucket);
+            }
+        }
+        return probe;
+    }
+
+    private void lease(LocalBucket bucket) {
+        if (!bucket.leasing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            leaseExecutor.execute(() -> {
+                try {
+                    long granted = bucket.remote.tryConsumeAsMuchAsPossible(bucket.batch);
+                    leasedTokens.increment(granted);
+                    bucket.remoteDry = granted < bucket.batch;
+                    if (bucket.tokens.addAndGet(granted) < 0) {
+                        chargeCredit(bucket);
+                    }
+                } catch (RuntimeException ex) {
+                    // Stop lending until the exact path succeeds again
+                    bucket.remoteDry = true;
+                    log.warn("Rate-limit lease failed: {}", ex.getMessage());
+                } finally {
+                    bucket.leasing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            bucket.leasing.set(false);
+        }
+    }
+
+    /**
+     * Credit the shared bucket could not cover is consumed regardless of its
+     * limit, driving it negative so the next requests wait it out.
+     */
+    private void chargeCredit(LocalBucket bucket) {
+        long owed = -Math.min(0, bucket.tokens.getAndUpdate(t -> Math.max(t, 0)));
+        if (owed > 0) {
+            if (bucket.remoteDry) {
+                overAdmitted.increment(owed);
+            }
+            bucket.remote.consumeIgnoringRateLimits(owed);
+        }
+    }
+
+    private void settle(String key, LocalBucket bucket) {
+        // A request that fetched the bucket just before removal can still take
+        // one token from it; stop it from borrowing on top of that
+        bucket.remoteDry = true;
+        long unused = bucket.tokens.getAndSet(0);
+        try {
+            if (unused > 0) {
+                bucket.remote.addTokens(unused);
+                returnedTokens.increment(unused);
+            } else if (unused < 0) {
+                overAdmitted.increment(-unused);
+                bucket.remote.consumeIgnoringRateLimits(-unused);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Failed to settle rate-limit lease for {}: {}", key, ex.getMessage());
+        }
+    }
+
+    private int leaseBatch(RateLimit rateLimit) {
+        return (int) Math.floor(rateLimit.capacity() * properties.getLeaseFraction());
+    }
+
+    private BucketProxy remoteBucket(String key, RateLimit rateLimit) {
+        return proxyManager.builder().build(key, () -> buildConfiguration(rateLimit));
+    }
+
+    private static BucketConfiguration buildConfiguration(RateLimit rateLimit) {
+        return BucketConfiguration.builder()
+                .addLimit(Bandwidth.builder()
+                        .capacity(rateLimit.capacity())
+                        .refillGreedy(rateLimit.refillTokens(), Duration.ofMinutes(rateLimit.refillMinutes()))
+                        .build())
+                .build();
+    }
+
+    private static Counter decisionCounter(MeterRegistry registry, String path) {
+        return Counter.builder("aroundu.ratelimit.decisions")
+                .tag("path", path)
+                .description("Rate-limit checks by where they were decided")
+                .register(registry);
+    }
+
+    /**
+     * Per-key lease state. {@code tokens} goes negative by at most
+     * {@code maxCredit} while a lease is outstanding.
+     */
+    private static final class LocalBucket {
+
+        private final BucketProxy remote;
+        private final int batch;
+        private final long maxCredit;
+        private final AtomicLong tokens = new AtomicLong();
+        private final AtomicBoolean leasing = new AtomicBoolean();
+        private volatile boolean remoteDry = true;
+        private volatile long blockedUntilNanos;
+        private volatile long lastUsedNanos = System.nanoTime();
+
+        private LocalBucket(BucketProxy remote, int batch, long maxCredit) {
+            this.remote = remote;
+            this.batch = batch;
+            this.maxCredit = maxCredit;
+        }
+    }
+}
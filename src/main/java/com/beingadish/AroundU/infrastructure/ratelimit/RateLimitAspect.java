@@ -2,10 +2,7 @@ package com.beingadish.AroundU.infrastructure.ratelimit;
 
 import com.beingadish.AroundU.common.exception.RateLimitExceededException;
 import com.beingadish.AroundU.infrastructure.security.UserPrincipal;
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.BucketConfiguration;
 import io.github.bucket4j.ConsumptionProbe;
-import io.github.bucket4j.distributed.proxy.ProxyManager;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -21,7 +18,6 @@ import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.time.Duration;
-import java.util.function.Supplier;
 
 /**
  * AOP aspect that enforces per-user rate limiting on methods annotated with
@@ -32,7 +28,8 @@ import java.util.function.Supplier;
  * <li>Extracts user identity (userId or IP for anonymous requests)</li>
  * <li>Resolves or creates a token bucket in Redis keyed by
  * {@code rate-limit:{method}:{identity}}</li>
- * <li>Attempts to consume one token</li>
+ * <li>Attempts to consume one token through {@link HybridRateLimiter}, which
+ * usually answers from a locally leased batch</li>
  * <li>If successful, proceeds with the target method</li>
  * <li>If tokens exhausted, throws {@link RateLimitExceededException} with
  * retry-after metadata</li>
@@ -44,13 +41,13 @@ import java.util.function.Supplier;
 @Slf4j
 public class RateLimitAspect {
 
-    private final ProxyManager<String> proxyManager;
+    private final HybridRateLimiter rateLimiter;
     private final boolean enabled;
 
     public RateLimitAspect(
-            ProxyManager<String> proxyManager,
+            HybridRateLimiter rateLimiter,
             @Value("${rate-limit.enabled}") boolean enabled) {
-        this.proxyManager = proxyManager;
+        this.rateLimiter = rateLimiter;
         this.enabled = enabled;
     }
 
@@ -72,12 +69,7 @@ public class RateLimitAspect {
         String methodKey = resolveMethodKey(joinPoint);
         String bucketKey = "rate-limit:" + methodKey + ":" + identity;
 
-        Supplier<BucketConfiguration> configSupplier = () -> buildConfiguration(rateLimit);
-
-        ConsumptionProbe probe = proxyManager
-                .builder()
-                .build(bucketKey, configSupplier)
-                .tryConsumeAndReturnRemaining(1);
+        ConsumptionProbe probe = rateLimiter.tryAcquire(bucketKey, rateLimit);
 
         if (probe.isConsumed()) {
             log.debug("Rate limit OK: key={}, remaining={}", bucketKey, probe.getRemainingTokens());
@@ -122,13 +114,4 @@ public class RateLimitAspect {
         MethodSignature sig = (MethodSignature) joinPoint.getSignature();
         return sig.getDeclaringType().getSimpleName() + "." + sig.getName();
     }
-
-    private BucketConfiguration buildConfiguration(RateLimit rateLimit) {
-        return BucketConfiguration.builder()
-                .addLimit(Bandwidth.builder()
-                        .capacity(rateLimit.capacity())
-                        .refillGreedy(rateLimit.refillTokens(), Duration.ofMinutes(rateLimit.refillMinutes()))
-                        .build())
-                .build();
-    }
 }
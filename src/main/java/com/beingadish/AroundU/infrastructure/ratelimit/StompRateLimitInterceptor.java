@@ -0,0 +1,180 @@
+package com.beingadish.AroundU.infrastructure.ratelimit;
+
+import com.beingadish.AroundU.infrastructure.config.WebSocketProperties;
+import com.beingadish.AroundU.infrastructure.config.WebSocketProperties.DestinationLimit;
+import com.beingadish.AroundU.infrastructure.config.WebSocketProperties.Limit;
+import com.beingadish.AroundU.infrastructure.config.WebSocketProperties.RejectMode;
+import com.beingadish.AroundU.infrastructure.security.UserPrincipal;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inbound channel interceptor that applies token-bucket budgets to STOMP
+ * {@code SEND} frames before they reach any {@code @MessageMapping} handler.
+ * <p>
+ * Every frame consumes one token from the sender's session-wide bucket and,
+ * if its destination matches a configured prefix, one token from that
+ * destination's bucket. Buckets are keyed by user id for authenticated
+ * sessions and by session id otherwise, and live in memory so the check costs
+ * no I/O. With {@code websocket.rate-limit.distributed=true} an admitted
+ * frame additionally consumes from the shared Redis bucket used by
+ * {@link RateLimitAspect}.
+ * <p>
+ * A rejected frame is dropped, or answered with a STOMP ERROR frame (which
+ * closes the session) depending on {@link RejectMode}. Either way the
+ * application handlers — and therefore the database — are never invoked.
+ */
+@Component
+@Slf4j
+public class StompRateLimitInterceptor implements ChannelInterceptor {
+
+    private static final String SESSION_SCOPE = "*";
+
+    private final WebSocketProperties properties;
+    private final ObjectProvider<ProxyManager<String>> proxyManagerProvider;
+    private final MessageChannel clientOutboundChannel;
+    private final MeterRegistry registry;
+
+    private final Map<String, LocalBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejectedCounters = new ConcurrentHashMap<>();
+
+    public StompRateLimitInterceptor(
+            WebSocketProperties properties,
+            ObjectProvider<ProxyManager<String>> proxyManagerProvider,
+            @Lazy @Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel,
+            MeterRegistry registry) {
+        this.properties = properties;
+        this.proxyManagerProvider = proxyManagerProvider;
+        this.clientOutboundChannel = clientOutboundChannel;
+        this.registry = registry;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        WebSocketProperties.RateLimit config = properties.getRateLimit();
+        if (!config.isEnabled()) {
+            return message;
+        }
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || !StompCommand.SEND.equals(accessor.getCommand()) || accessor.getDestination() == null) {
+            return message;
+        }
+
+        String destination = accessor.getDestination();
+        String identity = resolveIdentity(accessor);
+
+        if (!tryConsume(identity, SESSION_SCOPE, config.getSession())) {
+            return reject(accessor, identity, "session");
+        }
+        DestinationLimit rule = match(config, destination);
+        if (rule != null && !tryConsume(identity, rule.getDestinationPrefix(), rule)) {
+            return reject(accessor, identity, rule.getDestinationPrefix());
+        }
+        if (config.isDistributed() && !tryConsumeDistributed(identity, rule, config.getSession())) {
+            return reject(accessor, identity, "distributed");
+        }
+        return message;
+    }
+
+    /**
+     * A bucket that has refilled to capacity is indistinguishable from a new
+     * one, so it can be dropped without changing anyone's budget.
+     */
+    @Scheduled(fixedDelayString = "${websocket.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        buckets.values().removeIf(b -> b.bucket().getAvailableTokens() >= b.capacity());
+    }
+
+    // ── Internals ────────────────────────────────────────────────────────
+    private boolean tryConsume(String identity, String scope, Limit limit) {
+        LocalBucket entry = buckets.computeIfAbsent(identity + "|" + scope, k -> new LocalBucket(
+                Bucket.builder().addLimit(bandwidth(limit)).build(), limit.getCapacity()));
+        return entry.bucket().tryConsume(1);
+    }
+
+    private boolean tryConsumeDistributed(String identity, DestinationLimit rule, Limit sessionLimit) {
+        ProxyManager<String> proxyManager = proxyManagerProvider.getIfAvailable();
+        if (proxyManager == null) {
+            return true;
+        }
+        Limit limit = rule != null ? rule : sessionLimit;
+        String scope = rule != null ? rule.getDestinationPrefix() : SESSION_SCOPE;
+        try {
+            return proxyManager.builder()
+                    .build("ws-rate-limit:" + scope + ":" + identity,
+                            () -> BucketConfiguration.builder().addLimit(bandwidth(limit)).build())
+                    .tryConsume(1);
+        } catch (Exception e) {
+            // Fail open: the local bucket has already bounded this sender
+            log.debug("Distributed STOMP rate limit unavailable: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    private Message<?> reject(StompHeaderAccessor accessor, String identity, String scope) {
+        rejectedCounters.computeIfAbsent(scope, s -> Counter.builder("aroundu.websocket.ratelimit.rejected")
+                .tag("scope", s)
+                .description("Inbound STOMP frames rejected by the rate limiter")
+                .register(registry)).increment();
+        log.debug("STOMP rate limit exceeded: identity={}, destination={}, scope={}",
+                identity, accessor.getDestination(), scope);
+
+        if (properties.getRateLimit().getMode() == RejectMode.ERROR && accessor.getSessionId() != null) {
+            StompHeaderAccessor error = StompHeaderAccessor.create(StompCommand.ERROR);
+            error.setSessionId(accessor.getSessionId());
+            error.setMessage("Rate limit exceeded for " + accessor.getDestination());
+            clientOutboundChannel.send(MessageBuilder.createMessage(new byte[0], error.getMessageHeaders()));
+        }
+        return null;
+    }
+
+    private DestinationLimit match(WebSocketProperties.RateLimit config, String destination) {
+        for (DestinationLimit rule : config.getDestinations()) {
+            if (destination.startsWith(rule.getDestinationPrefix())) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private String resolveIdentity(StompHeaderAccessor accessor) {
+        if (accessor.getUser() instanceof Authentication auth
+                && auth.getPrincipal() instanceof UserPrincipal principal) {
+            return "user:" + principal.getId();
+        }
+        return "session:" + accessor.getSessionId();
+    }
+
+    private Bandwidth bandwidth(Limit limit) {
+        return Bandwidth.builder()
+                .capacity(limit.getCapacity())
+                .refillGreedy(limit.getRefillTokens(), Duration.ofMillis(limit.getRefillPeriodMs()))
+                .build();
+    }
+
+    private record LocalBucket(Bucket bucket, long capacity) {
+
+    }
+}
@@ -1,15 +1,13 @@
 package com.beingadish.AroundU.infrastructure.scheduler;
 
-import com.beingadish.AroundU.bid.repository.BidRepository;
-import com.beingadish.AroundU.common.constants.enums.JobStatus;
-import com.beingadish.AroundU.common.constants.enums.PaymentStatus;
 import com.beingadish.AroundU.infrastructure.analytics.entity.AggregatedMetrics;
+import com.beingadish.AroundU.infrastructure.analytics.model.RollupTotals;
 import com.beingadish.AroundU.infrastructure.analytics.repository.AggregatedMetricsRepository;
+import com.beingadish.AroundU.infrastructure.analytics.repository.HourlyMetricsRepository;
+import com.beingadish.AroundU.infrastructure.analytics.service.MetricsBackfillService;
 import com.beingadish.AroundU.infrastructure.config.SchedulerProperties;
 import com.beingadish.AroundU.infrastructure.lock.LockServiceBase;
 import com.beingadish.AroundU.infrastructure.metrics.SchedulerMetricsService;
-import com.beingadish.AroundU.job.repository.JobRepository;
-import com.beingadish.AroundU.payment.repository.PaymentTransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
@@ -24,6 +22,11 @@ import java.util.Optional;
  * {@code aggregated_metrics} table. Calculates week-over-week and
  * month-over-month growth trends.
  * <p>
+ * The day is summed from its hourly rollups
+ * ({@link com.beingadish.AroundU.infrastructure.analytics.service.MetricsRollupService}),
+ * so the cost does not grow with the source tables. A day without any
+ * rollup rows is backfilled first.
+ * <p>
  * Default schedule: daily at 03:00 AM.
  */
 @Component
@@ -36,9 +39,8 @@ public class AnalyticsScheduler {
     private static final Duration LOCK_TTL = Duration.ofHours(1).plusMinutes(1);
 
     private final LockServiceBase lockService;
-    private final JobRepository jobRepository;
-    private final BidRepository bidRepository;
-    private final PaymentTransactionRepository paymentRepository;
+    private final HourlyMetricsRepository hourlyMetricsRepository;
+    private final MetricsBackfillService backfillService;
     private final AggregatedMetricsRepository metricsRepository;
     private final SchedulerProperties schedulerProperties;
     private final SchedulerMetricsService schedulerMetrics;
@@ -67,15 +69,17 @@ public class AnalyticsScheduler {
             }
 
             LocalDateTime dayStart = yesterday.atStartOfDay();
-            LocalDateTime dayEnd = yesterday.atTime(LocalTime.MAX);
+            LocalDateTime dayEnd = dayStart.plusDays(1);
+            if (!hourlyMetricsRepository.existsByBucketStartGreaterThanEqualAndBucketStartLessThan(dayStart, dayEnd)) {
+                backfillService.backfillDay(yesterday);
+            }
 
             // ── Raw counts ───────────────────────────────────────────────
-            long jobsCreated = jobRepository.countByCreatedAtBetween(dayStart, dayEnd);
-            long bidsPlaced = bidRepository.countByCreatedAtBetween(dayStart, dayEnd);
-            long jobsCompleted = jobRepository.countByJobStatusAndCreatedAtBetween(
-                    JobStatus.COMPLETED, dayStart, dayEnd);
-            double revenue = paymentRepository.sumAmountByStatusAndCreatedAtBetween(
-                    PaymentStatus.RELEASED, dayStart, dayEnd);
+            RollupTotals totals = hourlyMetricsRepository.sumBetween(dayStart, dayEnd);
+            long jobsCreated = totals.jobsCreated();
+            long bidsPlaced = totals.bidsPlaced();
+            long jobsCompleted = totals.jobsCompleted();
+            double revenue = totals.revenueTotal();
             double avgBid = jobsCreated > 0 ? (double) bidsPlaced / jobsCreated : 0.0;
 
             // ── Trends ───────────────────────────────────────────────────
@@ -2,7 +2,7 @@ package com.beingadish.AroundU.infrastructure.scheduler;
 
 import com.beingadish.AroundU.common.constants.enums.JobStatus;
 import com.beingadish.AroundU.infrastructure.config.SchedulerProperties;
-import com.beingadish.AroundU.infrastructure.lock.LockServiceBase;
+import com.beingadish.AroundU.infrastructure.lock.ShardCoordinator;
 import com.beingadish.AroundU.infrastructure.metrics.SchedulerMetricsService;
 import com.beingadish.AroundU.job.entity.Job;
 import com.beingadish.AroundU.job.repository.JobRepository;
@@ -15,8 +15,9 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -25,6 +26,12 @@ import java.util.stream.Collectors;
  * truth. Adds any OPEN_FOR_BIDS jobs missing from Redis and removes stale
  * entries that no longer qualify.
  * <p>
+ * The job id space is split into {@code scheduler.cache-sync-shards} shards
+ * through {@link ShardCoordinator}, so live instances reconcile different
+ * shards at the same time. An instance reads the geo-index once per run,
+ * when it claims its first shard, and compares each shard it claims against
+ * that shard's open jobs.
+ * <p>
  * Default schedule: every 30 minutes.
  */
 @Component
@@ -34,9 +41,9 @@ import java.util.stream.Collectors;
 public class CacheSyncScheduler {
 
     private static final String TASK_NAME = "cache-sync";
-    private static final Duration LOCK_TTL = Duration.ofMinutes(15).plusMinutes(1);
+    private static final Duration LOCK_TTL = Duration.ofMinutes(2);
 
-    private final LockServiceBase lockService;
+    private final ShardCoordinator shardCoordinator;
     private final JobRepository jobRepository;
     private final JobGeoService jobGeoService;
     private final SchedulerProperties schedulerProperties;
@@ -47,66 +54,78 @@ public class CacheSyncScheduler {
         if (!schedulerProperties.isEnabled()) {
             return;
         }
-        if (!lockService.tryAcquireLock(TASK_NAME, LOCK_TTL)) {
-            log.debug("Another instance is running {}", TASK_NAME);
-            return;
-        }
 
         long start = System.currentTimeMillis();
         try {
-            // 1. Current state in Redis
-            Set<String> geoMembers = jobGeoService.getAllGeoMembers();
-            Set<Long> redisJobIds = geoMembers.stream()
-                    .map(s -> {
-                        try {
-                            return Long.valueOf(s);
-                        } catch (NumberFormatException e) {
-                            return null;
-                        }
-                    })
-                    .filter(id -> id != null)
+            Sync sync = new Sync();
+            int shards = shardCoordinator.runShards(TASK_NAME, schedulerProperties.getCacheSyncShards(), LOCK_TTL,
+                    shard -> sync.reconcile(shard.count(), shard.index()));
+            if (shards == 0) {
+                log.debug("All shards of {} are held by other instances", TASK_NAME);
+                return;
+            }
+
+            long durationMs = System.currentTimeMillis() - start;
+            log.info("Cache sync: added {} missing, removed {} stale in {} shards ({}ms)",
+                    sync.added, sync.removed, shards, durationMs);
+            schedulerMetrics.recordSuccess(TASK_NAME, durationMs);
+        } catch (Exception ex) {
+            long durationMs = System.currentTimeMillis() - start;
+            log.error("Cache sync failed after {}ms", durationMs, ex);
+            schedulerMetrics.recordFailure(TASK_NAME, durationMs);
+        }
+    }
+
+    /**
+     * State of one run on this instance.
+     */
+    private final class Sync {
+
+        private Set<Long> redisJobIds;
+        private int added;
+        private int removed;
+
+        void reconcile(int shards, int shard) {
+            // 1. Current state in Redis, read once per run
+            if (redisJobIds == null) {
+                redisJobIds = jobGeoService.getAllGeoMembers().stream()
+                        .map(member -> {
+                            try {
+                                return Long.valueOf(member);
+                            } catch (NumberFormatException e) {
+                                return null;
+                            }
+                        })
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet());
+            }
+            Set<Long> inShard = redisJobIds.stream()
+                    .filter(id -> Math.floorMod(id, shards) == shard)
                     .collect(Collectors.toSet());
 
             // 2. Source of truth in PostgreSQL
-            List<Long> openIds = jobRepository.findIdsByJobStatus(JobStatus.OPEN_FOR_BIDS);
-            Set<Long> pgJobIds = Set.copyOf(openIds);
+            Set<Long> pgJobIds = new HashSet<>(
+                    jobRepository.findIdsByJobStatusInShard(JobStatus.OPEN_FOR_BIDS, shards, shard));
 
-            // 3. Missing in Redis → add them
-            int added = 0;
-            for (Long pgId : pgJobIds) {
-                if (!redisJobIds.contains(pgId)) {
-                    Optional<Job> jobOpt = jobRepository.findById(pgId);
-                    if (jobOpt.isPresent()) {
-                        Job job = jobOpt.get();
-                        Address loc = job.getJobLocation();
-                        if (loc != null && loc.getLatitude() != null && loc.getLongitude() != null) {
-                            jobGeoService.addOrUpdateOpenJob(job.getId(),
-                                    loc.getLatitude(), loc.getLongitude());
-                            added++;
-                        }
+            // 3. Missing in Redis → add them, loading the jobs in one query
+            List<Long> missing = pgJobIds.stream().filter(id -> !inShard.contains(id)).toList();
+            if (!missing.isEmpty()) {
+                for (Job job : jobRepository.findAllById(missing)) {
+                    Address loc = job.getJobLocation();
+                    if (loc != null && loc.getLatitude() != null && loc.getLongitude() != null) {
+                        jobGeoService.addOrUpdateOpenJob(job.getId(), loc.getLatitude(), loc.getLongitude());
+                        added++;
                     }
                 }
             }
 
             // 4. Stale in Redis → remove them
-            int removed = 0;
-            for (Long redisId : redisJobIds) {
+            for (Long redisId : inShard) {
                 if (!pgJobIds.contains(redisId)) {
                     jobGeoService.removeOpenJob(redisId);
                     removed++;
                 }
             }
-
-            long durationMs = System.currentTimeMillis() - start;
-            log.info("Cache sync: added {} missing, removed {} stale ({}ms)",
-                    added, removed, durationMs);
-            schedulerMetrics.recordSuccess(TASK_NAME, durationMs);
-        } catch (Exception ex) {
-            long durationMs = System.currentTimeMillis() - start;
-            log.error("Cache sync failed after {}ms", durationMs, ex);
-            schedulerMetrics.recordFailure(TASK_NAME, durationMs);
-        } finally {
-            lockService.releaseLock(TASK_NAME);
         }
     }
 }
@@ -0,0 +1,67 @@
+package com.beingadish.AroundU.infrastructure.scheduler;
+
+import com.beingadish.AroundU.infrastructure.config.SchedulerProperties;
+import com.beingadish.AroundU.infrastructure.events.service.DomainEventRelay;
+import com.beingadish.AroundU.infrastructure.metrics.SchedulerMetricsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Relays the domain event outbox to its consumers. Runs on every instance
+ * without a task lock: each consumer's offset row is locked while a batch is
+ * handled, so instances share the consumers between them.
+ * <p>
+ * Default schedule: every 500 ms ({@code events.relay-interval-ms}); events
+ * read by every consumer are purged daily.
+ */
+@Component
+@Profile("!test")
+@RequiredArgsConstructor
+@Slf4j
+public class DomainEventRelayScheduler {
+
+    private static final String TASK_NAME = "domain-event-relay";
+    private static final String PURGE_TASK_NAME = "domain-event-purge";
+
+    private final DomainEventRelay relay;
+    private final SchedulerProperties schedulerProperties;
+    private final SchedulerMetricsService schedulerMetrics;
+
+    @Scheduled(fixedDelayString = "${events.relay-interval-ms:500}")
+    public void relay() {
+        if (!schedulerProperties.isEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            int delivered = relay.relayAll();
+            if (delivered > 0) {
+                log.debug("Relayed {} domain events", delivered);
+            }
+            schedulerMetrics.recordSuccess(TASK_NAME, System.currentTimeMillis() - start);
+        } catch (Exception ex) {
+            long durationMs = System.currentTimeMillis() - start;
+            log.error("Domain event relay failed after {}ms", durationMs, ex);
+            schedulerMetrics.recordFailure(TASK_NAME, durationMs);
+        }
+    }
+
+    @Scheduled(cron = "${events.purge-cron:0 45 4 * * ?}")
+    public void purgeRead() {
+        if (!schedulerProperties.isEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            relay.purgeRead();
+            schedulerMetrics.recordSuccess(PURGE_TASK_NAME, System.currentTimeMillis() - start);
+        } catch (Exception ex) {
+            long durationMs = System.currentTimeMillis() - start;
+            log.error("Domain event purge failed after {}ms", durationMs, ex);
+            schedulerMetrics.recordFailure(PURGE_TASK_NAME, durationMs);
+        }
+    }
+}
@@ -3,28 +3,70 @@ package com.beingadish.AroundU.infrastructure.scheduler;
 import com.beingadish.AroundU.common.constants.enums.JobStatus;
 import com.beingadish.AroundU.common.constants.enums.PaymentStatus;
 import com.beingadish.AroundU.infrastructure.config.SchedulerProperties;
+import com.beingadish.AroundU.infrastructure.lock.Lease;
+import com.beingadish.AroundU.infrastructure.lock.LeaseLostException;
 import com.beingadish.AroundU.infrastructure.lock.LockServiceBase;
 import com.beingadish.AroundU.infrastructure.metrics.SchedulerMetricsService;
-import com.beingadish.AroundU.payment.entity.PaymentTransaction;
+import com.beingadish.AroundU.payment.entity.EscrowSettlementCheckpoint;
+import com.beingadish.AroundU.payment.entity.EscrowSettlementRun;
+import com.beingadish.AroundU.payment.event.EscrowReleasedEvent;
+import com.beingadish.AroundU.payment.model.SettledPayment;
+import com.beingadish.AroundU.payment.repository.EscrowSettlementCheckpointRepository;
+import com.beingadish.AroundU.payment.repository.EscrowSettlementRunRepository;
 import com.beingadish.AroundU.payment.repository.PaymentTransactionRepository;
-import lombok.RequiredArgsConstructor;
+import com.beingadish.AroundU.payment.service.PaymentLedgerService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Clock;
 import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.IntStream;
 
 /**
  * End-of-day escrow settlement.
  *
  * <p>
- * Scans for all {@code ESCROW_LOCKED} payment transactions whose associated job
- * is {@code COMPLETED} (release code verified by the worker) and marks them
- * {@code RELEASED}. This represents the system disbursing accumulated escrow
- * funds to workers in a single daily batch.
+ * Releases all {@code ESCROW_LOCKED} payment transactions whose associated job
+ * is {@code COMPLETED} (release code verified by the worker). This represents
+ * the system disbursing accumulated escrow funds to workers in a single daily
+ * batch.
+ *
+ * <p>
+ * Each day's run is an {@link EscrowSettlementRun} split into
+ * {@code scheduler.escrow-settlement-partitions} partitions by payment id.
+ * Partitions are settled in parallel, each under its own lease so instances
+ * share the work, in chunks of {@code scheduler.escrow-settlement-chunk-size}.
+ * Every checkpoint write carries the lease's fencing token and is refused
+ * if a newer holder has already advanced the partition, so an instance that
+ * lost its lease mid-chunk rolls that chunk back instead of double counting.
+ * A chunk's release, its ledger entries and its
+ * {@link EscrowSettlementCheckpoint} commit together, and the release only touches payments still locked, so an
+ * interrupted run resumes where it stopped without paying anyone twice. A
+ * chunk that fails is retried payment by payment; payments that still fail
+ * stay locked for the next day's run instead of holding up the rest.
+ *
+ * <p>
+ * Unfinished runs are resumed every {@code scheduler.escrow-settlement-resume-ms}.
+ * The instance that closes a run logs its report and records the run totals.
  *
  * <p>
  * Default schedule: 18:00 every day, configurable via
@@ -32,7 +74,6 @@ import java.util.List;
  */
 @Component
 @Profile("!test")
-@RequiredArgsConstructor
 @Slf4j
 public class EscrowSettlementScheduler {
 
@@ -41,41 +82,303 @@ public class EscrowSettlementScheduler {
 
     private final LockServiceBase lockService;
     private final PaymentTransactionRepository paymentTransactionRepository;
+    private final PaymentLedgerService ledgerService;
+    private final EscrowSettlementRunRepository runRepository;
+    private final EscrowSettlementCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor settlementExecutor;
+    private final ApplicationEventPublisher eventPublisher;
     private final SchedulerProperties schedulerProperties;
     private final SchedulerMetricsService schedulerMetrics;
+    private final Clock clock;
+
+    private final Counter released;
+    private final Counter releasedAmount;
+    private final Counter failed;
+    private final DistributionSummary runCount;
+    private final DistributionSummary runAmount;
+    private final Timer runDuration;
+
+    public EscrowSettlementScheduler(LockServiceBase lockService,
+                                     PaymentTransactionRepository paymentTransactionRepository,
+                                     PaymentLedgerService ledgerService,
+                                     EscrowSettlementRunRepository runRepository,
+                                     EscrowSettlementCheckpointRepository checkpointRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Qualifier("longRunningExecutor") Executor settlementExecutor,
+                                     ApplicationEventPublisher eventPublisher,
+                                     SchedulerProperties schedulerProperties,
+                                     SchedulerMetricsService schedulerMetrics,
+                                     Clock clock) {
+        this.lockService = lockService;
+        this.paymentTransactionRepository = paymentTransactionRepository;
+        this.ledgerService = ledgerService;
+        this.runRepository = runRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settlementExecutor = settlementExecutor;
+        this.eventPublisher = eventPublisher;
+        this.schedulerProperties = schedulerProperties;
+        this.schedulerMetrics = schedulerMetrics;
+        this.clock = clock;
+
+        MeterRegistry registry = schedulerMetrics.getRegistry();
+        this.released = Counter.builder("aroundu.payments.settlement.released")
+                .description("Escrow payments released by EOD settlement")
+                .register(registry);
+        this.releasedAmount = Counter.builder("aroundu.payments.settlement.amount")
+                .description("Escrow amount released by EOD settlement")
+                .register(registry);
+        this.failed = Counter.builder("aroundu.payments.settlement.failed")
+                .description("Escrow payments left locked after failing to settle")
+                .register(registry);
+        this.runCount = DistributionSummary.builder("aroundu.payments.settlement.run.count")
+                .description("Payments released per settlement run")
+                .register(registry);
+        this.runAmount = DistributionSummary.builder("aroundu.payments.settlement.run.amount")
+                .description("Amount released per settlement run")
+                .register(registry);
+        this.runDuration = Timer.builder("aroundu.payments.settlement.run.duration")
+                .description("Time from a settlement run starting to its last partition finishing")
+                .register(registry);
+    }
 
     @Scheduled(cron = "${scheduler.escrow-settlement-cron:0 0 18 * * ?}")
-    @Transactional
     public void settleEscrowPayments() {
         if (!schedulerProperties.isEnabled()) {
             return;
         }
-        if (!lockService.tryAcquireLock(TASK_NAME, LOCK_TTL)) {
-            log.debug("Another instance is running {}", TASK_NAME);
+        settle(LocalDate.now(clock));
+    }
+
+    /**
+     * Picks up runs left unfinished by a crash or restart.
+     */
+    @Scheduled(fixedDelayString = "${scheduler.escrow-settlement-resume-ms:900000}",
+            initialDelayString = "${scheduler.escrow-settlement-resume-ms:900000}")
+    public void resumeUnfinishedRuns() {
+        if (!schedulerProperties.isEnabled()) {
             return;
         }
+        runRepository.findByCompletedAtIsNullOrderByRunDateAsc()
+                .forEach(run -> settle(run.getRunDate()));
+    }
 
+    /**
+     * Starts or resumes the run for {@code runDate}, settling every partition
+     * no other instance holds.
+     */
+    public void settle(LocalDate runDate) {
         long start = System.currentTimeMillis();
         try {
-            List<PaymentTransaction> pending = paymentTransactionRepository
-                    .findByStatusAndJobJobStatus(PaymentStatus.ESCROW_LOCKED, JobStatus.COMPLETED);
-
-            for (PaymentTransaction tx : pending) {
-                tx.setStatus(PaymentStatus.RELEASED);
-                paymentTransactionRepository.save(tx);
-                log.info("Settled escrow for jobId={} workerId={} amount={}",
-                        tx.getJob().getId(), tx.getWorker().getId(), tx.getAmount());
+            EscrowSettlementRun run = openRun(runDate);
+            if (run.getCompletedAt() != null) {
+                return;
             }
-
-            long durationMs = System.currentTimeMillis() - start;
-            log.info("EOD escrow settlement: released {} payments ({}ms)", pending.size(), durationMs);
-            schedulerMetrics.recordSuccess(TASK_NAME, durationMs);
+            CompletableFuture.allOf(IntStream.range(0, run.getPartitions())
+                    .mapToObj(partition -> CompletableFuture.runAsync(
+                            () -> settlePartition(run, partition), settlementExecutor))
+                    .toArray(CompletableFuture[]::new)).join();
+            complete(run);
+            schedulerMetrics.recordSuccess(TASK_NAME, System.currentTimeMillis() - start);
         } catch (Exception ex) {
             long durationMs = System.currentTimeMillis() - start;
-            log.error("EOD escrow settlement failed after {}ms", durationMs, ex);
+            log.error("EOD escrow settlement for {} failed after {}ms, it will be resumed", runDate, durationMs, ex);
             schedulerMetrics.recordFailure(TASK_NAME, durationMs);
-        } finally {
-            lockService.releaseLock(TASK_NAME);
         }
     }
+
+    private EscrowSettlementRun openRun(LocalDate runDate) {
+        Optional<EscrowSettlementRun> existing = runRepository.findById(runDate);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                int partitions = schedulerProperties.getEscrowSettlementPartitions();
+                EscrowSettlementRun run = runRepository.save(EscrowSettlementRun.builder()
+                        .runDate(runDate)
+                        .partitions(partitions)
+                        .startedAt(LocalDateTime.now(clock))
+                        .build());
+                checkpointRepository.saveAll(IntStream.range(0, partitions)
+                        .mapToObj(partition -> EscrowSettlementCheckpoint.builder()
+                                .runDate(runDate)
+                                .partitionNo(partition)
+                                .build())
+                        .toList());
+                return run;
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // Another instance opened the run first
+            return runRepository.findById(runDate).orElseThrow(() -> ex);
+        }
+    }
+
+    private void settlePartition(EscrowSettlementRun run, int partition) {
+        String lockName = TASK_NAME + ":" + run.getRunDate() + ":" + partition;
+        Optional<Lease> lease = lockService.tryAcquireLease(lockName, LOCK_TTL);
+        if (lease.isEmpty()) {
+            log.debug("Another instance is running {}", lockName);
+            return;
+        }
+        try (Lease held = lease.get()) {
+            EscrowSettlementCheckpoint checkpoint = checkpointRepository
+                    .findByRunDateAndPartitionNo(run.getRunDate(), partition)
+                    .orElseThrow(() -> new IllegalStateException("No checkpoint for " + lockName));
+            int chunkSize = schedulerProperties.getEscrowSettlementChunkSize();
+            while (!checkpoint.isCompleted() && held.isHeld()) {
+                long chunkStart = System.nanoTime();
+                List<Long> ids = paymentTransactionRepository.findSettleableIds(PaymentStatus.ESCROW_LOCKED,
+                        JobStatus.COMPLETED, checkpoint.getLastId(), run.getPartitions(), partition,
+                        Limit.of(chunkSize));
+                ChunkOutcome outcome = settleChunk(checkpoint.getId(), ids, ids.size() < chunkSize,
+                        held.getFencingToken());
+                countReleased(outcome.settled());
+                failed.increment(outcome.failures());
+                schedulerMetrics.recordChunk(TASK_NAME, ids.size(), System.nanoTime() - chunkStart);
+                checkpoint = outcome.checkpoint();
+            }
+        } catch (LeaseLostException ex) {
+            log.warn("Stopped settling {}: {}", lockName, ex.getMessage());
+        }
+    }
+
+    /**
+     * Releases one chunk and advances the checkpoint in the same transaction.
+     * If that fails, each payment is released in its own transaction and the
+     * checkpoint moves past the chunk with the failures counted.
+     */
+    private ChunkOutcome settleChunk(Long checkpointId, List<Long> ids, boolean last, long fence) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        try {
+            return transactionTemplate.execute(status -> {
+                List<SettledPayment> settled = ids.isEmpty() ? List.of() : release(ids, now);
+                return new ChunkOutcome(advance(checkpointId, ids, settled, 0, last, fence), settled, 0);
+            });
+        } catch (LeaseLostException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            log.warn("Escrow settlement chunk of {} payments failed, settling them one by one: {}",
+                    ids.size(), ex.getMessage());
+        }
+
+        List<SettledPayment> settled = new ArrayList<>();
+        int failures = 0;
+        for (Long id : ids) {
+            try {
+                settled.addAll(transactionTemplate.execute(status -> release(List.of(id), now)));
+            } catch (RuntimeException ex) {
+                failures++;
+                log.error("Escrow settlement failed for payment {}, left locked for the next run", id, ex);
+            }
+        }
+        int failedInChunk = failures;
+        try {
+            return transactionTemplate.execute(status -> new ChunkOutcome(
+                    advance(checkpointId, ids, settled, failedInChunk, last, fence), settled, failedInChunk));
+        } catch (LeaseLostException ex) {
+            // These releases committed on their own; the newer holder will not see them as locked again
+            addOrphanedReleases(checkpointId, settled);
+            throw ex;
+        }
+    }
+
+    /**
+     * Releases the payments still locked and posts them to the ledger; runs
+     * inside the caller's transaction.
+     */
+    private List<SettledPayment> release(List<Long> ids, LocalDateTime now) {
+        List<SettledPayment> settled = paymentTransactionRepository.releaseEscrow(ids, now);
+        ledgerService.postSettlements(settled);
+        return settled;
+    }
+
+    /**
+     * Adds releases whose checkpoint advance was refused to the checkpoint's
+     * totals, leaving its position and fencing token to the newer holder, so
+     * the run report still includes them.
+     */
+    private void addOrphanedReleases(Long checkpointId, List<SettledPayment> settled) {
+        if (settled.isEmpty()) {
+            return;
+        }
+        double amount = settled.stream().mapToDouble(SettledPayment::getAmount).sum();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                EscrowSettlementCheckpoint checkpoint = checkpointRepository.lockById(checkpointId)
+                        .orElseThrow(() -> new IllegalStateException("Checkpoint " + checkpointId + " disappeared"));
+                checkpoint.setSettledCount(checkpoint.getSettledCount() + settled.size());
+                checkpoint.setSettledAmount(checkpoint.getSettledAmount() + amount);
+                checkpointRepository.save(checkpoint);
+            });
+        } catch (RuntimeException ex) {
+            log.error("Could not add {} escrow releases to checkpoint {}, the run report will miss them",
+                    settled.size(), checkpointId, ex);
+        }
+        countReleased(settled);
+        eventPublisher.publishEvent(new EscrowReleasedEvent(settled.size(), amount));
+    }
+
+    private void countReleased(List<SettledPayment> settled) {
+        released.increment(settled.size());
+        releasedAmount.increment(settled.stream().mapToDouble(SettledPayment::getAmount).sum());
+    }
+
+    private EscrowSettlementCheckpoint advance(Long checkpointId, List<Long> ids, List<SettledPayment> settled,
+                                               int failures, boolean last, long fence) {
+        EscrowSettlementCheckpoint checkpoint = checkpointRepository.lockById(checkpointId)
+                .orElseThrow(() -> new IllegalStateException("Checkpoint " + checkpointId + " disappeared"));
+        if (fence < checkpoint.getFencingToken()) {
+            throw new LeaseLostException(TASK_NAME + ":" + checkpoint.getRunDate() + ":" + checkpoint.getPartitionNo(),
+                    fence, checkpoint.getFencingToken());
+        }
+        checkpoint.setFencingToken(fence);
+        if (!ids.isEmpty()) {
+            checkpoint.setLastId(ids.getLast());
+        }
+        double amount = settled.stream().mapToDouble(SettledPayment::getAmount).sum();
+        checkpoint.setSettledCount(checkpoint.getSettledCount() + settled.size());
+        checkpoint.setSettledAmount(checkpoint.getSettledAmount() + amount);
+        checkpoint.setFailedCount(checkpoint.getFailedCount() + failures);
+        checkpoint.setCompleted(last);
+        if (!settled.isEmpty()) {
+            // Delivered to listeners once the chunk commits
+            eventPublisher.publishEvent(new EscrowReleasedEvent(settled.size(), amount));
+        }
+        return checkpointRepository.save(checkpoint);
+    }
+
+    /**
+     * Closes the run once every partition has finished, possibly on other
+     * instances; only the caller that closes it reports.
+     */
+    private void complete(EscrowSettlementRun run) {
+        List<EscrowSettlementCheckpoint> checkpoints =
+                checkpointRepository.findByRunDateOrderByPartitionNoAsc(run.getRunDate());
+        if (checkpoints.isEmpty() || !checkpoints.stream().allMatch(EscrowSettlementCheckpoint::isCompleted)) {
+            return;
+        }
+        long count = checkpoints.stream().mapToLong(EscrowSettlementCheckpoint::getSettledCount).sum();
+        double amount = checkpoints.stream().mapToDouble(EscrowSettlementCheckpoint::getSettledAmount).sum();
+        long failures = checkpoints.stream().mapToLong(EscrowSettlementCheckpoint::getFailedCount).sum();
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (runRepository.complete(run.getRunDate(), now, count, amount, failures) == 0) {
+            return;
+        }
+
+        Duration elapsed = Duration.between(run.getStartedAt(), now);
+        runCount.record(count);
+        runAmount.record(amount);
+        runDuration.record(elapsed);
+        log.info("EOD escrow settlement {}: released {} payments totalling {} across {} partitions, {} left locked ({}s)",
+                run.getRunDate(), count, String.format("%.2f", amount), run.getPartitions(), failures,
+                elapsed.toSeconds());
+    }
+
+    /**
+     * A chunk's advanced checkpoint and what the chunk itself released.
+     */
+    private record ChunkOutcome(EscrowSettlementCheckpoint checkpoint, List<SettledPayment> settled, int failures) {
+    }
 }
@@ -0,0 +1,49 @@
+package com.beingadish.AroundU.infrastructure.scheduler;
+
+import com.beingadish.AroundU.infrastructure.config.SchedulerProperties;
+import com.beingadish.AroundU.infrastructure.metrics.SchedulerMetricsService;
+import com.beingadish.AroundU.infrastructure.storage.ImageStorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Uploads images left in this instance's spool by a failed or skipped
+ * object store upload. Runs on every instance without a task lock: each
+ * instance drains its own local spool.
+ * <p>
+ * Default schedule: every 5 seconds ({@code storage.images.spool.drain-interval-ms}).
+ */
+@Component
+@Profile("!test")
+@RequiredArgsConstructor
+@Slf4j
+public class ImageUploadScheduler {
+
+    private static final String TASK_NAME = "image-upload";
+
+    private final ImageStorageService imageStorageService;
+    private final SchedulerProperties schedulerProperties;
+    private final SchedulerMetricsService schedulerMetrics;
+
+    @Scheduled(fixedDelayString = "${storage.images.spool.drain-interval-ms:5000}")
+    public void uploadPending() {
+        if (!schedulerProperties.isEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            int uploaded = imageStorageService.uploadPending();
+            if (uploaded > 0) {
+                log.info("Uploaded {} spooled images", uploaded);
+            }
+            schedulerMetrics.recordSuccess(TASK_NAME, System.currentTimeMillis() - start);
+        } catch (Exception ex) {
+            long durationMs = System.currentTimeMillis() - start;
+            log.error("Spooled image upload failed after {}ms", durationMs, ex);
+            schedulerMetrics.recordFailure(TASK_NAME, durationMs);
+        }
+    }
+}
@@ -1,11 +1,11 @@
 package com.beingadish.AroundU.infrastructure.scheduler;
 
-import com.beingadish.AroundU.common.constants.enums.JobStatus;
 import com.beingadish.AroundU.infrastructure.config.SchedulerProperties;
-import com.beingadish.AroundU.infrastructure.lock.LockServiceBase;
+import com.beingadish.AroundU.infrastructure.lock.ShardCoordinator;
 import com.beingadish.AroundU.infrastructure.metrics.SchedulerMetricsService;
-import com.beingadish.AroundU.job.entity.Job;
 import com.beingadish.AroundU.job.event.JobExpiredEvent;
+import com.beingadish.AroundU.job.event.JobsExpiredEvent;
+import com.beingadish.AroundU.job.model.ExpiredJob;
 import com.beingadish.AroundU.job.repository.JobRepository;
 import com.beingadish.AroundU.location.service.JobGeoService;
 import lombok.RequiredArgsConstructor;
@@ -14,19 +14,32 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Profile;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Clock;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Closes jobs that have passed their scheduled start time or exceeded the
- * configurable maximum open duration. Removes expired jobs from the Redis
- * geo-index and publishes a {@link JobExpiredEvent} for downstream notification
- * handling.
+ * configurable maximum open duration. Jobs normally close on time through
+ * {@link com.beingadish.AroundU.infrastructure.expiry.JobExpiryTimer}; this
+ * sweep catches whatever the timer missed, e.g. entries held by an instance
+ * that died or jobs that were open before the timer existed.
  * <p>
- * Default schedule: every hour.
+ * Works in chunks of {@code scheduler.job-expiration-chunk-size}: each chunk
+ * is a single {@code UPDATE ... RETURNING} committed on its own together
+ * with one {@link JobsExpiredEvent} in the domain event outbox, followed by
+ * one Redis call removing the chunk from the geo-index. A failure part-way
+ * leaves earlier chunks closed and the rest for the next run.
+ * <p>
+ * The sweep is split into {@code scheduler.job-expiration-shards} shards by
+ * job id through {@link ShardCoordinator}, so every live instance closes jobs
+ * at the same time; a shard stops between chunks if its lease is lost.
+ * <p>
+ * Default schedule: every six hours.
  */
 @Component
 @Profile("!test")
@@ -35,51 +48,63 @@ import java.util.List;
 public class JobExpirationScheduler {
 
     private static final String TASK_NAME = "expire-jobs";
-    private static final Duration LOCK_TTL = Duration.ofMinutes(30).plusMinutes(1);
+    private static final Duration LOCK_TTL = Duration.ofMinutes(2);
 
-    private final LockServiceBase lockService;
+    private final ShardCoordinator shardCoordinator;
     private final JobRepository jobRepository;
     private final JobGeoService jobGeoService;
     private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
     private final SchedulerProperties schedulerProperties;
     private final SchedulerMetricsService schedulerMetrics;
     private final Clock clock;
 
-    @Scheduled(cron = "${scheduler.job-expiration-cron:0 0 * * * ?}")
+    @Scheduled(cron = "${scheduler.job-expiration-cron:0 0 */6 * * ?}")
     public void closeExpiredJobs() {
         if (!schedulerProperties.isEnabled()) {
             return;
         }
-        if (!lockService.tryAcquireLock(TASK_NAME, LOCK_TTL)) {
-            log.debug("Another instance is running {}", TASK_NAME);
-            return;
-        }
-
         long start = System.currentTimeMillis();
         try {
             LocalDateTime now = LocalDateTime.now(clock);
             LocalDateTime fallbackCutoff = now.minusDays(schedulerProperties.getJobExpirationDays());
 
-            List<Job> expiredJobs = jobRepository.findExpiredJobs(
-                    JobStatus.OPEN_FOR_BIDS, now, fallbackCutoff);
-
-            for (Job job : expiredJobs) {
-                job.setJobStatus(JobStatus.JOB_CLOSED_DUE_TO_EXPIRATION);
-                jobRepository.save(job);
-                jobGeoService.removeOpenJob(job.getId());
-                eventPublisher.publishEvent(
-                        new JobExpiredEvent(job.getId(), job.getCreatedBy().getId()));
+            int chunkSize = schedulerProperties.getJobExpirationChunkSize();
+            AtomicInteger closed = new AtomicInteger();
+            int shards = shardCoordinator.runShards(TASK_NAME, schedulerProperties.getJobExpirationShards(), LOCK_TTL,
+                    shard -> {
+                        List<ExpiredJob> chunk;
+                        do {
+                            long chunkStart = System.nanoTime();
+                            chunk = transactionTemplate.execute(status -> {
+                                List<ExpiredJob> expired = jobRepository.expireOpenJobs(now, fallbackCutoff,
+                                        shard.count(), shard.index(), chunkSize);
+                                if (!expired.isEmpty()) {
+                                    eventPublisher.publishEvent(new JobsExpiredEvent(expired.stream()
+                                            .map(job -> new JobExpiredEvent(job.getId(), job.getClientId()))
+                                            .toList()));
+                                }
+                                return expired;
+                            });
+                            if (!chunk.isEmpty()) {
+                                jobGeoService.removeOpenJobs(chunk.stream().map(ExpiredJob::getId).toList());
+                                schedulerMetrics.recordChunk(TASK_NAME, chunk.size(), System.nanoTime() - chunkStart);
+                                closed.addAndGet(chunk.size());
+                            }
+                        } while (chunk.size() >= chunkSize && shard.isHeld());
+                    });
+            if (shards == 0) {
+                log.debug("All shards of {} are held by other instances", TASK_NAME);
+                return;
             }
 
             long durationMs = System.currentTimeMillis() - start;
-            log.info("Closed {} expired jobs ({}ms)", expiredJobs.size(), durationMs);
+            log.info("Closed {} expired jobs in {} shards ({}ms)", closed.get(), shards, durationMs);
             schedulerMetrics.recordSuccess(TASK_NAME, durationMs);
         } catch (Exception ex) {
             long durationMs = System.currentTimeMillis() - start;
             log.error("Job expiration failed after {}ms", durationMs, ex);
             schedulerMetrics.recordFailure(TASK_NAME, durationMs);
-        } finally {
-            lockService.releaseLock(TASK_NAME);
         }
     }
 }
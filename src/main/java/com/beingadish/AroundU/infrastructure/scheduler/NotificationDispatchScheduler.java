@@ -0,0 +1,67 @@
+package com.beingadish.AroundU.infrastructure.scheduler;
+
+import com.beingadish.AroundU.infrastructure.config.SchedulerProperties;
+import com.beingadish.AroundU.infrastructure.metrics.SchedulerMetricsService;
+import com.beingadish.AroundU.notification.service.NotificationOutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the notification outbox. Runs on every instance without a task
+ * lock: claims skip rows held by another dispatcher, so adding instances adds
+ * dispatch capacity.
+ * <p>
+ * Default schedule: every second ({@code notification.outbox.dispatch-interval-ms});
+ * delivered rows are purged daily.
+ */
+@Component
+@Profile("!test")
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationDispatchScheduler {
+
+    private static final String TASK_NAME = "notification-dispatch";
+    private static final String PURGE_TASK_NAME = "notification-purge";
+
+    private final NotificationOutboxService outboxService;
+    private final SchedulerProperties schedulerProperties;
+    private final SchedulerMetricsService schedulerMetrics;
+
+    @Scheduled(fixedDelayString = "${notification.outbox.dispatch-interval-ms:1000}")
+    public void dispatch() {
+        if (!schedulerProperties.isEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            int delivered = outboxService.dispatchDue();
+            if (delivered > 0) {
+                log.debug("Delivered {} notifications", delivered);
+            }
+            schedulerMetrics.recordSuccess(TASK_NAME, System.currentTimeMillis() - start);
+        } catch (Exception ex) {
+            long durationMs = System.currentTimeMillis() - start;
+            log.error("Notification dispatch failed after {}ms", durationMs, ex);
+            schedulerMetrics.recordFailure(TASK_NAME, durationMs);
+        }
+    }
+
+    @Scheduled(cron = "${notification.outbox.purge-cron:0 30 4 * * ?}")
+    public void purgeDelivered() {
+        if (!schedulerProperties.isEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            outboxService.purgeDelivered();
+            schedulerMetrics.recordSuccess(PURGE_TASK_NAME, System.currentTimeMillis() - start);
+        } catch (Exception ex) {
+            long durationMs = System.currentTimeMillis() - start;
+            log.error("Notification purge failed after {}ms", durationMs, ex);
+            schedulerMetrics.recordFailure(PURGE_TASK_NAME, durationMs);
+        }
+    }
+}
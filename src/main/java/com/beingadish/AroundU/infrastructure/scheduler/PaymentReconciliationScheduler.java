@@ -0,0 +1,49 @@
+package com.beingadish.AroundU.infrastructure.scheduler;
+
+import com.beingadish.AroundU.infrastructure.config.SchedulerProperties;
+import com.beingadish.AroundU.infrastructure.metrics.SchedulerMetricsService;
+import com.beingadish.AroundU.payment.service.PaymentOperationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Retries payment operations whose gateway call has not gone through yet.
+ * Runs on every instance without a task lock: claims skip operations held by
+ * another instance or by the request that recorded them.
+ * <p>
+ * Default schedule: every 5 seconds ({@code payments.reconcile-interval-ms}).
+ */
+@Component
+@Profile("!test")
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentReconciliationScheduler {
+
+    private static final String TASK_NAME = "payment-reconciliation";
+
+    private final PaymentOperationService operationService;
+    private final SchedulerProperties schedulerProperties;
+    private final SchedulerMetricsService schedulerMetrics;
+
+    @Scheduled(fixedDelayString = "${payments.reconcile-interval-ms:5000}")
+    public void reconcile() {
+        if (!schedulerProperties.isEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            int completed = operationService.reconcileDue();
+            if (completed > 0) {
+                log.info("Completed {} pending payment operations", completed);
+            }
+            schedulerMetrics.recordSuccess(TASK_NAME, System.currentTimeMillis() - start);
+        } catch (Exception ex) {
+            long durationMs = System.currentTimeMillis() - start;
+            log.error("Payment reconciliation failed after {}ms", durationMs, ex);
+            schedulerMetrics.recordFailure(TASK_NAME, durationMs);
+        }
+    }
+}
@@ -4,25 +4,43 @@ import com.beingadish.AroundU.common.constants.enums.JobStatus;
 import com.beingadish.AroundU.infrastructure.config.SchedulerProperties;
 import com.beingadish.AroundU.infrastructure.lock.LockServiceBase;
 import com.beingadish.AroundU.infrastructure.metrics.SchedulerMetricsService;
-import com.beingadish.AroundU.job.entity.Job;
+import com.beingadish.AroundU.job.model.ZeroBidJob;
 import com.beingadish.AroundU.job.repository.JobRepository;
 import com.beingadish.AroundU.notification.service.EmailService;
+import com.beingadish.AroundU.notification.service.NotificationDedupe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Clock;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * Sends reminder emails to clients whose open jobs have received zero bids
  * after a configurable threshold (default 24 hours). Suggests actions like
  * increasing budget or improving the description.
  * <p>
+ * Candidates are read page by page, grouped by client, so a client with
+ * several quiet jobs gets one email listing them. Each job is reminded about
+ * once: the claim in {@link NotificationDedupe} outlives the job's open
+ * period. Emails are queued in the notification outbox through
+ * {@link EmailService#sendEmailAsync} with at most
+ * {@code scheduler.reminder-concurrency} in flight; the run finishes when the
+ * last one is queued. Delivery itself is measured by the outbox metrics.
+ * <p>
  * Default schedule: every 6 hours.
  */
 @Component
@@ -37,6 +55,7 @@ public class ReminderScheduler {
     private final LockServiceBase lockService;
     private final JobRepository jobRepository;
     private final EmailService emailService;
+    private final NotificationDedupe notificationDedupe;
     private final SchedulerProperties schedulerProperties;
     private final SchedulerMetricsService schedulerMetrics;
     private final Clock clock;
@@ -55,27 +74,49 @@ public class ReminderScheduler {
         try {
             LocalDateTime threshold = LocalDateTime.now(clock)
                     .minusHours(schedulerProperties.getReminderThresholdHours());
+            Dispatch dispatch = new Dispatch(schedulerProperties.getReminderConcurrency());
 
-            List<Job> zeroBidJobs = jobRepository.findJobsWithZeroBids(
-                    JobStatus.OPEN_FOR_BIDS, threshold);
-
-            int sent = 0;
-            for (Job job : zeroBidJobs) {
-                String clientEmail = job.getCreatedBy().getEmail();
-                if (clientEmail == null || clientEmail.contains("deleted@")) {
-                    continue;
+            int pageSize = schedulerProperties.getReminderPageSize();
+            long afterClientId = 0;
+            long afterJobId = 0;
+            int jobs = 0;
+            List<ZeroBidJob> group = new ArrayList<>();
+            List<ZeroBidJob> page;
+            do {
+                long pageStart = System.nanoTime();
+                page = jobRepository.findZeroBidJobs(JobStatus.OPEN_FOR_BIDS, threshold,
+                        afterClientId, afterJobId, Limit.of(pageSize));
+                for (ZeroBidJob job : page) {
+                    // Rows arrive ordered by client; a new client closes the previous group
+                    if (!group.isEmpty() && !group.getFirst().getClientId().equals(job.getClientId())) {
+                        dispatch.remind(group);
+                        group = new ArrayList<>();
+                    }
+                    group.add(job);
                 }
-                String subject = "Your job \"" + job.getTitle() + "\" hasn't attracted bids yet";
-                String body = buildReminderBody(job);
-                if (emailService.sendEmail(clientEmail, subject, body)) {
-                    sent++;
+                if (!page.isEmpty()) {
+                    afterClientId = page.getLast().getClientId();
+                    afterJobId = page.getLast().getId();
+                    jobs += page.size();
+                    schedulerMetrics.recordChunk(TASK_NAME, page.size(), System.nanoTime() - pageStart);
                 }
+            } while (page.size() >= pageSize);
+            if (!group.isEmpty()) {
+                dispatch.remind(group);
             }
+            dispatch.awaitCompletion();
 
             long durationMs = System.currentTimeMillis() - start;
-            log.info("Sent {} bid reminder emails for {} zero-bid jobs ({}ms)",
-                    sent, zeroBidJobs.size(), durationMs);
+            double perSecond = dispatch.queued.get() * 1000.0 / Math.max(durationMs, 1);
+            dispatch.throughput.record(perSecond);
+            log.info("Queued {} bid reminder emails ({} failed, {} already reminded) for {} zero-bid jobs ({}ms, {}/s)",
+                    dispatch.queued.get(), dispatch.failed.get(), dispatch.duplicates.get(), jobs, durationMs,
+                    String.format("%.1f", perSecond));
             schedulerMetrics.recordSuccess(TASK_NAME, durationMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.warn("Reminder scheduler interrupted");
+            schedulerMetrics.recordFailure(TASK_NAME, System.currentTimeMillis() - start);
         } catch (Exception ex) {
             long durationMs = System.currentTimeMillis() - start;
             log.error("Reminder scheduler failed after {}ms", durationMs, ex);
@@ -85,25 +126,143 @@ public class ReminderScheduler {
         }
     }
 
-    private String buildReminderBody(Job job) {
+    private String subject(List<ZeroBidJob> jobs) {
+        return jobs.size() == 1
+                ? "Your job \"" + jobs.getFirst().getTitle() + "\" hasn't attracted bids yet"
+                : jobs.size() + " of your jobs haven't attracted bids yet";
+    }
+
+    private String buildReminderBody(List<ZeroBidJob> jobs) {
+        String titles = jobs.stream()
+                .map(job -> "\"" + job.getTitle() + "\"")
+                .collect(Collectors.joining(", "));
+        String summary = jobs.size() == 1
+                ? "Your job %s was posted over %d hours ago but hasn't received any bids yet."
+                : "Your jobs %s were posted over %d hours ago but haven't received any bids yet.";
+        String links = jobs.stream()
+                .map(job -> "https://aroundu.com/jobs/" + job.getId())
+                .collect(Collectors.joining("\n"));
         return """
                 Hi %s,
-                
-                Your job "%s" was posted over %d hours ago but hasn't received any bids yet.
-                
+
+                %s
+
                 Here are some tips to attract workers:
                 • Increase the budget to match market rates
                 • Add more detail to the job description
                 • Ensure the job location is accurate
                 • Add required skills to help workers find it
-                
-                View your job: https://aroundu.com/jobs/%d
-                
+
+                View your %s:
+                %s
+
                 — The AroundU Team
                 """.formatted(
-                job.getCreatedBy().getName(),
-                job.getTitle(),
-                schedulerProperties.getReminderThresholdHours(),
-                job.getId());
+                jobs.getFirst().getClientName(),
+                summary.formatted(titles, schedulerProperties.getReminderThresholdHours()),
+                jobs.size() == 1 ? "job" : "jobs",
+                links);
+    }
+
+    /**
+     * In-flight bookkeeping for one run.
+     */
+    private final class Dispatch {
+
+        private final int concurrency;
+        private final Semaphore permits;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger duplicates = new AtomicInteger();
+        private final Counter queuedCounter;
+        private final Counter failedCounter;
+        private final Counter duplicateCounter;
+        private final Counter noEmailCounter;
+        private final Timer queueTimer;
+        private final DistributionSummary throughput;
+
+        private Dispatch(int concurrency) {
+            MeterRegistry registry = schedulerMetrics.getRegistry();
+            this.concurrency = concurrency;
+            this.permits = new Semaphore(concurrency);
+            this.queuedCounter = Counter.builder("aroundu.reminders.queued")
+                    .description("Bid reminder emails queued for delivery")
+                    .register(registry);
+            this.failedCounter = Counter.builder("aroundu.reminders.failed")
+                    .description("Bid reminder emails that could be neither queued nor sent directly")
+                    .register(registry);
+            this.duplicateCounter = skipped(registry, "duplicate");
+            this.noEmailCounter = skipped(registry, "no_email");
+            this.queueTimer = Timer.builder("aroundu.reminders.queue.duration")
+                    .description("Time from dispatching a reminder to the email being queued")
+                    .register(registry);
+            this.throughput = DistributionSummary.builder("aroundu.reminders.throughput")
+                    .baseUnit("emails/s")
+                    .description("Reminder emails queued per second, per run")
+                    .register(registry);
+        }
+
+        /**
+         * Queues one email for the client's jobs that have not been reminded
+         * about yet. Blocks while the concurrency limit is reached.
+         */
+        void remind(List<ZeroBidJob> jobs) throws InterruptedException {
+            String email = jobs.getFirst().getClientEmail();
+            if (email == null || email.contains("deleted@")) {
+                noEmailCounter.increment(jobs.size());
+                return;
+            }
+            Duration claimTtl = Duration.ofDays(schedulerProperties.getJobExpirationDays());
+            List<ZeroBidJob> fresh = jobs.stream()
+                    .filter(job -> notificationDedupe.claim(claimKey(job), claimTtl))
+                    .toList();
+            duplicates.addAndGet(jobs.size() - fresh.size());
+            duplicateCounter.increment(jobs.size() - fresh.size());
+            if (fresh.isEmpty()) {
+                return;
+            }
+
+            permits.acquire();
+            long started = System.nanoTime();
+            try {
+                emailService.sendEmailAsync(email, subject(fresh), buildReminderBody(fresh))
+                        .whenComplete((ok, ex) -> {
+                            queueTimer.record(Duration.ofNanos(System.nanoTime() - started));
+                            if (ex == null && Boolean.TRUE.equals(ok)) {
+                                queued.incrementAndGet();
+                                queuedCounter.increment();
+                            } else {
+                                // Neither queued nor sent: let the next run try again
+                                fresh.forEach(job -> notificationDedupe.release(claimKey(job)));
+                                failed.incrementAndGet();
+                                failedCounter.increment();
+                            }
+                            permits.release();
+                        });
+            } catch (RuntimeException ex) {
+                permits.release();
+                fresh.forEach(job -> notificationDedupe.release(claimKey(job)));
+                failed.incrementAndGet();
+                failedCounter.increment();
+                log.warn("Could not dispatch bid reminder to client {}: {}", fresh.getFirst().getClientId(),
+                        ex.getMessage());
+            }
+        }
+
+        void awaitCompletion() throws InterruptedException {
+            permits.acquire(concurrency);
+            permits.release(concurrency);
+        }
+
+        private String claimKey(ZeroBidJob job) {
+            return "bid-reminder:" + job.getId();
+        }
+
+        private static Counter skipped(MeterRegistry registry, String reason) {
+            return Counter.builder("aroundu.reminders.skipped")
+                    .tag("reason", reason)
+                    .description("Zero-bid jobs not reminded about")
+                    .register(registry);
+        }
     }
 }
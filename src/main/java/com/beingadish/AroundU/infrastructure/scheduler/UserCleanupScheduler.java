@@ -1,5 +1,8 @@
 package com.beingadish.AroundU.infrastructure.scheduler;
 
+import com.beingadish.AroundU.infrastructure.batch.model.BatchJob;
+import com.beingadish.AroundU.infrastructure.batch.model.BatchResult;
+import com.beingadish.AroundU.infrastructure.batch.service.BatchJobRunner;
 import com.beingadish.AroundU.infrastructure.config.SchedulerProperties;
 import com.beingadish.AroundU.infrastructure.lock.LockServiceBase;
 import com.beingadish.AroundU.infrastructure.metrics.SchedulerMetricsService;
@@ -20,6 +23,10 @@ import java.time.LocalDateTime;
  * (default 2). Soft-deletes and anonymises PII so the row can be retained for
  * referential integrity.
  * <p>
+ * Clients and workers are each worked through by the {@link BatchJobRunner}:
+ * ids are read in chunks and every chunk is anonymised with one update, so a
+ * large backlog neither sits in memory nor holds one long transaction.
+ * <p>
  * Default schedule: every day at 02:00 AM.
  */
 @Component
@@ -34,6 +41,7 @@ public class UserCleanupScheduler {
     private final LockServiceBase lockService;
     private final ClientRepository clientRepository;
     private final WorkerRepository workerRepository;
+    private final BatchJobRunner batchJobRunner;
     private final SchedulerProperties schedulerProperties;
     private final SchedulerMetricsService schedulerMetrics;
     private final Clock clock;
@@ -53,30 +61,17 @@ public class UserCleanupScheduler {
             LocalDateTime cutoff = LocalDateTime.now(clock)
                     .minusYears(schedulerProperties.getUserInactiveYears());
 
-            int cleaned = 0;
-
-            // Clients
-            var inactiveClients = clientRepository.findInactiveClientsBefore(cutoff);
-            inactiveClients.forEach(client -> {
-                client.setDeleted(true);
-                client.setEmail("deleted-" + client.getId() + "@aroundu.local");
-                client.setPhoneNumber("DEL" + client.getId());
-            });
-            clientRepository.saveAll(inactiveClients);
-            cleaned += inactiveClients.size();
-
-            // Workers
-            var inactiveWorkers = workerRepository.findInactiveWorkersBefore(cutoff);
-            inactiveWorkers.forEach(worker -> {
-                worker.setDeleted(true);
-                worker.setEmail("deleted-" + worker.getId() + "@aroundu.local");
-                worker.setPhoneNumber("DEL" + worker.getId());
-            });
-            workerRepository.saveAll(inactiveWorkers);
-            cleaned += inactiveWorkers.size();
+            BatchResult clients = batchJobRunner.run(new BatchJob(TASK_NAME + ":clients",
+                    (afterId, limit) -> clientRepository.findInactiveIds(cutoff, afterId, limit),
+                    ids -> clientRepository.anonymise(ids, cutoff)));
+            BatchResult workers = batchJobRunner.run(new BatchJob(TASK_NAME + ":workers",
+                    (afterId, limit) -> workerRepository.findInactiveIds(cutoff, afterId, limit),
+                    ids -> workerRepository.anonymise(ids, cutoff)));
 
             long durationMs = System.currentTimeMillis() - start;
-            log.info("Cleaned {} inactive users ({}ms)", cleaned, durationMs);
+            log.info("Cleaned {} inactive clients and {} inactive workers ({}ms{})", clients.items(),
+                    workers.items(), durationMs,
+                    clients.caughtUp() && workers.caughtUp() ? "" : ", backlog left for the next run");
             schedulerMetrics.recordSuccess(TASK_NAME, durationMs);
         } catch (Exception ex) {
             long durationMs = System.currentTimeMillis() - start;
@@ -0,0 +1,143 @@
+package com.beingadish.AroundU.infrastructure.security;
+
+import com.beingadish.AroundU.common.exception.PasswordHashingUnavailableException;
+import com.beingadish.AroundU.infrastructure.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on a dedicated, core-sized pool of platform threads.
+ * <p>
+ * Requests run on virtual threads, so without this a login storm starts one
+ * CPU-bound hash per request and pins every carrier thread, starving
+ * unrelated endpoints. Here the caller's virtual thread just parks while a
+ * bounded number of hashes run; once {@code queue-capacity} hashes are
+ * waiting, further ones fail fast with
+ * {@link PasswordHashingUnavailableException} (503 + {@code Retry-After}), as
+ * do hashes that cannot finish within {@code max-wait-ms}.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMs;
+    private final long retryAfterSeconds;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueWait;
+    private final Counter saturated;
+    private final Counter timedOut;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingProperties properties, MeterRegistry registry) {
+        int threads = properties.effectiveThreads();
+        this.delegate = delegate;
+        this.maxWaitMs = properties.getMaxWaitMs();
+        this.retryAfterSeconds = properties.getRetryAfterSeconds();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                Thread.ofPlatform().name("pwd-hash-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = hashTimer(registry, "encode");
+        this.matchesTimer = hashTimer(registry, "matches");
+        this.queueWait = Timer.builder("aroundu.auth.hash.queue.wait")
+                .description("Time a password hash waited for a hashing thread")
+                .register(registry);
+        this.saturated = rejectedCounter(registry, "saturated");
+        this.timedOut = rejectedCounter(registry, "timeout");
+        Gauge.builder("aroundu.auth.hash.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(registry);
+        log.info("Initialized password hashing executor: threads={}, queue={}, maxWait={}ms",
+                threads, properties.getQueueCapacity(), maxWaitMs);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Supplier<T> hash, Timer timer) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return timer.record(hash);
+            });
+        } catch (RejectedExecutionException ex) {
+            saturated.increment();
+            log.warn("Password hashing saturated ({} queued) – shedding request", executor.getQueue().size());
+            throw new PasswordHashingUnavailableException(retryAfterSeconds);
+        }
+        try {
+            return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            abandon(future);
+            timedOut.increment();
+            throw new PasswordHashingUnavailableException(retryAfterSeconds);
+        } catch (InterruptedException ex) {
+            abandon(future);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException(retryAfterSeconds);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    private void abandon(Future<?> future) {
+        future.cancel(true);
+        // Free the queue slot now rather than when a worker reaches it
+        executor.remove((Runnable) future);
+    }
+
+    private static Timer hashTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("aroundu.auth.hash.duration")
+                .tag("operation", operation)
+                .description("Password hashing time on the hashing executor")
+                .register(registry);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("aroundu.auth.hash.rejected")
+                .tag("reason", reason)
+                .description("Password hashes shed by admission control, by reason")
+                .register(registry);
+    }
+}
@@ -1,86 +1,49 @@
 package com.beingadish.AroundU.infrastructure.security;
 
-import com.beingadish.AroundU.user.entity.Admin;
-import com.beingadish.AroundU.user.entity.Client;
-import com.beingadish.AroundU.user.entity.Worker;
-import com.beingadish.AroundU.user.repository.AdminRepository;
-import com.beingadish.AroundU.user.repository.ClientReadRepository;
-import com.beingadish.AroundU.user.repository.WorkerReadRepository;
+import com.beingadish.AroundU.user.model.UserIdentity;
+import com.beingadish.AroundU.user.repository.IdentityRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Optional;
 
+/**
+ * Loads login and legacy-token principals from the {@link IdentityRepository}
+ * in a single query, whichever of the client, worker or admin tables the
+ * account lives in.
+ */
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
-    private static final String ADMIN = "ROLE_ADMIN";
-    private static final String CLIENT = "ROLE_CLIENT";
-    private static final String WORKER = "ROLE_WORKER";
-    private final ClientReadRepository clientRepository;
-    private final WorkerReadRepository workerRepository;
-    private final AdminRepository adminRepository;
+    private final IdentityRepository identityRepository;
 
     @Override
     public UserDetails loadUserByUsername(String identifier) throws UsernameNotFoundException {
-        // Try to check for client
-        Optional<Client> client = findClient(identifier);
-        if (client.isPresent()) {
-            return buildPrincipal(client.get().getId(), client.get().getEmail(), client.get().getHashedPassword(), CLIENT);
-        }
-
-        // Try to check for worker
-        Optional<Worker> worker = findWorker(identifier);
-        if (worker.isPresent()) {
-            return buildPrincipal(worker.get().getId(), worker.get().getEmail(), worker.get().getHashedPassword(), WORKER);
-        }
-
-        // Try to check for admin
-        Optional<Admin> admin = findAdmin(identifier);
-        if (admin.isPresent()) {
-            return buildPrincipal(admin.get().getId(), admin.get().getEmail(), admin.get().getHashedPassword(), ADMIN);
-        }
-
-        throw new UsernameNotFoundException("User not found with identifier: " + identifier);
-    }
-
-    private Optional<Client> findClient(String identifier) {
-        try {
-            return clientRepository.findById(Long.parseLong(identifier));
-        } catch (NumberFormatException ex) {
-            return clientRepository.findByEmail(identifier);
-        }
-    }
-
-    private Optional<Worker> findWorker(String identifier) {
-        try {
-            Long id = Long.parseLong(identifier);
-            return workerRepository.findById(id);
-        } catch (NumberFormatException ex) {
-            return workerRepository.findByEmail(identifier);
-        }
+        return findIdentity(identifier)
+                .map(this::buildPrincipal)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with identifier: " + identifier));
     }
 
-    private Optional<Admin> findAdmin(String identifier) {
+    private Optional<UserIdentity> findIdentity(String identifier) {
         try {
-            Long id = Long.parseLong(identifier);
-            return adminRepository.findById(id);
+            return identityRepository.findById(Long.parseLong(identifier));
         } catch (NumberFormatException ex) {
-            return adminRepository.findByEmail(identifier);
+            return identityRepository.findByEmail(identifier);
         }
     }
 
-    private UserDetails buildPrincipal(Long id, String email, String password, String authority) {
+    private UserDetails buildPrincipal(UserIdentity identity) {
         return UserPrincipal.builder()
-                .id(id)
-                .email(email)
-                .password(password)
-                .authorities(User.builder().username(email).password(password).authorities(authority).build().getAuthorities())
+                .id(identity.getId())
+                .email(identity.getEmail())
+                .password(identity.getPassword())
+                .authorities(List.of(new SimpleGrantedAuthority(identity.getRole())))
                 .build();
     }
 }
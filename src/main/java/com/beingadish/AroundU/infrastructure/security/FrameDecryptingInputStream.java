@@ -0,0 +1,129 @@
+package com.beingadish.AroundU.infrastructure.security;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+
+/**
+ * Reads the framed format written by {@link FrameEncryptingOutputStream},
+ * authenticating each frame before any of its plaintext is returned.
+ * Not thread-safe.
+ */
+class FrameDecryptingInputStream extends InputStream {
+
+    /**
+     * Frames larger than this are rejected before being buffered, whatever
+     * frame size the sender chose.
+     */
+    private static final int MAX_FRAME_BYTES = 1 << 20;
+
+    private final PayloadCryptoService crypto;
+    private final InputStream in;
+    private final byte[] nonce = new byte[PayloadCryptoService.NONCE_LENGTH];
+    private final byte[] lengthBytes = new byte[4];
+
+    private byte[] noncePrefix;
+    private byte[] sealed;
+    private byte[] plaintext;
+    private int position;
+    private int limit;
+    private int counter;
+    private boolean finalSeen;
+
+    FrameDecryptingInputStream(PayloadCryptoService crypto, InputStream in, int expectedFrameBytes) {
+        this.crypto = crypto;
+        this.in = in;
+        this.sealed = new byte[expectedFrameBytes + PayloadCryptoService.TAG_LENGTH];
+        this.plaintext = new byte[expectedFrameBytes];
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return plaintext[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int n = Math.min(len, limit - position);
+        System.arraycopy(plaintext, position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return limit - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * @return {@code false} once the final frame has been fully consumed
+     */
+    private boolean fill() throws IOException {
+        while (position == limit) {
+            if (finalSeen) {
+                return false;
+            }
+            readFrame();
+        }
+        return true;
+    }
+
+    private void readFrame() throws IOException {
+        if (noncePrefix == null) {
+            int version = in.read();
+            if (version != FrameEncryptingOutputStream.VERSION) {
+                throw new IOException("Unsupported encrypted stream version: " + version);
+            }
+            noncePrefix = new byte[FrameEncryptingOutputStream.NONCE_PREFIX_LENGTH];
+            readFully(noncePrefix, noncePrefix.length);
+        }
+        readFully(lengthBytes, 4);
+        int header = ((lengthBytes[0] & 0xFF) << 24) | ((lengthBytes[1] & 0xFF) << 16)
+                | ((lengthBytes[2] & 0xFF) << 8) | (lengthBytes[3] & 0xFF);
+        boolean last = (header & FrameEncryptingOutputStream.FINAL_FLAG) != 0;
+        int length = header & ~FrameEncryptingOutputStream.FINAL_FLAG;
+        if (length < PayloadCryptoService.TAG_LENGTH || length > MAX_FRAME_BYTES + PayloadCryptoService.TAG_LENGTH) {
+            throw new IOException("Invalid encrypted frame length: " + length);
+        }
+        if (sealed.length < length) {
+            sealed = new byte[length];
+            plaintext = new byte[length - PayloadCryptoService.TAG_LENGTH];
+        }
+        readFully(sealed, length);
+
+        FrameEncryptingOutputStream.frameNonce(nonce, noncePrefix, counter++, last);
+        try {
+            limit = crypto.open(nonce, sealed, 0, length, plaintext, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Encrypted frame failed authentication", e);
+        }
+        position = 0;
+        finalSeen = last;
+    }
+
+    private void readFully(byte[] target, int length) throws IOException {
+        int read = 0;
+        while (read < length) {
+            int n = in.read(target, read, length - read);
+            if (n < 0) {
+                throw new EOFException("Encrypted stream truncated");
+            }
+            read += n;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.beingadish.AroundU.infrastructure.security;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+
+/**
+ * Writes plaintext as a sequence of ChaCha20-Poly1305 frames.
+ * <p>
+ * Stream format:
+ * <pre>
+ * header : version[1] = 0x01 || noncePrefix[7]
+ * frame  : length[4, big-endian] || ciphertext || tag[16]
+ * </pre>
+ * The top bit of {@code length} marks the final frame; the remaining bits are
+ * the size of {@code ciphertext || tag}. Frame {@code i} is sealed with nonce
+ * {@code noncePrefix || i[4, big-endian] || final[1]}, so frames cannot be
+ * reordered, dropped or marked final by anyone without the key, and a stream
+ * that ends before its final frame is rejected.
+ * <p>
+ * A frame is emitted whenever the plaintext buffer fills and on
+ * {@link #flush()}; {@link #close()} emits the (possibly empty) final frame.
+ * Not thread-safe.
+ */
+class FrameEncryptingOutputStream extends OutputStream {
+
+    static final byte VERSION = 1;
+    static final int NONCE_PREFIX_LENGTH = 7;
+    static final int FINAL_FLAG = 0x8000_0000;
+
+    private final PayloadCryptoService crypto;
+    private final OutputStream out;
+    private final byte[] noncePrefix;
+    private final byte[] plaintext;
+    private final byte[] sealed;
+    private final byte[] nonce = new byte[PayloadCryptoService.NONCE_LENGTH];
+
+    private int buffered;
+    private int counter;
+    private boolean headerWritten;
+    private boolean closed;
+
+    FrameEncryptingOutputStream(PayloadCryptoService crypto, OutputStream out, byte[] noncePrefix, int frameBytes) {
+        this.crypto = crypto;
+        this.out = out;
+        this.noncePrefix = noncePrefix;
+        this.plaintext = new byte[frameBytes];
+        this.sealed = new byte[4 + frameBytes + PayloadCryptoService.TAG_LENGTH];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (buffered == plaintext.length) {
+            emit(false);
+        }
+        plaintext[buffered++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            if (buffered == plaintext.length) {
+                emit(false);
+            }
+            int n = Math.min(len, plaintext.length - buffered);
+            System.arraycopy(b, off, plaintext, buffered, n);
+            buffered += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        if (buffered > 0) {
+            emit(false);
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes the final frame without closing the underlying stream.
+     */
+    void finish() throws IOException {
+        if (closed) {
+            return;
+        }
+        emit(true);
+        closed = true;
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            finish();
+        }
+        out.close();
+    }
+
+    private void emit(boolean last) throws IOException {
+        if (!headerWritten) {
+            out.write(VERSION);
+            out.write(noncePrefix);
+            headerWritten = true;
+        }
+        if (counter == -1) {
+            throw new IOException("Encrypted stream exceeded the maximum number of frames");
+        }
+        frameNonce(nonce, noncePrefix, counter++, last);
+        try {
+            int length = crypto.seal(nonce, plaintext, 0, buffered, sealed, 4);
+            writeInt(sealed, 0, last ? length | FINAL_FLAG : length);
+            out.write(sealed, 0, 4 + length);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Failed to encrypt frame", e);
+        }
+        buffered = 0;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    static void frameNonce(byte[] nonce, byte[] prefix, int counter, boolean last) {
+        System.arraycopy(prefix, 0, nonce, 0, NONCE_PREFIX_LENGTH);
+        writeInt(nonce, NONCE_PREFIX_LENGTH, counter);
+        nonce[NONCE_PREFIX_LENGTH + 4] = (byte) (last ? 1 : 0);
+    }
+
+    static void writeInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) (value >>> 24);
+        target[offset + 1] = (byte) (value >>> 16);
+        target[offset + 2] = (byte) (value >>> 8);
+        target[offset + 3] = (byte) value;
+    }
+}
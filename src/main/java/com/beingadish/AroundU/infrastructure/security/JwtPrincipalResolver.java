@@ -0,0 +1,102 @@
+package com.beingadish.AroundU.infrastructure.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Turns a bearer token into a {@link UserPrincipal} for the HTTP filter and
+ * the STOMP CONNECT interceptor.
+ * <p>
+ * The token is verified once and the principal is built from its
+ * {@code sub}, {@code email} and {@code role} claims, so an authenticated
+ * request reaches the controller without touching the database. Account
+ * deletion is honoured through {@link TokenRevocationService}, which is an
+ * in-memory lookup. Only tokens that predate the {@code role} claim fall back
+ * to {@link UserDetailsService}.
+ */
+@Component
+@Slf4j
+public class JwtPrincipalResolver {
+
+    private final JwtTokenProvider tokenProvider;
+    private final UserDetailsService userDetailsService;
+    private final TokenRevocationService revocationService;
+
+    private final Counter fromClaims;
+    private final Counter fromLookup;
+    private final Counter revoked;
+
+    public JwtPrincipalResolver(JwtTokenProvider tokenProvider,
+                                UserDetailsService userDetailsService,
+                                TokenRevocationService revocationService,
+                                MeterRegistry registry) {
+        this.tokenProvider = tokenProvider;
+        this.userDetailsService = userDetailsService;
+        this.revocationService = revocationService;
+        this.fromClaims = principalCounter(registry, "claims");
+        this.fromLookup = principalCounter(registry, "lookup");
+        this.revoked = principalCounter(registry, "revoked");
+    }
+
+    public Optional<UserDetails> resolve(String token) {
+        Optional<Claims> verified = tokenProvider.parseVerifiedClaims(token);
+        if (verified.isEmpty()) {
+            return Optional.empty();
+        }
+        Claims claims = verified.get();
+        String role = claims.get(JwtTokenProvider.ROLE_CLAIM, String.class);
+        String email = claims.get(JwtTokenProvider.EMAIL_CLAIM, String.class);
+        Long userId = parseId(claims.getSubject());
+
+        if (!StringUtils.hasText(role) || !StringUtils.hasText(email) || userId == null) {
+            return loadLegacy(StringUtils.hasText(email) ? email : claims.getSubject());
+        }
+        if (revocationService.isRevoked(role, userId, claims.getIssuedAt() != null
+                ? claims.getIssuedAt().toInstant() : null)) {
+            revoked.increment();
+            log.debug("Rejected revoked token for {} id={}", role, userId);
+            return Optional.empty();
+        }
+        fromClaims.increment();
+        return Optional.of(UserPrincipal.builder()
+                .id(userId)
+                .email(email)
+                .authorities(List.of(new SimpleGrantedAuthority(role)))
+                .build());
+    }
+
+    private Optional<UserDetails> loadLegacy(String username) {
+        try {
+            fromLookup.increment();
+            return Optional.of(userDetailsService.loadUserByUsername(username));
+        } catch (UsernameNotFoundException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private static Long parseId(String subject) {
+        try {
+            return subject != null ? Long.valueOf(subject) : null;
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static Counter principalCounter(MeterRegistry registry, String source) {
+        return Counter.builder("aroundu.auth.principal.resolved")
+                .tag("source", source)
+                .description("Bearer tokens resolved to a principal, by source")
+                .register(registry);
+    }
+}
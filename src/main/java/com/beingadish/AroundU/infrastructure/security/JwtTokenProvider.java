@@ -2,23 +2,38 @@ package com.beingadish.AroundU.infrastructure.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
 public class JwtTokenProvider {
 
+    public static final String EMAIL_CLAIM = "email";
+    public static final String ROLE_CLAIM = "role";
+
     @Value("${jwt.secret.key}")
     private String jwtSecret;
 
     @Value("${jwt.expiration.ms}")
     private long jwtExpirationMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    // Both are immutable and thread-safe, so they are built once rather than per token
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parser().verifyWith(signingKey).build();
+    }
+
+    public long getExpirationMs() {
+        return jwtExpirationMs;
     }
 
     public String generateToken(Long userId, String email, String role) {
@@ -27,11 +42,11 @@ public class JwtTokenProvider {
 
         return Jwts.builder()
                 .subject(String.valueOf(userId))
-                .claim("email", email)
-                .claim("role", role)
+                .claim(EMAIL_CLAIM, email)
+                .claim(ROLE_CLAIM, role)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -40,16 +55,30 @@ public class JwtTokenProvider {
     }
 
     public String getEmailFromToken(String token) {
-        return parseClaims(token).get("email", String.class);
+        return parseClaims(token).get(EMAIL_CLAIM, String.class);
     }
 
     public String getRoleFromToken(String token) {
-        return parseClaims(token).get("role", String.class);
+        return parseClaims(token).get(ROLE_CLAIM, String.class);
+    }
+
+    /**
+     * Verifies the signature and expiry once and returns the claims, or empty
+     * if the token is not acceptable. Callers that need several claims should
+     * use this instead of {@link #validateToken} followed by the getters, each
+     * of which re-verifies the token.
+     */
+    public Optional<Claims> parseVerifiedClaims(String token) {
+        try {
+            return Optional.of(parseClaims(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 
     public boolean validateToken(String authToken) {
         try {
-            Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(authToken);
+            parser.parseSignedClaims(authToken);
             return true;
         } catch (SecurityException | MalformedJwtException e) {
             // Invalid JWT signature
@@ -64,6 +93,6 @@ public class JwtTokenProvider {
     }
 
     private Claims parseClaims(String token) {
-        return Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(token).getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 }
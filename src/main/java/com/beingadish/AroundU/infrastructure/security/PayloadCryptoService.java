@@ -9,27 +9,51 @@ import org.springframework.stereotype.Service;
 import javax.crypto.Cipher;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
-import java.nio.ByteBuffer;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.Base64;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * ChaCha20-Poly1305 payload encryption/decryption service. Wire format: Base64(
  * nonce[12] || ciphertext || tag[16] )
+ * <p>
+ * For large bodies {@link #encryptingStream} / {@link #decryptingStream}
+ * produce and consume the framed format described in
+ * {@link FrameEncryptingOutputStream}, so nothing has to be buffered whole.
+ * <p>
+ * {@link Cipher} instances are pooled rather than cached per thread because
+ * requests run on virtual threads, where a thread-local would amount to one
+ * cipher per request. Nonces come from a non-blocking {@link SecureRandom}.
  */
 @Service
 public class PayloadCryptoService {
 
     private static final Logger log = LoggerFactory.getLogger(PayloadCryptoService.class);
     private static final String ALGORITHM = "ChaCha20-Poly1305";
-    private static final int NONCE_LENGTH = 12;
+    static final int NONCE_LENGTH = 12;
+    static final int TAG_LENGTH = 16;
+    private static final int MAX_POOLED_CIPHERS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
 
     @Value("${app.encryption.key:}")
     private String base64Key;
 
+    @Value("${app.encryption.stream-frame-bytes:16384}")
+    private int streamFrameBytes = 16384;
+
     private SecretKeySpec secretKey;
     private boolean enabled;
 
+    private final SecureRandom nonceSource = nonBlockingRandom();
+    private final Queue<Cipher> cipherPool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooledCiphers = new AtomicInteger();
+
     @PostConstruct
     void init() {
         if (base64Key == null || base64Key.isBlank()) {
@@ -55,49 +79,130 @@ public class PayloadCryptoService {
      * Encrypt plaintext to Base64( nonce || ciphertext || tag ).
      */
     public String encrypt(String plaintext) throws Exception {
-        if (!enabled) {
-            throw new IllegalStateException("Encryption is not enabled");
-        }
+        return Base64.getEncoder().encodeToString(encrypt(plaintext.getBytes(StandardCharsets.UTF_8)));
+    }
 
+    /**
+     * Encrypt to raw nonce || ciphertext || tag, without the Base64 step.
+     */
+    public byte[] encrypt(byte[] plaintext) throws GeneralSecurityException {
+        requireEnabled();
+        byte[] out = new byte[NONCE_LENGTH + plaintext.length + TAG_LENGTH];
         byte[] nonce = new byte[NONCE_LENGTH];
-        SecureRandom.getInstanceStrong().nextBytes(nonce);
-
-        Cipher cipher = Cipher.getInstance(ALGORITHM);
-        cipher.init(Cipher.ENCRYPT_MODE, secretKey, new IvParameterSpec(nonce));
-
-        byte[] ciphertext = cipher.doFinal(plaintext.getBytes(java.nio.charset.StandardCharsets.UTF_8));
-
-        // nonce || ciphertext (includes appended tag)
-        ByteBuffer buffer = ByteBuffer.allocate(nonce.length + ciphertext.length);
-        buffer.put(nonce);
-        buffer.put(ciphertext);
-
-        return Base64.getEncoder().encodeToString(buffer.array());
+        nonceSource.nextBytes(nonce);
+        System.arraycopy(nonce, 0, out, 0, NONCE_LENGTH);
+        seal(nonce, plaintext, 0, plaintext.length, out, NONCE_LENGTH);
+        return out;
     }
 
     /**
      * Decrypt Base64( nonce || ciphertext || tag ) to plaintext.
      */
     public String decrypt(String base64Ciphertext) throws Exception {
-        if (!enabled) {
-            throw new IllegalStateException("Encryption is not enabled");
-        }
+        requireEnabled();
+        return new String(decrypt(Base64.getDecoder().decode(base64Ciphertext)), StandardCharsets.UTF_8);
+    }
 
-        byte[] combined = Base64.getDecoder().decode(base64Ciphertext);
-        if (combined.length < NONCE_LENGTH + 16) {
+    /**
+     * Decrypt raw nonce || ciphertext || tag.
+     */
+    public byte[] decrypt(byte[] combined) throws GeneralSecurityException {
+        requireEnabled();
+        if (combined.length < NONCE_LENGTH + TAG_LENGTH) {
             throw new IllegalArgumentException("Ciphertext too short");
         }
-
         byte[] nonce = new byte[NONCE_LENGTH];
         System.arraycopy(combined, 0, nonce, 0, NONCE_LENGTH);
+        byte[] plaintext = new byte[combined.length - NONCE_LENGTH - TAG_LENGTH];
+        open(nonce, combined, NONCE_LENGTH, combined.length - NONCE_LENGTH, plaintext, 0);
+        return plaintext;
+    }
 
-        byte[] ciphertext = new byte[combined.length - NONCE_LENGTH];
-        System.arraycopy(combined, NONCE_LENGTH, ciphertext, 0, ciphertext.length);
+    /**
+     * Wraps {@code out} so that everything written is emitted as
+     * authenticated frames of at most {@code app.encryption.stream-frame-bytes}
+     * plaintext bytes. Closing the returned stream writes the final frame and
+     * closes {@code out}.
+     */
+    public OutputStream encryptingStream(OutputStream out) {
+        return openEncryptingStream(out);
+    }
 
-        Cipher cipher = Cipher.getInstance(ALGORITHM);
-        cipher.init(Cipher.DECRYPT_MODE, secretKey, new IvParameterSpec(nonce));
+    FrameEncryptingOutputStream openEncryptingStream(OutputStream out) {
+        requireEnabled();
+        byte[] prefix = new byte[FrameEncryptingOutputStream.NONCE_PREFIX_LENGTH];
+        nonceSource.nextBytes(prefix);
+        return new FrameEncryptingOutputStream(this, out, prefix, streamFrameBytes);
+    }
 
-        byte[] plainBytes = cipher.doFinal(ciphertext);
-        return new String(plainBytes, java.nio.charset.StandardCharsets.UTF_8);
+    /**
+     * Reads the framed format produced by {@link #encryptingStream}. A
+     * tampered, reordered or truncated stream fails with an
+     * {@link java.io.IOException}.
+     */
+    public InputStream decryptingStream(InputStream in) {
+        requireEnabled();
+        return new FrameDecryptingInputStream(this, in, streamFrameBytes);
+    }
+
+    // ── Cipher operations ────────────────────────────────────────────────
+    /**
+     * Encrypts {@code len} bytes into {@code output} at {@code outOffset},
+     * which must have room for {@code len + TAG_LENGTH} bytes.
+     */
+    int seal(byte[] nonce, byte[] input, int offset, int len, byte[] output, int outOffset)
+            throws GeneralSecurityException {
+        return apply(Cipher.ENCRYPT_MODE, nonce, input, offset, len, output, outOffset);
+    }
+
+    /**
+     * Decrypts and authenticates {@code len} bytes (ciphertext plus tag).
+     */
+    int open(byte[] nonce, byte[] input, int offset, int len, byte[] output, int outOffset)
+            throws GeneralSecurityException {
+        return apply(Cipher.DECRYPT_MODE, nonce, input, offset, len, output, outOffset);
+    }
+
+    private int apply(int mode, byte[] nonce, byte[] input, int offset, int len, byte[] output, int outOffset)
+            throws GeneralSecurityException {
+        Cipher cipher = borrowCipher();
+        try {
+            cipher.init(mode, secretKey, new IvParameterSpec(nonce));
+            return cipher.doFinal(input, offset, len, output, outOffset);
+        } finally {
+            releaseCipher(cipher);
+        }
+    }
+
+    private Cipher borrowCipher() throws GeneralSecurityException {
+        Cipher cipher = cipherPool.poll();
+        if (cipher != null) {
+            pooledCiphers.decrementAndGet();
+            return cipher;
+        }
+        return Cipher.getInstance(ALGORITHM);
+    }
+
+    private void releaseCipher(Cipher cipher) {
+        if (pooledCiphers.incrementAndGet() <= MAX_POOLED_CIPHERS) {
+            cipherPool.offer(cipher);
+        } else {
+            pooledCiphers.decrementAndGet();
+        }
+    }
+
+    private void requireEnabled() {
+        if (!enabled) {
+            throw new IllegalStateException("Encryption is not enabled");
+        }
+    }
+
+    private static SecureRandom nonBlockingRandom() {
+        try {
+            return SecureRandom.getInstance("NativePRNGNonBlocking");
+        } catch (NoSuchAlgorithmException e) {
+            // Not available on Windows; the default DRBG does not block either
+            return new SecureRandom();
+        }
     }
 }
@@ -3,10 +3,11 @@ package com.beingadish.AroundU.infrastructure.security;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
+import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,8 +20,10 @@ import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingResponseWrapper;
 
-import java.io.IOException;
+import java.io.*;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.Set;
 
 /**
@@ -32,6 +35,12 @@ import java.util.Set;
  * <li><b>Response</b>: Encrypts JSON response bodies and wraps as
  * {@code {"data":"<base64>"}} with {@code X-Encrypted: true} header.</li>
  * </ul>
+ * <p>
+ * With {@code X-Encrypted: stream} both bodies use the framed format of
+ * {@link PayloadCryptoService#encryptingStream}: the request is decrypted as
+ * the controller reads it and the response is encrypted frame by frame as it
+ * is written, so neither is held in memory. Requests without the header are
+ * passed through with no wrapping or buffering.
  *
  * Excluded paths (actuator, docs, swagger) are passed through unmodified.
  */
@@ -42,6 +51,7 @@ public class PayloadEncryptionFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(PayloadEncryptionFilter.class);
     private static final String ENCRYPTED_HEADER = "X-Encrypted";
+    private static final String STREAM_MODE = "stream";
     private static final String DATA_FIELD = "data";
 
     private static final Set<String> EXCLUDED_PATTERNS = Set.of(
@@ -68,17 +78,25 @@ public class PayloadEncryptionFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
+        String mode = request.getHeader(ENCRYPTED_HEADER);
+        if (STREAM_MODE.equalsIgnoreCase(mode)) {
+            EncryptingResponse encryptingResponse = new EncryptingResponse(response);
+            filterChain.doFilter(new DecryptingRequest(request), encryptingResponse);
+            encryptingResponse.finish();
+            return;
+        }
         // Only encrypt the response if the client opted in by sending an encrypted request.
-        boolean clientWantsEncryption = "true".equalsIgnoreCase(request.getHeader(ENCRYPTED_HEADER));
+        if (!"true".equalsIgnoreCase(mode)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
 
         HttpServletRequest processedRequest = decryptRequest(request);
         ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
 
         filterChain.doFilter(processedRequest, responseWrapper);
 
-        if (clientWantsEncryption) {
-            encryptResponse(responseWrapper);
-        }
+        encryptResponse(responseWrapper);
         responseWrapper.copyBodyToResponse();
     }
 
@@ -86,11 +104,6 @@ public class PayloadEncryptionFilter extends OncePerRequestFilter {
      * If the request carries X-Encrypted: true, decrypt the body.
      */
     private HttpServletRequest decryptRequest(HttpServletRequest request) throws IOException {
-        String encryptedHeader = request.getHeader(ENCRYPTED_HEADER);
-        if (!"true".equalsIgnoreCase(encryptedHeader)) {
-            return request;
-        }
-
         byte[] rawBody = request.getInputStream().readAllBytes();
         if (rawBody.length == 0) {
             return request;
@@ -104,8 +117,8 @@ public class PayloadEncryptionFilter extends OncePerRequestFilter {
                 return request;
             }
 
-            String decrypted = cryptoService.decrypt(dataNode.asText());
-            return new CachedBodyHttpServletRequest(request, decrypted.getBytes(StandardCharsets.UTF_8));
+            byte[] decrypted = cryptoService.decrypt(Base64.getDecoder().decode(dataNode.asText()));
+            return new CachedBodyHttpServletRequest(request, decrypted);
         } catch (Exception e) {
             log.error("Failed to decrypt request payload", e);
             throw new IOException("Payload decryption failed", e);
@@ -133,11 +146,8 @@ public class PayloadEncryptionFilter extends OncePerRequestFilter {
         }
 
         try {
-            String plaintext = new String(body, StandardCharsets.UTF_8);
-            String encrypted = cryptoService.encrypt(plaintext);
-
             ObjectNode wrapper = objectMapper.createObjectNode();
-            wrapper.put(DATA_FIELD, encrypted);
+            wrapper.put(DATA_FIELD, Base64.getEncoder().encodeToString(cryptoService.encrypt(body)));
             byte[] encryptedBody = objectMapper.writeValueAsBytes(wrapper);
 
             responseWrapper.resetBuffer();
@@ -152,4 +162,192 @@ public class PayloadEncryptionFilter extends OncePerRequestFilter {
             // Fall through with original unencrypted body
         }
     }
+
+    // ── Streaming mode ───────────────────────────────────────────────────
+    /**
+     * Request whose body is decrypted frame by frame as it is read.
+     */
+    private final class DecryptingRequest extends HttpServletRequestWrapper {
+
+        private ServletInputStream stream;
+
+        private DecryptingRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (stream == null) {
+                InputStream plaintext = cryptoService.decryptingStream(super.getInputStream());
+                stream = new ServletInputStream() {
+                    private boolean finished;
+
+                    @Override
+                    public int read() throws IOException {
+                        int b = plaintext.read();
+                        finished = b < 0;
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        int n = plaintext.read(b, off, len);
+                        finished = n < 0;
+                        return n;
+                    }
+
+                    @Override
+                    public boolean isFinished() {
+                        return finished;
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setReadListener(ReadListener listener) {
+                        throw new UnsupportedOperationException("setReadListener not supported");
+                    }
+                };
+            }
+            return stream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset(getCharacterEncoding())));
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+    }
+
+    /**
+     * Response whose body is encrypted frame by frame as it is written. The
+     * plaintext length is unknown up front, so any content length set by the
+     * handler is dropped and the container falls back to chunked encoding.
+     */
+    private final class EncryptingResponse extends HttpServletResponseWrapper {
+
+        private FrameEncryptingOutputStream frames;
+        private ServletOutputStream stream;
+        private PrintWriter writer;
+
+        private EncryptingResponse(HttpServletResponse response) {
+            super(response);
+            response.setHeader(ENCRYPTED_HEADER, STREAM_MODE);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called");
+            }
+            return stream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                if (stream != null) {
+                    throw new IllegalStateException("getOutputStream() has already been called");
+                }
+                writer = new PrintWriter(new OutputStreamWriter(stream(), charset(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            // Ciphertext length differs from the plaintext length
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            // Ciphertext length differs from the plaintext length
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            } else if (stream != null) {
+                stream.flush();
+            }
+            super.flushBuffer();
+        }
+
+        @Override
+        public void resetBuffer() {
+            if (frames != null) {
+                throw new IllegalStateException("Encrypted response has already started streaming");
+            }
+            super.resetBuffer();
+        }
+
+        /**
+         * Emits the final frame. Called once the filter chain has returned.
+         */
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (frames == null) {
+                stream();
+            }
+            frames.finish();
+        }
+
+        private ServletOutputStream stream() throws IOException {
+            if (stream == null) {
+                ServletOutputStream raw = super.getOutputStream();
+                frames = cryptoService.openEncryptingStream(raw);
+                stream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        frames.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        frames.write(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        frames.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        frames.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return raw.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        raw.setWriteListener(listener);
+                    }
+                };
+            }
+            return stream;
+        }
+    }
+
+    private static Charset charset(String encoding) {
+        return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+    }
 }
@@ -0,0 +1,22 @@
+package com.beingadish.AroundU.infrastructure.security;
+
+import java.time.Instant;
+
+/**
+ * Invalidates already-issued access tokens for a user, e.g. when the account
+ * is deleted. Tokens are otherwise trusted until they expire, so the check
+ * sits on the authentication hot path and must not perform I/O per request.
+ */
+public interface TokenRevocationService {
+
+    /**
+     * @return {@code true} if tokens issued to this user at {@code issuedAt}
+     * have been revoked
+     */
+    boolean isRevoked(String role, Long userId, Instant issuedAt);
+
+    /**
+     * Revokes every token issued to the user up to now.
+     */
+    void revokeAll(String role, Long userId);
+}
@@ -0,0 +1,28 @@
+package com.beingadish.AroundU.infrastructure.security.impl;
+
+import com.beingadish.AroundU.infrastructure.security.TokenRevocationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+/**
+ * No-op revocation used in the test profile where Redis is unavailable.
+ * Tokens stay valid until they expire.
+ */
+@Service
+@Profile("test")
+@Slf4j
+public class NoOpTokenRevocationService implements TokenRevocationService {
+
+    @Override
+    public boolean isRevoked(String role, Long userId, Instant issuedAt) {
+        return false;
+    }
+
+    @Override
+    public void revokeAll(String role, Long userId) {
+        log.debug("NoOp token revocation for {} id={}", role, userId);
+    }
+}
@@ -0,0 +1,104 @@
+package com.beingadish.AroundU.infrastructure.security.impl;
+
+import com.beingadish.AroundU.infrastructure.security.JwtTokenProvider;
+import com.beingadish.AroundU.infrastructure.security.TokenRevocationService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis-backed token revocation.
+ * <p>
+ * Each revocation is a field {@code {role}:{userId}} in the hash
+ * {@code auth:revoked-before} holding the epoch second up to which that
+ * user's tokens are rejected. Revocations are rare and only matter until the
+ * revoked tokens expire, so every instance keeps the whole hash in memory and
+ * re-reads it on a short interval; {@link #isRevoked} is a map lookup.
+ * Entries older than the token lifetime are pruned during the refresh.
+ * <p>
+ * A revocation issued on another instance takes effect here within
+ * {@code jwt.revocation.refresh-interval-ms} (default 10s).
+ */
+@Service
+@Profile("!test")
+@RequiredArgsConstructor
+@Slf4j
+public class RedisTokenRevocationService implements TokenRevocationService {
+
+    private static final String KEY = "auth:revoked-before";
+
+    private final StringRedisTemplate redisTemplate;
+    private final JwtTokenProvider tokenProvider;
+    private final Clock clock;
+
+    private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        refresh();
+    }
+
+    @Override
+    public boolean isRevoked(String role, Long userId, Instant issuedAt) {
+        if (revokedBefore.isEmpty() || issuedAt == null) {
+            return false;
+        }
+        Long cutoff = revokedBefore.get(field(role, userId));
+        // iat has second precision, so a token minted in the revocation second is rejected too
+        return cutoff != null && issuedAt.getEpochSecond() <= cutoff;
+    }
+
+    @Override
+    public void revokeAll(String role, Long userId) {
+        String field = field(role, userId);
+        long cutoff = clock.instant().getEpochSecond();
+        revokedBefore.put(field, cutoff);
+        try {
+            redisTemplate.opsForHash().put(KEY, field, String.valueOf(cutoff));
+            log.info("Revoked tokens for {} issued up to {}", field, cutoff);
+        } catch (Exception ex) {
+            log.warn("Failed to publish token revocation for {}: {}", field, ex.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval-ms:10000}")
+    public void refresh() {
+        try {
+            Map<Object, Object> entries = redisTemplate.opsForHash().entries(KEY);
+            long expiredBefore = clock.instant().minusMillis(tokenProvider.getExpirationMs()).getEpochSecond();
+            List<Object> stale = new ArrayList<>();
+            Map<String, Long> snapshot = new ConcurrentHashMap<>();
+            entries.forEach((field, value) -> {
+                long cutoff = Long.parseLong(value.toString());
+                if (cutoff < expiredBefore) {
+                    stale.add(field);
+                } else {
+                    snapshot.put(field.toString(), cutoff);
+                }
+            });
+            if (!stale.isEmpty()) {
+                redisTemplate.opsForHash().delete(KEY, stale.toArray());
+            }
+            revokedBefore.keySet().retainAll(snapshot.keySet());
+            revokedBefore.putAll(snapshot);
+        } catch (Exception ex) {
+            // Keep the last known snapshot rather than failing authentication
+            log.warn("Failed to refresh token revocations: {}", ex.getMessage());
+        }
+    }
+
+    private static String field(String role, Long userId) {
+        return role + ":" + userId;
+    }
+}
@@ -1,11 +1,19 @@
 package com.beingadish.AroundU.infrastructure.storage;
 
+import com.beingadish.AroundU.common.exception.ImageSpoolFullException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
 /**
  * Abstraction for uploading/retrieving images (e.g. S3 / local file-system).
  * <p>
- * Production implementation wraps S3 calls with a Resilience4j circuit breaker
- * and retry; if S3 is unavailable, images are stored locally and queued for
- * async upload when the circuit closes.
+ * Uploads are streamed to a bounded local spool first and copied to the
+ * {@link ObjectStore} from there. If the object store is unavailable the
+ * image is served from the spool under {@code /local-images/<key>} and
+ * uploaded in the background once it recovers.
  */
 public interface ImageStorageService {
 
@@ -13,18 +21,42 @@ public interface ImageStorageService {
      * Upload an image.
      *
      * @param fileName unique file name / key
-     * @param data     raw image bytes
+     * @param data     image bytes; closed once read
+     * @param size     number of bytes in {@code data}
      * @return public URL or local path where the image can be served
+     * @throws ImageSpoolFullException if the spool has no room for the upload
      */
-    String uploadImage(String fileName, byte[] data);
+    String uploadImage(String fileName, InputStream data, long size) throws IOException;
 
     /**
-     * Retrieve the serving URL for a previously uploaded image.
+     * Retrieve the serving URL for a previously uploaded image, given its
+     * key. Resolve keys on every read: the URL changes once a spooled image
+     * reaches the object store. A value that already is a URL is returned
+     * as it is.
      */
     String getImageUrl(String fileName);
 
     /**
-     * Delete an image.
+     * The spooled file of an image that has not reached the object store
+     * yet, for serving the local URLs handed out meanwhile.
+     */
+    Optional<Path> findSpooled(String fileName);
+
+    /**
+     * Whether an image is stored, or spooled for upload, under
+     * {@code fileName}.
+     */
+    boolean exists(String fileName);
+
+    /**
+     * Delete an image, given its key or serving URL.
      */
     void deleteImage(String fileName);
+
+    /**
+     * Copies spooled images that are due to the object store.
+     *
+     * @return the number of images uploaded
+     */
+    int uploadPending();
 }
@@ -0,0 +1,80 @@
+package com.beingadish.AroundU.infrastructure.storage;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fixed renditions generated for every uploaded image. Each is bounded by
+ * {@link #maxEdge()} on its longer side and stored as JPEG under
+ * {@code images/<sha-256 of the upload>/<variant>.jpg}, so identical uploads
+ * share their objects.
+ */
+public enum ImageVariant {
+
+    /**
+     * Avatars in lists, chat and notifications.
+     */
+    SMALL(96),
+    /**
+     * Profile headers and job cards.
+     */
+    MEDIUM(320),
+    /**
+     * Full-screen view; replaces the original upload.
+     */
+    LARGE(1080);
+
+    private static final String PREFIX = "images/";
+    private static final String SUFFIX = ".jpg";
+    private static final Pattern KEY = Pattern.compile(
+            ".*" + PREFIX + "([0-9a-f]{64})/(small|medium|large)" + Pattern.quote(SUFFIX) + "$");
+
+    private final int maxEdge;
+
+    ImageVariant(int maxEdge) {
+        this.maxEdge = maxEdge;
+    }
+
+    public int maxEdge() {
+        return maxEdge;
+    }
+
+    /**
+     * Lower-case name used in object keys and API responses.
+     */
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Object key of this rendition of the image with the given content hash.
+     */
+    public String key(String contentHash) {
+        return PREFIX + contentHash + "/" + label() + SUFFIX;
+    }
+
+    /**
+     * Whether {@code urlOrKey} points at a content-addressed rendition. Such
+     * objects may be shared by several users and are never deleted on behalf
+     * of one of them.
+     */
+    public static boolean isContentAddressed(String urlOrKey) {
+        return urlOrKey != null && KEY.matcher(urlOrKey).matches();
+    }
+
+    /**
+     * Content hash of the rendition {@code urlOrKey} points at, so the key of
+     * any other size can be derived from it.
+     *
+     * @return {@code null} for {@code null} or for images stored before
+     * renditions were generated
+     */
+    public static String contentHash(String urlOrKey) {
+        if (urlOrKey == null) {
+            return null;
+        }
+        Matcher matcher = KEY.matcher(urlOrKey);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+}
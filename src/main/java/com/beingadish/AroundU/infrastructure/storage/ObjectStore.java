@@ -0,0 +1,34 @@
+package com.beingadish.AroundU.infrastructure.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Durable, publicly served object storage (e.g. S3) that images end up in.
+ * Objects are written from local files so an upload never has to sit in
+ * memory.
+ */
+public interface ObjectStore {
+
+    /**
+     * Stores the file under {@code key}, replacing any existing object.
+     *
+     * @return the object's public URL
+     */
+    String put(String key, Path source) throws IOException;
+
+    /**
+     * Deletes the object; a missing object is not an error.
+     */
+    void delete(String key) throws IOException;
+
+    /**
+     * Whether an object is stored under {@code key}.
+     */
+    boolean exists(String key) throws IOException;
+
+    /**
+     * Public URL of the object under {@code key}.
+     */
+    String url(String key);
+}
@@ -0,0 +1,65 @@
+package com.beingadish.AroundU.infrastructure.storage.controller;
+
+import com.beingadish.AroundU.infrastructure.storage.ImageStorageService;
+import com.beingadish.AroundU.infrastructure.storage.impl.ImageStorageServiceImpl;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Serves images that are still in the upload spool under the
+ * {@code /local-images/<key>} URLs handed out while the object store was
+ * unavailable. Once an image has been uploaded its local URL redirects to
+ * the object store, so URLs cached by clients keep working.
+ */
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Images", description = "Images waiting to be uploaded to the object store")
+public class LocalImageController {
+
+    private final ImageStorageService imageStorageService;
+
+    @GetMapping(ImageStorageServiceImpl.LOCAL_PREFIX + "{*key}")
+    @Operation(summary = "Get a spooled image",
+            description = "Streams the image from the local spool, or redirects to the object store once it is there")
+    public ResponseEntity<Resource> getImage(@PathVariable String key) throws IOException {
+        String objectKey = key.startsWith("/") ? key.substring(1) : key;
+        Optional<Path> spooled = imageStorageService.findSpooled(objectKey);
+        if (spooled.isPresent()) {
+            try {
+                // Opened before answering: the drain may delete the file, but not an open one
+                FileChannel file = FileChannel.open(spooled.get(), StandardOpenOption.READ);
+                return ResponseEntity.ok()
+                        .contentType(MediaTypeFactory.getMediaType(objectKey)
+                                .orElse(MediaType.APPLICATION_OCTET_STREAM))
+                        .contentLength(file.size())
+                        .body(new InputStreamResource(Channels.newInputStream(file)));
+            } catch (NoSuchFileException e) {
+                // Uploaded and removed since the lookup
+            }
+        }
+        String url = imageStorageService.getImageUrl(objectKey);
+        if (url.startsWith(ImageStorageServiceImpl.LOCAL_PREFIX)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.status(HttpStatus.FOUND).location(URI.create(url)).build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.beingadish.AroundU.infrastructure.storage.impl;
+
+import com.beingadish.AroundU.infrastructure.config.ImageStorageProperties;
+import com.beingadish.AroundU.infrastructure.storage.ObjectStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * {@link ObjectStore} on a local directory, standing in for S3 until a real
+ * client is wired in. Objects are copied channel to channel and appear under
+ * their key atomically.
+ */
+@Component
+@Slf4j
+public class FileSystemObjectStore implements ObjectStore {
+
+    private final Path root;
+    private final String publicBaseUrl;
+
+    public FileSystemObjectStore(ImageStorageProperties properties) throws IOException {
+        this.root = Files.createDirectories(Path.of(properties.getStore().getRoot())).toAbsolutePath().normalize();
+        this.publicBaseUrl = properties.getStore().getPublicBaseUrl();
+    }
+
+    @Override
+    public String put(String key, Path source) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        // Unique per call, so concurrent puts of one key never write the same file
+        Path part = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".part");
+        try {
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(part, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                long size = in.size();
+                for (long position = 0; position < size; ) {
+                    position += in.transferTo(position, size - position, out);
+                }
+                out.force(false);
+            }
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(part);
+            throw ex;
+        }
+        log.debug("Stored object {} ({} bytes)", key, Files.size(target));
+        return url(key);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public String url(String key) {
+        return publicBaseUrl + key;
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("Invalid object key: " + key);
+        }
+        return path;
+    }
+}
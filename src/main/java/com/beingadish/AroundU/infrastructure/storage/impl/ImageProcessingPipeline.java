@@ -0,0 +1,428 @@
+package com.beingadish.AroundU.infrastructure.storage.impl;
+
+import com.beingadish.AroundU.common.exception.ImageProcessingBusyException;
+import com.beingadish.AroundU.infrastructure.config.ImageStorageProperties;
+import com.beingadish.AroundU.infrastructure.storage.ImageStorageService;
+import com.beingadish.AroundU.infrastructure.storage.ImageVariant;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Node;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns an uploaded image into the fixed {@link ImageVariant} renditions.
+ * <p>
+ * The upload is streamed to a temporary file while its SHA-256 is computed,
+ * so the renditions can be keyed by content: if they are already stored the
+ * upload is not decoded at all. Otherwise it is decoded exactly once, turned
+ * upright by its EXIF orientation, and each rendition is scaled and
+ * JPEG-encoded in parallel on the {@code computationExecutor}; storing them
+ * then goes through {@link ImageStorageService} on the caller's thread,
+ * keeping I/O off the CPU-bound pool. The original upload itself is not
+ * kept.
+ * <p>
+ * A decoded image is held until its last rendition is encoded, so only
+ * {@code max-concurrent-decodes} uploads are decoded at once; others wait up
+ * to {@code decode-wait-ms} for a slot and are then rejected with
+ * {@link ImageProcessingBusyException}.
+ */
+@Component
+@Slf4j
+public class ImageProcessingPipeline {
+
+    private final ImageStorageService imageStorageService;
+    private final ImageStorageProperties.Pipeline properties;
+    private final Executor executor;
+    private final MeterRegistry registry;
+    private final Timer processingTimer;
+    private final Semaphore decodeSlots;
+
+    public ImageProcessingPipeline(ImageStorageService imageStorageService,
+                                   ImageStorageProperties properties,
+                                   @Qualifier("computationExecutor") Executor executor,
+                                   MeterRegistry registry) {
+        this.imageStorageService = imageStorageService;
+        this.properties = properties.getPipeline();
+        this.executor = executor;
+        this.registry = registry;
+        this.processingTimer = Timer.builder("aroundu.images.pipeline.duration")
+                .description("Decoding, scaling and encoding all renditions of one upload")
+                .register(registry);
+        this.decodeSlots = new Semaphore(this.properties.getMaxConcurrentDecodes(), true);
+    }
+
+    /**
+     * Stores every rendition of the image read from {@code data}.
+     *
+     * @param data image bytes; closed once read
+     * @param size number of bytes in {@code data}
+     * @throws IllegalArgumentException     if the data is not a decodable
+     *                                      image or exceeds the pixel limit
+     * @throws ImageProcessingBusyException if no decode slot frees up in time
+     * @throws IOException                  if the upload cannot be read or
+     *                                      stored
+     */
+    public ProcessedImage process(InputStream data, long size) throws IOException {
+        Path upload = Files.createTempFile("aroundu-upload-", ".tmp");
+        try {
+            String hash = copyAndHash(data, size, upload);
+            if (allStored(hash)) {
+                registry.counter("aroundu.images.pipeline", "outcome", "deduplicated").increment();
+                log.debug("Image {} already stored, skipping processing", hash);
+                return new ProcessedImage(hash, urls(hash), true);
+            }
+            Map<ImageVariant, byte[]> renditions;
+            acquireDecodeSlot();
+            try {
+                renditions = processingTimer.recordCallable(() -> render(upload));
+            } finally {
+                decodeSlots.release();
+            }
+            Map<ImageVariant, String> urls = new EnumMap<>(ImageVariant.class);
+            for (Map.Entry<ImageVariant, byte[]> rendition : renditions.entrySet()) {
+                String key = rendition.getKey().key(hash);
+                byte[] bytes = rendition.getValue();
+                urls.put(rendition.getKey(), imageStorageService.exists(key)
+                        ? imageStorageService.getImageUrl(key)
+                        : imageStorageService.uploadImage(key, new ByteArrayInputStream(bytes), bytes.length));
+            }
+            registry.counter("aroundu.images.pipeline", "outcome", "processed").increment();
+            log.debug("Image {} processed: {} bytes in, {} renditions out", hash, size, urls.size());
+            return new ProcessedImage(hash, urls, false);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting to process image", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Image processing failed", e);
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    // ── Internals ────────────────────────────────────────────────────────
+
+    private static String copyAndHash(InputStream data, long size, Path target) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(data, digest)) {
+            long copied = Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+            if (copied != size) {
+                throw new IOException("Upload does not match its declared size of " + size + " bytes");
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void acquireDecodeSlot() throws InterruptedException {
+        if (!decodeSlots.tryAcquire(properties.getDecodeWaitMs(), TimeUnit.MILLISECONDS)) {
+            registry.counter("aroundu.images.pipeline", "outcome", "busy").increment();
+            throw new ImageProcessingBusyException(properties.getRetryAfterSeconds());
+        }
+    }
+
+    private boolean allStored(String hash) {
+        for (ImageVariant variant : ImageVariant.values()) {
+            if (!imageStorageService.exists(variant.key(hash))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Map<ImageVariant, String> urls(String hash) {
+        Map<ImageVariant, String> urls = new EnumMap<>(ImageVariant.class);
+        for (ImageVariant variant : ImageVariant.values()) {
+            urls.put(variant, imageStorageService.getImageUrl(variant.key(hash)));
+        }
+        return urls;
+    }
+
+    /**
+     * Decodes the upload once and encodes every rendition from it in
+     * parallel.
+     */
+    private Map<ImageVariant, byte[]> render(Path upload) throws IOException {
+        BufferedImage source = decode(upload);
+        Map<ImageVariant, CompletableFuture<byte[]>> futures = new EnumMap<>(ImageVariant.class);
+        for (ImageVariant variant : ImageVariant.values()) {
+            futures.put(variant, CompletableFuture.supplyAsync(() -> encode(scale(source, variant.maxEdge())),
+                    executor));
+        }
+        Map<ImageVariant, byte[]> renditions = new EnumMap<>(ImageVariant.class);
+        try {
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        }
+        futures.forEach((variant, future) -> {
+            byte[] bytes = future.join();
+            renditions.put(variant, bytes);
+            DistributionSummary.builder("aroundu.images.pipeline.bytes")
+                    .description("Size of generated image renditions")
+                    .baseUnit("bytes")
+                    .tag("variant", variant.label())
+                    .register(registry)
+                    .record(bytes.length);
+        });
+        return renditions;
+    }
+
+    /**
+     * Decodes into an opaque RGB image turned upright by its EXIF
+     * orientation, checking the dimensions from the header first so an
+     * oversized image is rejected before it is inflated.
+     */
+    private BufferedImage decode(Path upload) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(upload.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                boolean jpeg = "jpeg".equalsIgnoreCase(reader.getFormatName());
+                reader.setInput(in, true, !jpeg);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > properties.getMaxPixels()) {
+                    throw new IllegalArgumentException("Image exceeds " + properties.getMaxPixels() + " pixels");
+                }
+                int orientation = jpeg ? exifOrientation(reader) : 1;
+                return orient(toRgb(reader.read(0)), orientation);
+            } catch (IIOException e) {
+                throw new IllegalArgumentException("Image could not be decoded: " + e.getMessage(), e);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage toRgb(BufferedImage decoded) {
+        if (decoded.getType() == BufferedImage.TYPE_INT_RGB) {
+            return decoded;
+        }
+        // Flatten transparency onto white; JPEG has no alpha channel
+        BufferedImage rgb = new BufferedImage(decoded.getWidth(), decoded.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.drawImage(decoded, 0, 0, Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    /**
+     * EXIF orientation (1–8) from the JPEG's APP1 segment, or 1 if it has
+     * none or it cannot be read. Cameras store portrait photos sideways and
+     * set this tag instead of rotating the pixels.
+     */
+    private static int exifOrientation(ImageReader reader) {
+        try {
+            IIOMetadata metadata = reader.getImageMetadata(0);
+            Node markers = metadata == null ? null
+                    : childNamed(metadata.getAsTree("javax_imageio_jpeg_image_1.0"), "markerSequence");
+            for (Node marker = markers == null ? null : markers.getFirstChild(); marker != null;
+                 marker = marker.getNextSibling()) {
+                Node tag = marker.getAttributes().getNamedItem("MarkerTag");
+                if (tag != null && "225".equals(tag.getNodeValue())
+                        && ((IIOMetadataNode) marker).getUserObject() instanceof byte[] app1) {
+                    int orientation = exifOrientation(app1);
+                    if (orientation != 0) {
+                        return orientation;
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("Could not read EXIF orientation: {}", e.getMessage());
+        }
+        return 1;
+    }
+
+    /**
+     * Orientation tag (0x0112) of IFD0 in an APP1 payload, or 0 if the
+     * payload is not EXIF or has no valid orientation.
+     */
+    private static int exifOrientation(byte[] app1) {
+        if (app1.length < 14 || app1[0] != 'E' || app1[1] != 'x' || app1[2] != 'i' || app1[3] != 'f') {
+            return 0;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(app1, 6, app1.length - 6).slice();
+        tiff.order(tiff.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        int ifd = tiff.getInt(4);
+        if (ifd < 8 || ifd + 2 > tiff.limit()) {
+            return 0;
+        }
+        int entries = tiff.getShort(ifd) & 0xffff;
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > tiff.limit()) {
+                break;
+            }
+            if ((tiff.getShort(entry) & 0xffff) == 0x0112) {
+                int orientation = tiff.getShort(entry + 8) & 0xffff;
+                return orientation >= 1 && orientation <= 8 ? orientation : 0;
+            }
+        }
+        return 0;
+    }
+
+    private static Node childNamed(Node parent, String name) {
+        for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (name.equals(child.getNodeName())) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Applies an EXIF orientation so the image displays upright without it:
+     * 2–4 mirror or turn it half way, 5–8 swap its width and height.
+     */
+    private static BufferedImage orient(BufferedImage source, int orientation) {
+        if (orientation < 2 || orientation > 8) {
+            return source;
+        }
+        int width = source.getWidth();
+        int height = source.getHeight();
+        boolean transposed = orientation >= 5;
+        BufferedImage upright = new BufferedImage(transposed ? height : width, transposed ? width : height,
+                BufferedImage.TYPE_INT_RGB);
+        int[] in = ((DataBufferInt) source.getRaster().getDataBuffer()).getData();
+        int[] out = ((DataBufferInt) upright.getRaster().getDataBuffer()).getData();
+        int outWidth = upright.getWidth();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int target = switch (orientation) {
+                    case 2 -> y * outWidth + (width - 1 - x);                   // mirror
+                    case 3 -> (height - 1 - y) * outWidth + (width - 1 - x);    // rotate 180
+                    case 4 -> (height - 1 - y) * outWidth + x;                  // flip
+                    case 5 -> x * outWidth + y;                                 // transpose
+                    case 6 -> x * outWidth + (height - 1 - y);                  // rotate 90 clockwise
+                    case 7 -> (width - 1 - x) * outWidth + (height - 1 - y);    // transverse
+                    default -> (width - 1 - x) * outWidth + y;                  // rotate 90 counter-clockwise
+                };
+                out[target] = in[y * width + x];
+            }
+        }
+        return upright;
+    }
+
+    /**
+     * Scales {@code source} so its longer side is at most {@code maxEdge},
+     * halving repeatedly with bilinear filtering first so large reductions
+     * keep their detail. Smaller images are not enlarged.
+     */
+    private static BufferedImage scale(BufferedImage source, int maxEdge) {
+        int longEdge = Math.max(source.getWidth(), source.getHeight());
+        if (longEdge <= maxEdge) {
+            return source;
+        }
+        double ratio = (double) maxEdge / longEdge;
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = resize(current, width, height);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static BufferedImage resize(BufferedImage source, int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    private byte[] encode(BufferedImage image) {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(image.getWidth() * image.getHeight() / 4);
+        try (MemoryCacheImageOutputStream out = new MemoryCacheImageOutputStream(bytes)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(properties.getJpegQuality());
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Renditions stored for one upload.
+     *
+     * @param contentHash  hex SHA-256 of the uploaded bytes
+     * @param urls         serving URL of each rendition
+     * @param deduplicated whether every rendition was already stored
+     */
+    public record ProcessedImage(String contentHash, Map<ImageVariant, String> urls, boolean deduplicated) {
+
+        public String url(ImageVariant variant) {
+            return urls.get(variant);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.beingadish.AroundU.infrastructure.storage.impl;
+
+import com.beingadish.AroundU.common.exception.ImageSpoolFullException;
+import com.beingadish.AroundU.infrastructure.config.ImageStorageProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded on-disk staging area for image uploads.
+ * <p>
+ * Uploads are streamed from the request straight into a file here, so an
+ * upload never sits on the heap, and stay until the object store has them.
+ * Total size and file count are capped by {@code storage.images.spool.*};
+ * an upload that would exceed either is rejected instead of filling the
+ * disk. A file appears under its final name only once complete, so the
+ * files found on startup are exactly the uploads still owed to the object
+ * store.
+ */
+@Component
+@Slf4j
+public class ImageSpool {
+
+    private static final String SUFFIX = ".img";
+    private static final String PART_SUFFIX = ".part";
+
+    private final Path dir;
+    private final ImageStorageProperties.Spool properties;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // Reserved before a file is written, so concurrent uploads cannot overshoot the caps
+    private long bytes;
+    private int files;
+
+    public ImageSpool(ImageStorageProperties properties, MeterRegistry registry) throws IOException {
+        this.properties = properties.getSpool();
+        this.dir = Files.createDirectories(Path.of(this.properties.getDir())).toAbsolutePath();
+        recover();
+        Gauge.builder("aroundu.images.spool.bytes", this, ImageSpool::bytes)
+                .description("Bytes of image uploads waiting for the object store")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("aroundu.images.spool.files", this, ImageSpool::files)
+                .description("Image uploads waiting for the object store")
+                .register(registry);
+    }
+
+    /**
+     * Streams exactly {@code size} bytes from {@code in} into the spool under
+     * {@code key}, replacing any earlier file for the key. The file is not
+     * {@link #due due} for upload before {@code nextAttemptAt}, which leaves
+     * the caller time to upload it first.
+     *
+     * @throws ImageSpoolFullException if the spool has no room for it
+     * @throws IOException             if the stream ends early, runs past
+     *                                 {@code size} or cannot be written
+     */
+    public Entry spool(String key, InputStream in, long size, Instant nextAttemptAt) throws IOException {
+        if (!reserve(size)) {
+            throw new ImageSpoolFullException(properties.getRetryAfterSeconds());
+        }
+        Path path = dir.resolve(URLEncoder.encode(key, StandardCharsets.UTF_8) + SUFFIX);
+        // Unique per call, so concurrent uploads of one key never write the same file
+        Path part = path.resolveSibling(path.getFileName() + "." + UUID.randomUUID() + PART_SUFFIX);
+        try {
+            try (ReadableByteChannel source = Channels.newChannel(in);
+                 FileChannel out = FileChannel.open(part, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                long written = 0;
+                while (written < size) {
+                    long n = out.transferFrom(source, written, size - written);
+                    if (n <= 0) {
+                        break;
+                    }
+                    written += n;
+                }
+                if (written != size || source.read(ByteBuffer.allocate(1)) >= 0) {
+                    throw new IOException("Upload of '" + key + "' does not match its declared size of "
+                            + size + " bytes");
+                }
+                out.force(false);
+            }
+            Files.move(part, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(part);
+            release(size);
+            throw ex;
+        }
+        Entry entry = new Entry(key, path, size, 0, nextAttemptAt);
+        Entry replaced = entries.put(key, entry);
+        if (replaced != null) {
+            release(replaced.size());
+        }
+        return entry;
+    }
+
+    public boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * File spooled under {@code key}; it may be deleted at any time once the
+     * object store has it.
+     */
+    public Optional<Path> path(String key) {
+        return Optional.ofNullable(entries.get(key)).map(Entry::path);
+    }
+
+    /**
+     * Up to {@code limit} files due for upload at {@code now}, oldest
+     * schedule first.
+     */
+    public List<Entry> due(Instant now, int limit) {
+        return entries.values().stream()
+                .filter(entry -> !entry.nextAttemptAt().isAfter(now))
+                .sorted(Comparator.comparing(Entry::nextAttemptAt))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Records a failed upload of {@code entry} and when to try it again.
+     */
+    public void reschedule(Entry entry, Instant nextAttemptAt) {
+        entries.replace(entry.key(), entry,
+                new Entry(entry.key(), entry.path(), entry.size(), entry.attempts() + 1, nextAttemptAt));
+    }
+
+    /**
+     * Drops the file for {@code entry} once the object store has it, unless
+     * the key has been spooled again in the meantime.
+     */
+    public void remove(Entry entry) {
+        if (entries.remove(entry.key(), entry)) {
+            delete(entry);
+        }
+    }
+
+    /**
+     * Drops whatever is spooled under {@code key}.
+     */
+    public void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            delete(entry);
+        }
+    }
+
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    public synchronized int files() {
+        return files;
+    }
+
+    private void delete(Entry entry) {
+        try {
+            Files.deleteIfExists(entry.path());
+        } catch (IOException ex) {
+            log.warn("Could not delete spooled image {}: {}", entry.path(), ex.getMessage());
+        }
+        release(entry.size());
+    }
+
+    private synchronized boolean reserve(long size) {
+        if (bytes + size > properties.getMaxBytes() || files + 1 > properties.getMaxFiles()) {
+            return false;
+        }
+        bytes += size;
+        files++;
+        return true;
+    }
+
+    private synchronized void release(long size) {
+        bytes -= size;
+        files--;
+    }
+
+    /**
+     * Re-queues complete files left by a previous run and removes partial
+     * ones.
+     */
+    private void recover() throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                if (name.endsWith(PART_SUFFIX)) {
+                    Files.deleteIfExists(path);
+                } else if (name.endsWith(SUFFIX)) {
+                    String key = URLDecoder.decode(name.substring(0, name.length() - SUFFIX.length()),
+                            StandardCharsets.UTF_8);
+                    long size = Files.size(path);
+                    reserveRecovered(size);
+                    entries.put(key, new Entry(key, path, size, 0, Instant.EPOCH));
+                }
+            }
+        }
+        if (!entries.isEmpty()) {
+            log.info("Recovered {} spooled image uploads ({} bytes) from {}", files, bytes, dir);
+        }
+    }
+
+    private synchronized void reserveRecovered(long size) {
+        bytes += size;
+        files++;
+    }
+
+    /**
+     * A spooled upload.
+     */
+    public record Entry(String key, Path path, long size, int attempts, Instant nextAttemptAt) {
+    }
+}
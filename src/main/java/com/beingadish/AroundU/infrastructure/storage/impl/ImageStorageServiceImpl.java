@@ -1,115 +1,182 @@
 package com.beingadish.AroundU.infrastructure.storage.impl;
 
-import com.beingadish.AroundU.infrastructure.metrics.MetricsService;
+import com.beingadish.AroundU.common.util.JitteredBackoff;
+import com.beingadish.AroundU.infrastructure.config.ImageStorageProperties;
 import com.beingadish.AroundU.infrastructure.storage.ImageStorageService;
+import com.beingadish.AroundU.infrastructure.storage.ObjectStore;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.retry.Retry;
-import lombok.Getter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
 import java.util.function.Supplier;
 
 /**
- * Image storage service with Resilience4j circuit breaker + retry + local
- * fallback.
+ * Image storage backed by an {@link ImageSpool} and an {@link ObjectStore},
+ * with a Resilience4j circuit breaker on the object store.
  * <p>
- * Execution order: {@code CircuitBreaker(Retry(s3Upload))}.
+ * Every upload is streamed into the spool first, then:
  * <ul>
- * <li>If S3 is healthy → upload directly and return the S3 URL.</li>
- * <li>If retries exhaust → store locally, queue async S3 upload, serve from
- * local.</li>
- * <li>If the circuit is open → fast-fail to local storage.</li>
+ * <li>If the object store is healthy → copy it there once, drop the spooled
+ * file and return the object URL.</li>
+ * <li>If that fails or the circuit is open → keep the file spooled, serve it
+ * under {@link #LOCAL_PREFIX} and leave it to {@link #uploadPending()},
+ * which retries with {@code CircuitBreaker(Retry(upload))} and exponential
+ * backoff between runs.</li>
  * </ul>
+ * Memory use does not depend on upload size or on how long the object store
+ * is down; the spool's caps bound the disk.
  */
 @Service
 @Slf4j
 public class ImageStorageServiceImpl implements ImageStorageService {
 
+    public static final String LOCAL_PREFIX = "/local-images/";
+
+    private final ObjectStore objectStore;
+    private final ImageSpool spool;
     private final CircuitBreaker circuitBreaker;
     private final Retry retry;
+    private final ImageStorageProperties.Spool properties;
+    private final MeterRegistry registry;
+    private final Clock clock;
 
-    /**
-     * Simulates local storage for fallback (in production: temp disk path).
-     * -- GETTER --
-     * Returns local storage map (visible for tests).
-     */
-    @Getter
-    private final Map<String, byte[]> localStorage = new ConcurrentHashMap<>();
-
-    /**
-     * Queue of file names awaiting async upload to S3.
-     * -- GETTER --
-     * Returns pending S3 upload queue (visible for monitoring / tests).
-     */
-    @Getter
-    private final Queue<String> pendingS3Uploads = new ConcurrentLinkedQueue<>();
-
-    public ImageStorageServiceImpl(@Qualifier("imageUploadCircuitBreaker") CircuitBreaker circuitBreaker,
+    public ImageStorageServiceImpl(ObjectStore objectStore,
+                                   ImageSpool spool,
+                                   @Qualifier("imageUploadCircuitBreaker") CircuitBreaker circuitBreaker,
                                    @Qualifier("imageUploadRetry") Retry retry,
-                                   MetricsService metricsService) {
+                                   ImageStorageProperties properties,
+                                   MeterRegistry registry,
+                                   Clock clock) {
+        this.objectStore = objectStore;
+        this.spool = spool;
         this.circuitBreaker = circuitBreaker;
         this.retry = retry;
+        this.properties = properties.getSpool();
+        this.registry = registry;
+        this.clock = clock;
     }
 
     @Override
-    public String uploadImage(String fileName, byte[] data) {
-        Supplier<String> decorated = CircuitBreaker.decorateSupplier(
-                circuitBreaker,
-                Retry.decorateSupplier(retry, () -> doUploadToS3(fileName, data))
-        );
-
+    public String uploadImage(String fileName, InputStream data, long size) throws IOException {
+        // Not due for the drain until this direct attempt has had its chance
+        ImageSpool.Entry entry = spool.spool(fileName, data, size,
+                clock.instant().plusMillis(properties.getInitialBackoffMs()));
         try {
-            String url = decorated.get();
-            log.debug("Image uploaded to S3: {}", url);
+            String url = CircuitBreaker.decorateSupplier(circuitBreaker, () -> put(entry)).get();
+            spool.remove(entry);
+            outcome("direct");
+            log.debug("Image uploaded to object store: {}", url);
             return url;
         } catch (Exception e) {
-            log.warn("S3 upload failed for '{}', storing locally and queuing: {}",
-                    fileName, e.getMessage());
-            return storeLocally(fileName, data);
+            outcome("spooled");
+            log.warn("Object store upload failed for '{}', serving it from the spool until it is uploaded "
+                    + "(pending={}): {}", fileName, spool.files(), e.getMessage());
+            return LOCAL_PREFIX + fileName;
         }
     }
 
     @Override
     public String getImageUrl(String fileName) {
-        if (localStorage.containsKey(fileName)) {
-            return "/local-images/" + fileName;
+        if (fileName.startsWith("/") || fileName.contains("://")) {
+            return fileName;
+        }
+        if (spool.contains(fileName)) {
+            return LOCAL_PREFIX + fileName;
+        }
+        return objectStore.url(fileName);
+    }
+
+    @Override
+    public Optional<Path> findSpooled(String fileName) {
+        return spool.path(fileName);
+    }
+
+    @Override
+    public boolean exists(String fileName) {
+        if (spool.contains(fileName)) {
+            return true;
+        }
+        try {
+            return objectStore.exists(fileName);
+        } catch (IOException | RuntimeException e) {
+            // Uploading again is harmless; failing the caller is not
+            log.warn("Could not check image '{}' in the object store: {}", fileName, e.getMessage());
+            return false;
         }
-        // In production: return pre-signed S3 URL
-        return "https://s3.example.com/aroundu-images/" + fileName;
     }
 
     @Override
     public void deleteImage(String fileName) {
-        localStorage.remove(fileName);
-        pendingS3Uploads.remove(fileName);
-        // TODO: also delete from S3 with resilience wrapping
-        log.info("Deleted image: {}", fileName);
+        String key = keyOf(fileName);
+        spool.remove(key);
+        try {
+            objectStore.delete(key);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not delete image '{}' from the object store: {}", key, e.getMessage());
+        }
+        log.info("Deleted image: {}", key);
+    }
+
+    @Override
+    public int uploadPending() {
+        int uploaded = 0;
+        for (ImageSpool.Entry entry : spool.due(clock.instant(), properties.getDrainBatchSize())) {
+            Supplier<String> upload = CircuitBreaker.decorateSupplier(circuitBreaker,
+                    Retry.decorateSupplier(retry, () -> put(entry)));
+            try {
+                upload.get();
+                spool.remove(entry);
+                outcome("drained");
+                uploaded++;
+            } catch (CallNotPermittedException e) {
+                // Circuit open: leave the rest for a later run
+                break;
+            } catch (Exception e) {
+                Instant retryAt = clock.instant().plus(backoff(entry.attempts() + 1));
+                spool.reschedule(entry, retryAt);
+                outcome("retried");
+                log.warn("Spooled image '{}' failed to upload (attempt {}), retrying at {}: {}",
+                        entry.key(), entry.attempts() + 1, retryAt, e.getMessage());
+            }
+        }
+        return uploaded;
     }
 
     // ── Internals ────────────────────────────────────────────────────────
 
-    /**
-     * Actual S3 upload. Replace with real AWS SDK call.
-     */
-    private String doUploadToS3(String fileName, byte[] data) {
-        // TODO: replace with real S3 client (PutObjectRequest)
-        log.info("Uploading to S3: {} ({} bytes)", fileName, data.length);
-        // Simulated success
-        return "https://s3.example.com/aroundu-images/" + fileName;
+    private String put(ImageSpool.Entry entry) {
+        try {
+            return objectStore.put(entry.key(), entry.path());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        return JitteredBackoff.delay(properties.getInitialBackoffMs(), properties.getMaxBackoffMs(), attempts);
     }
 
-    private String storeLocally(String fileName, byte[] data) {
-        localStorage.put(fileName, data);
-        pendingS3Uploads.offer(fileName);
-        log.info("Stored locally and queued for S3 upload (pending={}): {}",
-                pendingS3Uploads.size(), fileName);
-        return "/local-images/" + fileName;
+    private String keyOf(String urlOrKey) {
+        if (urlOrKey.startsWith(LOCAL_PREFIX)) {
+            return urlOrKey.substring(LOCAL_PREFIX.length());
+        }
+        String base = objectStore.url("");
+        return urlOrKey.startsWith(base) ? urlOrKey.substring(base.length()) : urlOrKey;
     }
 
+    private void outcome(String outcome) {
+        registry.counter("aroundu.images.uploads", "outcome", outcome).increment();
+    }
 }
@@ -0,0 +1,200 @@
+package com.beingadish.AroundU.infrastructure.websocket;
+
+import com.beingadish.AroundU.infrastructure.config.WebSocketProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opt-in compact binary (CBOR) encoding for STOMP payloads.
+ * <p>
+ * A client asks for it by sending {@code payload-codec:cbor} on its CONNECT
+ * frame. From then on every MESSAGE frame for that session — chat messages,
+ * status updates and typing events — is transcoded from the JSON produced by
+ * the broker into CBOR and sent as a binary WebSocket frame with content type
+ * {@code application/octet-stream;codec=cbor}. Other sessions keep receiving
+ * JSON text frames, so existing clients are unaffected.
+ * <p>
+ * Inbound frames carrying the same content type are decoded by
+ * {@link #messageConverter()}, which only matches that content type.
+ * <p>
+ * Publishers can restrict a frame to one audience with the
+ * {@link #AUDIENCE_HEADER} native header ({@link #compactOnly()} or
+ * {@link #jsonOnly()}), e.g. to send a newer payload shape only to clients
+ * that negotiated the codec. The header is stripped before delivery.
+ */
+@Component
+@Slf4j
+public class CompactPayloadCodec {
+
+    public static final String NEGOTIATION_HEADER = "payload-codec";
+    public static final String CODEC_NAME = "cbor";
+    public static final MimeType COMPACT_MIME_TYPE
+            = new MimeType(MimeTypeUtils.APPLICATION_OCTET_STREAM, Map.of("codec", CODEC_NAME));
+    public static final String AUDIENCE_HEADER = "codec-audience";
+    private static final String AUDIENCE_JSON = "json";
+
+    private final WebSocketProperties properties;
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper cborMapper = CBORMapper.builder()
+            .addModule(new JavaTimeModule())
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .build();
+    private final Set<String> compactSessions = ConcurrentHashMap.newKeySet();
+
+    private final Counter jsonBytes;
+    private final Counter compactBytes;
+
+    public CompactPayloadCodec(WebSocketProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.jsonBytes = Counter.builder("aroundu.websocket.payload.bytes")
+                .tag("codec", "json")
+                .description("Payload bytes of transcoded frames before conversion")
+                .register(registry);
+        this.compactBytes = Counter.builder("aroundu.websocket.payload.bytes")
+                .tag("codec", CODEC_NAME)
+                .description("Payload bytes of transcoded frames after conversion")
+                .register(registry);
+    }
+
+    /**
+     * Converter for inbound payloads sent as CBOR. Strict content-type
+     * matching keeps it out of the way of JSON traffic.
+     */
+    public MessageConverter messageConverter() {
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter(cborMapper, COMPACT_MIME_TYPE);
+        converter.setStrictContentTypeMatch(true);
+        return converter;
+    }
+
+    /**
+     * Publish headers delivering a frame only to sessions that negotiated the
+     * compact codec.
+     */
+    public static Map<String, Object> compactOnly() {
+        return Map.of(AUDIENCE_HEADER, CODEC_NAME);
+    }
+
+    /**
+     * Publish headers delivering a frame only to sessions that did not
+     * negotiate the compact codec.
+     */
+    public static Map<String, Object> jsonOnly() {
+        return Map.of(AUDIENCE_HEADER, AUDIENCE_JSON);
+    }
+
+    /**
+     * Records which sessions negotiated the compact codec on CONNECT.
+     */
+    public ChannelInterceptor inboundInterceptor() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+                if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())
+                        && properties.getCompression().isCompactPayloads()
+                        && CODEC_NAME.equalsIgnoreCase(accessor.getFirstNativeHeader(NEGOTIATION_HEADER))) {
+                    compactSessions.add(accessor.getSessionId());
+                }
+                return message;
+            }
+        };
+    }
+
+    /**
+     * Drops frames addressed to the other audience and re-encodes JSON
+     * MESSAGE payloads for sessions that negotiated CBOR.
+     */
+    public ChannelInterceptor outboundInterceptor() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+                boolean compact = sessionId != null && compactSessions.contains(sessionId);
+                String audience = NativeMessageHeaderAccessor.getFirstNativeHeader(AUDIENCE_HEADER, message.getHeaders());
+                if (audience != null) {
+                    if (compact != CODEC_NAME.equals(audience)) {
+                        return null;
+                    }
+                    message = withoutAudience(message);
+                }
+                if (!compact
+                        || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE
+                        || !(message.getPayload() instanceof byte[] json)) {
+                    return message;
+                }
+                return transcode(message, json);
+            }
+        };
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        compactSessions.remove(event.getSessionId());
+    }
+
+    /**
+     * Encodes a JSON document as CBOR. Exposed for benchmarks and tests.
+     */
+    public byte[] toCompact(byte[] json) throws IOException {
+        JsonNode tree = jsonMapper.readTree(json);
+        return cborMapper.writeValueAsBytes(tree);
+    }
+
+    private Message<?> withoutAudience(Message<?> message) {
+        // wrap() copies the native headers, which the broker shares across subscribers
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(message);
+        headers.removeNativeHeader(AUDIENCE_HEADER);
+        headers.setLeaveMutable(true);
+        return MessageBuilder.createMessage(message.getPayload(), headers.getMessageHeaders());
+    }
+
+    private Message<?> transcode(Message<?> message, byte[] json) {
+        SimpMessageHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, SimpMessageHeaderAccessor.class);
+        MimeType contentType = accessor != null ? accessor.getContentType() : null;
+        if (contentType == null || !MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(contentType)) {
+            return message;
+        }
+        try {
+            byte[] compact = toCompact(json);
+            jsonBytes.increment(json.length);
+            compactBytes.increment(compact.length);
+
+            SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            headers.copyHeaders(message.getHeaders());
+            headers.setContentType(COMPACT_MIME_TYPE);
+            headers.setLeaveMutable(true);
+            return MessageBuilder.createMessage(compact, headers.getMessageHeaders());
+        } catch (IOException e) {
+            log.debug("Sending JSON frame, CBOR transcoding failed: {}", e.getMessage());
+            return message;
+        }
+    }
+}
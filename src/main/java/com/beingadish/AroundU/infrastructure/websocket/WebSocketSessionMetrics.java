@@ -0,0 +1,157 @@
+package com.beingadish.AroundU.infrastructure.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-session outbound backlog tracking for STOMP clients.
+ * <p>
+ * A frame is counted as pending when it is published to the client outbound
+ * channel for a session and released once it has been written to that
+ * session's socket. The difference covers both the outbound executor queue and
+ * Spring's per-session send buffer, so a slow consumer shows up as a growing
+ * pending count well before the transport limits close it.
+ * <p>
+ * Exposed meters:
+ * <ul>
+ * <li>{@code aroundu.websocket.sessions.active}</li>
+ * <li>{@code aroundu.websocket.outbound.backlog} /
+ * {@code .backlog.max} — backlog across sessions</li>
+ * <li>{@code aroundu.websocket.outbound.pending} — backlog seen at enqueue
+ * time</li>
+ * <li>{@code aroundu.websocket.outbound.bytes} and
+ * {@code aroundu.websocket.send.duration} — socket writes</li>
+ * <li>{@code aroundu.websocket.sessions.terminated{reason=slow_consumer}}</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class WebSocketSessionMetrics implements ChannelInterceptor, WebSocketHandlerDecoratorFactory {
+
+    private final Map<String, AtomicInteger> pendingBySession = new ConcurrentHashMap<>();
+
+    private final DistributionSummary pendingAtEnqueue;
+    private final Counter bytesSent;
+    private final Timer sendTimer;
+    private final Counter slowConsumerTerminations;
+
+    public WebSocketSessionMetrics(MeterRegistry registry) {
+        this.pendingAtEnqueue = DistributionSummary.builder("aroundu.websocket.outbound.pending")
+                .description("Frames queued for a session when a new frame is enqueued")
+                .register(registry);
+        this.bytesSent = Counter.builder("aroundu.websocket.outbound.bytes")
+                .baseUnit("bytes")
+                .description("Bytes written to WebSocket clients")
+                .register(registry);
+        this.sendTimer = Timer.builder("aroundu.websocket.send.duration")
+                .description("Time spent writing a frame to a client socket")
+                .register(registry);
+        this.slowConsumerTerminations = Counter.builder("aroundu.websocket.sessions.terminated")
+                .tag("reason", "slow_consumer")
+                .description("Sessions closed for exceeding send time or buffer limits")
+                .register(registry);
+        Gauge.builder("aroundu.websocket.sessions.active", pendingBySession, Map::size)
+                .description("Open STOMP sessions")
+                .register(registry);
+        Gauge.builder("aroundu.websocket.outbound.backlog.max", this, WebSocketSessionMetrics::maxPending)
+                .description("Largest outbound backlog of any single session")
+                .register(registry);
+        Gauge.builder("aroundu.websocket.outbound.backlog", this, WebSocketSessionMetrics::totalPending)
+                .description("Outbound frames not yet written, across all sessions")
+                .register(registry);
+    }
+
+    // ── Outbound channel ─────────────────────────────────────────────────
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId != null) {
+            AtomicInteger pending = pendingBySession.get(sessionId);
+            if (pending != null) {
+                pendingAtEnqueue.record(pending.incrementAndGet());
+            }
+        }
+        return message;
+    }
+
+    // ── Session lifecycle ────────────────────────────────────────────────
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                AtomicInteger pending = new AtomicInteger();
+                pendingBySession.put(session.getId(), pending);
+                super.afterConnectionEstablished(new MeteredSession(session, pending));
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
+                AtomicInteger pending = pendingBySession.remove(session.getId());
+                if (CloseStatus.SESSION_NOT_RELIABLE.equals(status)) {
+                    slowConsumerTerminations.increment();
+                    log.warn("Closed slow WebSocket consumer session={} pendingFrames={}",
+                            session.getId(), pending != null ? pending.get() : 0);
+                }
+                super.afterConnectionClosed(session, status);
+            }
+        };
+    }
+
+    private double maxPending() {
+        return pendingBySession.values().stream().mapToInt(AtomicInteger::get).max().orElse(0);
+    }
+
+    private double totalPending() {
+        return pendingBySession.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    /**
+     * Wraps the raw container session underneath Spring's concurrent send
+     * buffer so completion of each socket write can be observed.
+     */
+    private final class MeteredSession extends WebSocketSessionDecorator {
+
+        private final AtomicInteger pending;
+
+        MeteredSession(WebSocketSession delegate, AtomicInteger pending) {
+            super(delegate);
+            this.pending = pending;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            long start = System.nanoTime();
+            try {
+                super.sendMessage(message);
+                bytesSent.increment(message.getPayloadLength());
+            } finally {
+                sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                // Error frames are written without passing the outbound channel
+                pending.updateAndGet(v -> Math.max(0, v - 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.beingadish.AroundU.job.event;
+
+/**
+ * Published when a job moves to {@code COMPLETED}, either through the
+ * worker's release code or a client status update.
+ */
+public record JobCompletedEvent(Long jobId, Long workerId) {
+}
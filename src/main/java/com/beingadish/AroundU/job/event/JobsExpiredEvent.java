@@ -0,0 +1,11 @@
+package com.beingadish.AroundU.job.event;
+
+import java.util.List;
+
+/**
+ * Published once per chunk of jobs closed by the expiration sweep, instead of
+ * one {@link JobExpiredEvent} per job.
+ */
+public record JobsExpiredEvent(List<JobExpiredEvent> jobs) {
+
+}
@@ -0,0 +1,16 @@
+package com.beingadish.AroundU.job.model;
+
+/**
+ * A job closed by the expiration sweep, as returned by the set-based update.
+ *
+ * @see com.beingadish.AroundU.job.repository.JobRepository#expireOpenJobs
+ */
+public interface ExpiredJob {
+
+    Long getId();
+
+    /**
+     * Id of the client who posted the job.
+     */
+    Long getClientId();
+}
@@ -0,0 +1,20 @@
+package com.beingadish.AroundU.job.model;
+
+/**
+ * An open job that has not received a bid, with the contact details needed
+ * to remind its client.
+ *
+ * @see com.beingadish.AroundU.job.repository.JobRepository#findZeroBidJobs
+ */
+public interface ZeroBidJob {
+
+    Long getId();
+
+    String getTitle();
+
+    Long getClientId();
+
+    String getClientName();
+
+    String getClientEmail();
+}
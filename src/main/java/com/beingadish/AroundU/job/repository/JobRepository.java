@@ -5,6 +5,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
@@ -12,9 +13,13 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.beingadish.AroundU.common.constants.enums.JobStatus;
+import com.beingadish.AroundU.infrastructure.analytics.model.HourlyTotal;
 import com.beingadish.AroundU.job.entity.Job;
+import com.beingadish.AroundU.job.model.ExpiredJob;
+import com.beingadish.AroundU.job.model.ZeroBidJob;
 
 @Repository
 public interface JobRepository extends JpaRepository<Job, Long> {
@@ -53,24 +58,113 @@ public interface JobRepository extends JpaRepository<Job, Long> {
     @Query("SELECT j.id FROM Job j WHERE j.jobStatus = :status")
     List<Long> findIdsByJobStatus(@Param("status") JobStatus status);
 
+    /**
+     * Ids of jobs in the given status whose id falls in shard {@code shard}
+     * of {@code shards}.
+     */
+    @Query("SELECT j.id FROM Job j WHERE j.jobStatus = :status AND MOD(j.id, :shards) = :shard")
+    List<Long> findIdsByJobStatusInShard(@Param("status") JobStatus status,
+            @Param("shards") int shards,
+            @Param("shard") int shard);
+
     List<Job> findTop100ByJobStatusOrderByCreatedAtDesc(JobStatus status);
 
-    @Query("SELECT j FROM Job j WHERE j.jobStatus = :status AND "
-            + "(j.scheduledStartTime IS NOT NULL AND j.scheduledStartTime < :now "
-            + "OR j.scheduledStartTime IS NULL AND j.createdAt < :fallback)")
-    List<Job> findExpiredJobs(@Param("status") JobStatus status,
+    /**
+     * Closes up to {@code limit} open jobs past their scheduled start (or, with
+     * no start time, created before {@code fallback}) in one statement and
+     * returns what was closed. Only jobs in shard {@code shard} of
+     * {@code shards} (by id) are considered. Rows locked by another
+     * transaction are skipped and picked up by a later chunk.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE jobs SET job_status = 'JOB_CLOSED_DUE_TO_EXPIRATION', updated_at = :now
+            WHERE id IN (
+                SELECT id FROM jobs
+                WHERE job_status = 'OPEN_FOR_BIDS'
+                  AND (scheduled_start_time < :now
+                       OR scheduled_start_time IS NULL AND created_at < :fallback)
+                  AND MOD(id, :shards) = :shard
+                ORDER BY id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED)
+            RETURNING id AS id, created_by AS "clientId"
+            """, nativeQuery = true)
+    List<ExpiredJob> expireOpenJobs(@Param("now") LocalDateTime now,
+            @Param("fallback") LocalDateTime fallback,
+            @Param("shards") int shards,
+            @Param("shard") int shard,
+            @Param("limit") int limit);
+
+    /**
+     * Closes those of {@code ids} that are still open and due at {@code now},
+     * for the expiry timer. A job rescheduled or taken off the market since it
+     * was queued is left alone.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE jobs SET job_status = 'JOB_CLOSED_DUE_TO_EXPIRATION', updated_at = :now
+            WHERE id IN (:ids)
+              AND job_status = 'OPEN_FOR_BIDS'
+              AND (scheduled_start_time <= :now
+                   OR scheduled_start_time IS NULL AND created_at <= :fallback)
+            RETURNING id AS id, created_by AS "clientId"
+            """, nativeQuery = true)
+    List<ExpiredJob> expireJobs(@Param("ids") Collection<Long> ids,
             @Param("now") LocalDateTime now,
             @Param("fallback") LocalDateTime fallback);
 
-    @Query("SELECT j FROM Job j WHERE j.jobStatus = :status AND j.createdAt < :before "
-            + "AND (SELECT COUNT(b) FROM Bid b WHERE b.job = j) = 0")
-    List<Job> findJobsWithZeroBids(@Param("status") JobStatus status,
-            @Param("before") LocalDateTime before);
+    /**
+     * One page of jobs in {@code status}, created before {@code before}, that
+     * have no bids, ordered by client then job so each client's jobs arrive
+     * together. Pass the last row's client and job ids to fetch the next page.
+     */
+    @Query("""
+            SELECT j.id AS id, j.title AS title, c.id AS clientId, c.name AS clientName, c.email AS clientEmail
+            FROM Job j JOIN j.createdBy c
+            WHERE j.jobStatus = :status AND j.createdAt < :before
+              AND (c.id > :afterClientId OR c.id = :afterClientId AND j.id > :afterJobId)
+              AND NOT EXISTS (SELECT b.id FROM Bid b WHERE b.job = j)
+            ORDER BY c.id, j.id
+            """)
+    List<ZeroBidJob> findZeroBidJobs(@Param("status") JobStatus status,
+            @Param("before") LocalDateTime before,
+            @Param("afterClientId") long afterClientId,
+            @Param("afterJobId") long afterJobId,
+            Limit limit);
 
     long countByJobStatusAndCreatedAtBetween(JobStatus status, LocalDateTime start, LocalDateTime end);
 
     long countByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
 
+    long countByJobStatusAndUpdatedAtBetween(JobStatus status, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Jobs created in {@code [from, to)}, per hour of day. {@code from} and
+     * {@code to} must lie within one day.
+     */
+    @Query("""
+            SELECT EXTRACT(HOUR FROM j.createdAt) AS hourOfDay, COUNT(j) AS total
+            FROM Job j
+            WHERE j.createdAt >= :from AND j.createdAt < :to
+            GROUP BY EXTRACT(HOUR FROM j.createdAt)
+            """)
+    List<HourlyTotal> countCreatedByHour(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Jobs in {@code status} last updated in {@code [from, to)}, per hour of
+     * day; for a terminal status this approximates when they reached it.
+     */
+    @Query("""
+            SELECT EXTRACT(HOUR FROM j.updatedAt) AS hourOfDay, COUNT(j) AS total
+            FROM Job j
+            WHERE j.jobStatus = :status AND j.updatedAt >= :from AND j.updatedAt < :to
+            GROUP BY EXTRACT(HOUR FROM j.updatedAt)
+            """)
+    List<HourlyTotal> countUpdatedByHour(@Param("status") JobStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
     /**
      * Does this worker currently have a non-terminal job (assigned to them)?
      */
@@ -92,4 +186,7 @@ public interface JobRepository extends JpaRepository<Job, Long> {
 
     @EntityGraph(attributePaths = {"jobLocation", "createdBy"})
     Page<Job> findByJobStatusIn(Collection<JobStatus> statuses, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"jobLocation"})
+    List<Job> findWithLocationByIdIn(Collection<Long> ids);
 }
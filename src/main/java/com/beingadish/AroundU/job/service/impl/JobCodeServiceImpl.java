@@ -3,6 +3,7 @@ package com.beingadish.AroundU.job.service.impl;
 import com.beingadish.AroundU.common.constants.enums.JobCodeStatus;
 import com.beingadish.AroundU.common.constants.enums.JobStatus;
 import com.beingadish.AroundU.job.entity.Job;
+import com.beingadish.AroundU.job.event.JobCompletedEvent;
 import com.beingadish.AroundU.job.entity.JobConfirmationCode;
 import com.beingadish.AroundU.job.mapper.JobConfirmationCodeMapper;
 import com.beingadish.AroundU.job.repository.JobConfirmationCodeRepository;
@@ -10,6 +11,7 @@ import com.beingadish.AroundU.job.repository.JobRepository;
 import com.beingadish.AroundU.job.service.JobCodeService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -33,6 +35,7 @@ public class JobCodeServiceImpl implements JobCodeService {
     private final JobRepository jobRepository;
     private final JobConfirmationCodeRepository codeRepository;
     private final JobConfirmationCodeMapper codeMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${otp.expiry-minutes:30}")
     private int otpExpiryMinutes;
@@ -190,6 +193,7 @@ public class JobCodeServiceImpl implements JobCodeService {
         // For cash (OFFLINE) jobs the worker collects payment directly.
         job.setJobStatus(JobStatus.COMPLETED);
         jobRepository.save(job);
+        eventPublisher.publishEvent(new JobCompletedEvent(jobId, workerId));
 
         log.info("Release OTP verified for jobId={} by workerId={}", jobId, workerId);
         return codeRepository.save(confirmation);
@@ -17,6 +17,7 @@ import com.beingadish.AroundU.location.entity.FailedGeoSync;
 import com.beingadish.AroundU.job.entity.Job;
 import com.beingadish.AroundU.common.entity.Skill;
 import com.beingadish.AroundU.user.entity.Worker;
+import com.beingadish.AroundU.job.event.JobCompletedEvent;
 import com.beingadish.AroundU.job.event.JobModifiedEvent;
 import com.beingadish.AroundU.job.exception.JobNotFoundException;
 import com.beingadish.AroundU.job.exception.JobValidationException;
@@ -30,6 +31,7 @@ import com.beingadish.AroundU.common.repository.SkillRepository;
 import com.beingadish.AroundU.common.service.SkillService;
 import com.beingadish.AroundU.user.repository.WorkerReadRepository;
 import com.beingadish.AroundU.infrastructure.cache.CacheEvictionService;
+import com.beingadish.AroundU.infrastructure.expiry.JobExpiryTimer;
 import com.beingadish.AroundU.location.service.JobGeoService;
 import com.beingadish.AroundU.job.service.JobService;
 import com.beingadish.AroundU.infrastructure.metrics.MetricsService;
@@ -94,6 +96,7 @@ public class JobServiceImpl implements JobService {
     private final ApplicationEventPublisher eventPublisher;
     private final CacheEvictionService cacheEvictionService;
     private final WorkerPenaltyService workerPenaltyService;
+    private final JobExpiryTimer jobExpiryTimer;
 
     @Override
     @Transactional
@@ -127,6 +130,7 @@ public class JobServiceImpl implements JobService {
             if (saved.getJobStatus() == JobStatus.OPEN_FOR_BIDS) {
                 safeGeoAdd(saved.getId(), location.getLatitude(), location.getLongitude());
             }
+            jobExpiryTimer.schedule(saved);
             metricsService.getJobsCreatedCounter().increment();
             metricsService.incrementActiveJobs();
             log.info("Created job id={} for client={}", saved.getId(), clientId);
@@ -163,6 +167,8 @@ public class JobServiceImpl implements JobService {
             safeGeoAdd(saved.getId(), location.getLatitude(), location.getLongitude());
             locationChanged = true;
         }
+        // The scheduled start time may have moved
+        jobExpiryTimer.schedule(saved);
         eventPublisher.publishEvent(new JobModifiedEvent(jobId, clientId, JobModifiedEvent.Type.UPDATED, locationChanged));
         cacheEvictionService.evictJobDetail(jobId);
         cacheEvictionService.evictClientJobsCaches(clientId);
@@ -273,6 +279,7 @@ public class JobServiceImpl implements JobService {
         job.setJobStatus(request.getNewStatus());
         Job saved = jobRepository.save(job);
         handleGeoOnStatusChange(saved, oldStatus, request.getNewStatus());
+        jobExpiryTimer.schedule(saved);
         // Record metrics for terminal statuses
         if (request.getNewStatus() == JobStatus.COMPLETED || request.getNewStatus() == JobStatus.PAYMENT_RELEASED) {
             metricsService.getJobsCompletedCounter().increment();
@@ -283,6 +290,10 @@ public class JobServiceImpl implements JobService {
         }
         log.info("Job id={} status updated from {} to {} by client {}", jobId, oldStatus, request.getNewStatus(), clientId);
         eventPublisher.publishEvent(new JobModifiedEvent(jobId, clientId, JobModifiedEvent.Type.STATUS_CHANGED, false));
+        if (request.getNewStatus() == JobStatus.COMPLETED) {
+            eventPublisher.publishEvent(new JobCompletedEvent(jobId,
+                    saved.getAssignedTo() != null ? saved.getAssignedTo().getId() : null));
+        }
         cacheEvictionService.evictJobDetail(jobId);
         cacheEvictionService.evictClientJobsCaches(clientId);
         cacheEvictionService.evictWorkerFeedCaches();
@@ -346,6 +357,7 @@ public class JobServiceImpl implements JobService {
         if (saved.getJobLocation() != null) {
             safeGeoAdd(saved.getId(), saved.getJobLocation().getLatitude(), saved.getJobLocation().getLongitude());
         }
+        jobExpiryTimer.schedule(saved);
 
         metricsService.getJobsCancelledCounter().increment();
         log.warn("Worker {} cancelled job {}. Job reverted to OPEN_FOR_BIDS.", workerId, jobId);
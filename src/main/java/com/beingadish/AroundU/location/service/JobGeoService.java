@@ -1,5 +1,6 @@
 package com.beingadish.AroundU.location.service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -9,6 +10,11 @@ public interface JobGeoService {
 
     void removeOpenJob(Long jobId);
 
+    /**
+     * Remove several jobs from the geo index in a single round trip.
+     */
+    void removeOpenJobs(Collection<Long> jobIds);
+
     List<Long> findNearbyOpenJobs(Double latitude, Double longitude, double radiusKm, int limit);
 
     /**
@@ -32,7 +32,8 @@ import java.util.stream.Collectors;
  * <li>On startup → bulk-sync all OPEN_FOR_BIDS jobs into the geo-index</li>
  * <li>Daily at 02:00 → prune stale entries from the geo-index</li>
  * <li>Every 5 minutes → retry failed geo-sync operations</li>
- * <li>After each job mutation commits → granular cache eviction</li>
+ * <li>After each job mutation commits → granular cache eviction, repeated
+ * by the domain event relay as a backstop</li>
  * </ul>
  */
 @Service
@@ -177,7 +178,10 @@ public class JobGeoSyncService {
     // ── Event-driven cache eviction (runs AFTER transaction commits) ─────
 
     /**
-     * Granular cache eviction triggered after a job mutation commits.
+     * Granular cache eviction triggered after a job mutation commits, so the
+     * next read sees the change. The relay delivers the same event to
+     * {@link com.beingadish.AroundU.infrastructure.events.consumer.CacheInvalidationEventConsumer},
+     * which evicts again in case this instance stopped before it got here.
      * <ul>
      * <li>Job detail cache → evict the specific job ID</li>
      * <li>Client jobs list → evict only the affected client's keys</li>
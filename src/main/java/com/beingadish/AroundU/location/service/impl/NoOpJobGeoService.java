@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -24,6 +25,11 @@ public class NoOpJobGeoService implements JobGeoService {
         log.debug("Railway profile: skipping geo remove for jobId={} (Redis disabled)", jobId);
     }
 
+    @Override
+    public void removeOpenJobs(Collection<Long> jobIds) {
+        log.debug("Railway profile: skipping geo remove for {} jobs (Redis disabled)", jobIds.size());
+    }
+
     @Override
     public List<Long> findNearbyOpenJobs(Double latitude, Double longitude, double radiusKm, int limit) {
         log.debug("Railway profile: geo search bypassed (Redis disabled)");
@@ -11,6 +11,7 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.domain.geo.GeoLocation;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -55,6 +56,21 @@ public class RedisJobGeoService implements JobGeoService {
         }
     }
 
+    @Override
+    public void removeOpenJobs(Collection<Long> jobIds) {
+        if (jobIds == null || jobIds.isEmpty()) {
+            return;
+        }
+        try {
+            // One variadic ZREM rather than a round trip per member
+            Object[] members = jobIds.stream().filter(Objects::nonNull).map(String::valueOf).toArray();
+            Long removed = stringRedisTemplate.opsForZSet().remove(OPEN_JOBS_GEO_KEY, members);
+            log.debug("Removed {} of {} jobs from geo set", removed, members.length);
+        } catch (Exception ex) {
+            log.warn("Redis geo remove failed for {} jobs: {}", jobIds.size(), ex.getMessage());
+        }
+    }
+
     @Override
     public List<Long> findNearbyOpenJobs(Double latitude, Double longitude, double radiusKm, int limit) {
         if (latitude == null || longitude == null) {
@@ -0,0 +1,82 @@
+package com.beingadish.AroundU.notification.entity;
+
+import com.beingadish.AroundU.notification.model.NotificationTopic;
+import com.beingadish.AroundU.notification.model.NotificationType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification waiting to be delivered, or already delivered.
+ * <p>
+ * Rows are written by whoever wants a message sent and drained by the
+ * dispatcher, which claims due rows in batches, hands each channel's rows to
+ * its provider and then marks them sent, reschedules them with backoff, or
+ * gives up on them as dead. Because the row outlives the process, a message
+ * is never lost to a restart; it may be delivered twice if a dispatcher dies
+ * between the provider call and marking the row sent.
+ */
+@Entity
+@Table(name = "notification_outbox",
+        indexes = @Index(name = "idx_notification_outbox_due", columnList = "status, next_attempt_at"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private NotificationType channel;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    /**
+     * Set for notifications that may be merged into a digest with the
+     * recipient's others on the same channel.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30)
+    private NotificationTopic topic;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    /**
+     * Delivery attempts so far, counted when a dispatcher claims the row.
+     */
+    @Column(nullable = false)
+    private int attempts;
+
+    /**
+     * When the row is next due; pushed forward while a dispatcher holds it.
+     */
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+
+    @Column(length = 2000)
+    private String lastError;
+
+    public enum Status {
+        PENDING, SENT, DEAD
+    }
+}
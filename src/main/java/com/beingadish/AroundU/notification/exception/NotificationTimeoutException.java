@@ -0,0 +1,7 @@
+package com.beingadish.AroundU.notification.exception;
+
+public class NotificationTimeoutException extends RuntimeException {
+    public NotificationTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.beingadish.AroundU.notification.model;
+
+/**
+ * A message of a batch the provider did not accept. A permanent failure
+ * (unknown recipient, rejected content) is not retried.
+ */
+public record DeliveryFailure(OutboundNotification notification, String error, boolean permanent) {
+
+}
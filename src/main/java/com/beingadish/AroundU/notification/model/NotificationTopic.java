@@ -0,0 +1,24 @@
+package com.beingadish.AroundU.notification.model;
+
+/**
+ * What a notification is about. Topics not listed in
+ * {@code notification.digest.urgent-topics} are held for the digest window
+ * and merged with the recipient's other notifications on the same channel.
+ */
+public enum NotificationTopic {
+    BID_PLACED("New bids"),
+    JOB_UPDATE("Job updates"),
+    JOB_EXPIRED("Expired jobs"),
+    JOB_REMINDER("Reminders"),
+    PAYMENT("Payments");
+
+    private final String label;
+
+    NotificationTopic(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+}
@@ -0,0 +1,9 @@
+package com.beingadish.AroundU.notification.model;
+
+/**
+ * Channel a notification is delivered on. Each channel has its own provider,
+ * bulkhead and outbox batches.
+ */
+public enum NotificationType {
+    EMAIL, PUSH, SMS
+}
@@ -0,0 +1,14 @@
+package com.beingadish.AroundU.notification.model;
+
+/**
+ * One message handed to a {@code NotificationProvider}. {@code id} is the
+ * outbox row it came from, or {@code null} for a message sent directly.
+ */
+public record OutboundNotification(Long id, NotificationType channel, String recipient, String subject,
+                                   String body) {
+
+    public static OutboundNotification of(NotificationType channel, String recipient, String subject,
+                                          String body) {
+        return new OutboundNotification(null, channel, recipient, subject, body);
+    }
+}
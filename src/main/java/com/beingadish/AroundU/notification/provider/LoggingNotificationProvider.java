@@ -0,0 +1,42 @@
+package com.beingadish.AroundU.notification.provider;
+
+import com.beingadish.AroundU.notification.model.DeliveryFailure;
+import com.beingadish.AroundU.notification.model.NotificationType;
+import com.beingadish.AroundU.notification.model.OutboundNotification;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * Stand-in provider that logs each batch and accepts every message, used
+ * until a real provider is wired for the channel.
+ */
+@Slf4j
+public class LoggingNotificationProvider implements NotificationProvider {
+
+    private final NotificationType channel;
+    private final int maxBatchSize;
+
+    public LoggingNotificationProvider(NotificationType channel, int maxBatchSize) {
+        this.channel = channel;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    @Override
+    public NotificationType channel() {
+        return channel;
+    }
+
+    @Override
+    public int maxBatchSize() {
+        return maxBatchSize;
+    }
+
+    @Override
+    public List<DeliveryFailure> send(List<OutboundNotification> batch) {
+        log.info("Sending {} {} notification(s) in one call", batch.size(), channel);
+        batch.forEach(message -> log.debug("{} to={} subject='{}'", channel, message.recipient(),
+                message.subject()));
+        return List.of();
+    }
+}
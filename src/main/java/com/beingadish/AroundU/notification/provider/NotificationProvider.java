@@ -0,0 +1,31 @@
+package com.beingadish.AroundU.notification.provider;
+
+import com.beingadish.AroundU.notification.model.DeliveryFailure;
+import com.beingadish.AroundU.notification.model.NotificationType;
+import com.beingadish.AroundU.notification.model.OutboundNotification;
+
+import java.util.List;
+
+/**
+ * Delivers messages of one channel through an external provider (SMTP or an
+ * email API, an SMS gateway, FCM / APNs).
+ */
+public interface NotificationProvider {
+
+    NotificationType channel();
+
+    /**
+     * Largest batch {@link #send} accepts in one call; 1 if the provider has
+     * no batch API.
+     */
+    int maxBatchSize();
+
+    /**
+     * Sends the batch in as few provider calls as the API allows.
+     *
+     * @return the messages that were not accepted; empty if all were
+     * @throws RuntimeException if the provider could not be reached, in which
+     *                          case none of the batch counts as sent
+     */
+    List<DeliveryFailure> send(List<OutboundNotification> batch);
+}
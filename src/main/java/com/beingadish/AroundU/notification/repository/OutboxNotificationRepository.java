@@ -0,0 +1,66 @@
+package com.beingadish.AroundU.notification.repository;
+
+import com.beingadish.AroundU.notification.entity.OutboxNotification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxNotificationRepository extends JpaRepository<OutboxNotification, Long> {
+
+    /**
+     * Claims up to {@code limit} due rows for this dispatcher: counts the
+     * attempt and hides the rows from other dispatchers until
+     * {@code claimedUntil}. Rows another dispatcher is claiming at the same
+     * moment are skipped rather than waited for.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE notification_outbox SET attempts = attempts + 1, next_attempt_at = :claimedUntil
+            WHERE id IN (
+                SELECT id FROM notification_outbox
+                WHERE status = 'PENDING' AND next_attempt_at <= :now
+                ORDER BY next_attempt_at
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED)
+            RETURNING *
+            """, nativeQuery = true)
+    List<OutboxNotification> claimDue(@Param("now") LocalDateTime now,
+            @Param("claimedUntil") LocalDateTime claimedUntil,
+            @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxNotification o SET o.status = 'SENT', o.sentAt = :now, o.lastError = NULL "
+            + "WHERE o.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxNotification o SET o.nextAttemptAt = :nextAttemptAt, o.lastError = :error "
+            + "WHERE o.id = :id")
+    int reschedule(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+            @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxNotification o SET o.status = 'DEAD', o.lastError = :error WHERE o.id = :id")
+    int markDead(@Param("id") Long id, @Param("error") String error);
+
+    long countByStatus(OutboxNotification.Status status);
+
+    @Query("SELECT MIN(o.createdAt) FROM OutboxNotification o WHERE o.status = 'PENDING'")
+    LocalDateTime findOldestPendingCreatedAt();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxNotification o WHERE o.status = 'SENT' AND o.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -7,10 +7,11 @@ import java.util.concurrent.CompletableFuture;
  * Abstraction for sending transactional emails.
  * <p>
  * Production implementation wraps calls with a Resilience4j circuit breaker and
- * retry; if sending fails, the email is queued for asynchronous retry.
+ * retry; if sending fails, the email is queued in the notification outbox for
+ * retry.
  * <p>
- * Async variants allow fire-and-forget or parallel email dispatch without
- * blocking the caller thread.
+ * Async variants hand the email to the outbox without blocking the caller
+ * thread; it is delivered in a batch by the outbox dispatcher.
  */
 public interface EmailService {
 
@@ -28,21 +29,19 @@ public interface EmailService {
     boolean sendAdminAlert(String subject, String body);
 
     /**
-     * Send an email asynchronously on the notification thread pool. The
-     * returned future completes with {@code true} on success, or completes
-     * exceptionally on permanent failure.
+     * Queue an email for delivery through the outbox. The returned future
+     * completes with {@code true} once the email is durably queued (or, if
+     * the outbox is unavailable, sent directly).
      */
     CompletableFuture<Boolean> sendEmailAsync(String to, String subject, String body);
 
     /**
-     * Sends multiple emails in parallel and waits for all to complete.
-     * Individual failures are logged but do not prevent other emails from being
-     * sent.
+     * Queues one email per recipient through the outbox in a single write.
      *
      * @param recipients list of email addresses
      * @param subject    shared subject line
      * @param body       shared body text
-     * @return future that completes when all emails have been dispatched
+     * @return future that completes when all emails have been queued
      */
     CompletableFuture<Void> sendBulkEmailAsync(List<String> recipients, String subject, String body);
 }
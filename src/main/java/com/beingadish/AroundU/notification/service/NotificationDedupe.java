@@ -0,0 +1,24 @@
+package com.beingadish.AroundU.notification.service;
+
+import java.time.Duration;
+
+/**
+ * Records which notifications have already gone out so that a scheduled run,
+ * a retry or another instance does not send the same one again.
+ */
+public interface NotificationDedupe {
+
+    /**
+     * Marks {@code key} as sent for {@code ttl}.
+     *
+     * @return {@code true} if the caller should send, {@code false} if the
+     * notification was already claimed
+     */
+    boolean claim(String key, Duration ttl);
+
+    /**
+     * Drops a claim whose notification could not be handed off, so a later
+     * run tries again.
+     */
+    void release(String key);
+}
@@ -0,0 +1,56 @@
+package com.beingadish.AroundU.notification.service;
+
+import com.beingadish.AroundU.notification.model.NotificationTopic;
+import com.beingadish.AroundU.notification.model.NotificationType;
+import com.beingadish.AroundU.notification.model.OutboundNotification;
+
+import java.util.List;
+
+/**
+ * Durable queue of notifications to deliver.
+ * <p>
+ * Enqueued messages are persisted and delivered by the dispatcher on any
+ * instance, in provider-sized batches, with retries and exponential backoff
+ * until they are sent or run out of attempts.
+ * <p>
+ * Messages queued under a non-urgent {@link NotificationTopic} wait for the
+ * recipient's digest window and go out merged with the recipient's other
+ * digested messages on that channel.
+ */
+public interface NotificationOutboxService {
+
+    void enqueue(NotificationType channel, String recipient, String subject, String body);
+
+    /**
+     * Queues a message for the recipient's next digest, or straight away if
+     * the topic is urgent or digests are off.
+     */
+    void enqueue(NotificationTopic topic, NotificationType channel, String recipient, String subject, String body);
+
+    /**
+     * Persists all messages in one batch insert. Ids on the messages are
+     * ignored.
+     */
+    void enqueueAll(List<OutboundNotification> notifications);
+
+    /**
+     * {@link #enqueueAll(List)} for messages on one topic, digested like
+     * {@link #enqueue(NotificationTopic, NotificationType, String, String, String)}.
+     */
+    void enqueueAll(NotificationTopic topic, List<OutboundNotification> notifications);
+
+    /**
+     * Claims and delivers due messages, batch by batch, until none are due or
+     * the per-run batch limit is reached.
+     *
+     * @return the number of messages delivered
+     */
+    int dispatchDue();
+
+    /**
+     * Deletes delivered messages past the retention period.
+     *
+     * @return the number of rows deleted
+     */
+    int purgeDelivered();
+}
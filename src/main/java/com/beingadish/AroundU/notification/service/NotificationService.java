@@ -6,9 +6,9 @@ import java.util.concurrent.CompletableFuture;
  * Service for sending notifications (email, push, SMS) asynchronously.
  * <p>
  * All notification methods are fire-and-forget — failures are logged and
- * persisted for retry, but never propagate to the caller. This ensures that
- * user-facing operations succeed even when the notification infrastructure is
- * degraded.
+ * queued in the notification outbox for retry, but never propagate to the
+ * caller. This ensures that user-facing operations succeed even when the
+ * notification infrastructure is degraded.
  */
 public interface NotificationService {
 
@@ -40,16 +40,16 @@ public interface NotificationService {
     CompletableFuture<Boolean> sendEmailAsync(String to, String subject, String body);
 
     /**
-     * Sends a push notification asynchronously.
+     * Queues a push notification in the outbox.
      *
-     * @return a CompletableFuture that completes when the push is delivered
+     * @return a CompletableFuture that completes when the push is queued
      */
     CompletableFuture<Boolean> sendPushAsync(Long userId, String title, String message);
 
     /**
-     * Sends an SMS asynchronously.
+     * Queues an SMS in the outbox.
      *
-     * @return a CompletableFuture that completes when the SMS is sent
+     * @return a CompletableFuture that completes when the SMS is queued
      */
     CompletableFuture<Boolean> sendSmsAsync(String phoneNumber, String message);
 }
@@ -0,0 +1,120 @@
+package com.beingadish.AroundU.notification.service.impl;
+
+import com.beingadish.AroundU.infrastructure.config.NotificationProperties;
+import com.beingadish.AroundU.notification.exception.NotificationTimeoutException;
+import com.beingadish.AroundU.notification.model.NotificationType;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Runs provider calls for each notification channel behind its own
+ * concurrency bulkhead and timeout, so a slow SMS gateway cannot hold up
+ * email or push.
+ * <p>
+ * Each call runs on a fresh virtual thread and the caller waits at most the
+ * channel's {@code timeout-ms}; a call still running then is interrupted.
+ * The bulkhead permit is held by the call itself, not the caller, so a call
+ * that ignores the interrupt keeps occupying its slot until it returns.
+ * Calls that find the bulkhead full for longer than {@code max-wait-ms} are
+ * rejected with {@link BulkheadFullException}, and timed-out calls fail with
+ * {@link NotificationTimeoutException}; callers fall back to the outbox.
+ */
+@Component
+@Slf4j
+public class ChannelBulkheads {
+
+    private final Map<NotificationType, Bulkhead> bulkheads = new EnumMap<>(NotificationType.class);
+    private final Map<NotificationType, Duration> timeouts = new EnumMap<>(NotificationType.class);
+    private final MeterRegistry registry;
+    private final ExecutorService callExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("notify-", 0).factory());
+
+    public ChannelBulkheads(NotificationProperties properties, MeterRegistry registry) {
+        this.registry = registry;
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.ofDefaults();
+        for (NotificationType channel : NotificationType.values()) {
+            NotificationProperties.Channel config = properties.channel(channel);
+            bulkheads.put(channel, bulkheadRegistry.bulkhead("notification-" + channel.name().toLowerCase(),
+                    BulkheadConfig.custom()
+                            .maxConcurrentCalls(config.getMaxConcurrentCalls())
+                            .maxWaitDuration(Duration.ofMillis(config.getMaxWaitMs()))
+                            .build()));
+            timeouts.put(channel, Duration.ofMillis(config.getTimeoutMs()));
+        }
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(registry);
+    }
+
+    /**
+     * Runs {@code call} under the channel's bulkhead and timeout. Exceptions
+     * thrown by the call are rethrown as they are.
+     */
+    public <T> T call(NotificationType channel, Callable<T> call) {
+        Bulkhead bulkhead = bulkheads.get(channel);
+        if (!bulkhead.tryAcquirePermission()) {
+            record(channel, "rejected");
+            throw BulkheadFullException.createBulkheadFullException(bulkhead);
+        }
+        Timer.Sample sample = Timer.start(registry);
+        FutureTask<T> task = new FutureTask<>(call);
+        try {
+            callExecutor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    bulkhead.onComplete();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            bulkhead.onComplete();
+            throw ex;
+        }
+        try {
+            T result = task.get(timeouts.get(channel).toMillis(), TimeUnit.MILLISECONDS);
+            record(channel, "success");
+            return result;
+        } catch (TimeoutException ex) {
+            task.cancel(true);
+            record(channel, "timeout");
+            throw new NotificationTimeoutException(channel + " call timed out after " + timeouts.get(channel));
+        } catch (ExecutionException ex) {
+            record(channel, "failure");
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            record(channel, "failure");
+            throw new IllegalStateException("Interrupted waiting for " + channel + " call", ex);
+        } finally {
+            sample.stop(registry.timer("aroundu.notifications.channel.duration", "channel", channel.name()));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        callExecutor.shutdownNow();
+    }
+
+    private void record(NotificationType channel, String outcome) {
+        registry.counter("aroundu.notifications.channel.calls", "channel", channel.name(), "outcome", outcome)
+                .increment();
+        if (!"success".equals(outcome)) {
+            log.debug("{} notification call ended with {}", channel, outcome);
+        }
+    }
+}
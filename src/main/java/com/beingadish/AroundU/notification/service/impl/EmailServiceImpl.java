@@ -1,7 +1,12 @@
 package com.beingadish.AroundU.notification.service.impl;
 
 import com.beingadish.AroundU.infrastructure.metrics.MetricsService;
+import com.beingadish.AroundU.notification.model.DeliveryFailure;
+import com.beingadish.AroundU.notification.model.NotificationType;
+import com.beingadish.AroundU.notification.model.OutboundNotification;
+import com.beingadish.AroundU.notification.provider.NotificationProvider;
 import com.beingadish.AroundU.notification.service.EmailService;
+import com.beingadish.AroundU.notification.service.NotificationOutboxService;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.retry.Retry;
 import lombok.extern.slf4j.Slf4j;
@@ -10,26 +15,29 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 /**
- * Email service with Resilience4j circuit breaker + retry + async queue
- * fallback, now enhanced with parallel async email dispatch.
+ * Email service with Resilience4j circuit breaker + retry, falling back to
+ * the durable notification outbox.
  * <p>
- * Execution order: {@code CircuitBreaker(Retry(actualSend))}.
+ * Execution order: {@code CircuitBreaker(Retry(Bulkhead(actualSend)))}. The
+ * email channel's {@link ChannelBulkheads bulkhead} and timeout bound each
+ * provider attempt, so a hung provider costs one attempt rather than
+ * abandoning the whole send mid-retry.
  * <ul>
  * <li>If the email provider is healthy → send immediately.</li>
- * <li>If retries are exhausted → queue for async retry.</li>
- * <li>If the circuit is open → fast-fail and queue.</li>
+ * <li>If retries are exhausted, or every attempt is rejected or times out →
+ * persist to the outbox for retry. This is the only fallback path.</li>
+ * <li>If the circuit is open → fast-fail and persist to the outbox.</li>
  * <li>User-facing operations still succeed (email is "best effort").</li>
  * </ul>
  *
- * <b>Async methods</b> use the {@code notificationExecutor} thread pool so
- * email dispatch never blocks HTTP request threads.
+ * <b>Async methods</b> do not call the provider at all: they write to the
+ * outbox on a virtual thread, and the dispatcher
+ * delivers in provider-sized batches.
  */
 @Service
 @Slf4j
@@ -38,23 +46,27 @@ public class EmailServiceImpl implements EmailService {
     private final CircuitBreaker circuitBreaker;
     private final Retry retry;
     private final MetricsService metricsService;
-    private final Executor notificationExecutor;
-    /**
-     * In-memory queue for failed emails; in production this would be a
-     * persistent queue (e.g. Redis list, SQS, RabbitMQ).
-     */
-    private final Queue<QueuedEmail> emailRetryQueue = new ConcurrentLinkedQueue<>();
+    private final Executor virtualThreadExecutor;
+    private final NotificationProvider emailProvider;
+    private final NotificationOutboxService outboxService;
+    private final ChannelBulkheads bulkheads;
     @Value("${admin.email:admin@aroundu.com}")
     private String adminEmail;
 
     public EmailServiceImpl(@Qualifier("emailServiceCircuitBreaker") CircuitBreaker circuitBreaker,
                             @Qualifier("emailServiceRetry") Retry retry,
                             MetricsService metricsService,
-                            @Qualifier("notificationExecutor") Executor notificationExecutor) {
+                            @Qualifier("virtualThreadExecutor") Executor virtualThreadExecutor,
+                            @Qualifier("emailProvider") NotificationProvider emailProvider,
+                            NotificationOutboxService outboxService,
+                            ChannelBulkheads bulkheads) {
         this.circuitBreaker = circuitBreaker;
         this.retry = retry;
         this.metricsService = metricsService;
-        this.notificationExecutor = notificationExecutor;
+        this.virtualThreadExecutor = virtualThreadExecutor;
+        this.emailProvider = emailProvider;
+        this.outboxService = outboxService;
+        this.bulkheads = bulkheads;
     }
 
     // ── Synchronous (blocking) ───────────────────────────────────────────
@@ -62,13 +74,14 @@ public class EmailServiceImpl implements EmailService {
     public boolean sendEmail(String to, String subject, String body) {
         Supplier<Boolean> decorated = CircuitBreaker.decorateSupplier(
                 circuitBreaker,
-                Retry.decorateSupplier(retry, () -> doSendEmail(to, subject, body))
+                Retry.decorateSupplier(retry,
+                        () -> bulkheads.call(NotificationType.EMAIL, () -> doSendEmail(to, subject, body)))
         );
 
         try {
             return decorated.get();
         } catch (Exception e) {
-            log.warn("Email to {} failed after retries, queuing for async retry: {}",
+            log.warn("Email to {} failed after retries, queuing in the outbox: {}",
                     to, e.getMessage());
             queueForRetry(to, subject, body);
             return false;
@@ -83,70 +96,66 @@ public class EmailServiceImpl implements EmailService {
     // ── Asynchronous (non-blocking) ──────────────────────────────────────
 
     /**
-     * Sends a single email asynchronously on the notification thread pool.
+     * Queues a single email in the outbox on a virtual thread.
+     * If the outbox cannot be written, falls back to sending immediately.
      * <p>
-     * Performance: frees the calling thread immediately; the actual send (with
-     * circuit breaker + retry) runs on a background thread.
+     * Performance: frees the calling thread immediately, and the email joins
+     * the dispatcher's next provider batch instead of costing a call of its
+     * own.
      */
     @Override
     public CompletableFuture<Boolean> sendEmailAsync(String to, String subject, String body) {
-        return CompletableFuture.supplyAsync(() -> sendEmail(to, subject, body), notificationExecutor)
-                .exceptionally(ex -> {
-                    log.warn("Async email to {} failed: {}", to, ex.getMessage());
-                    queueForRetry(to, subject, body);
-                    return false;
-                });
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                outboxService.enqueue(NotificationType.EMAIL, to, subject, body);
+                return true;
+            } catch (RuntimeException ex) {
+                log.warn("Could not queue email to {}, sending directly: {}", to, ex.getMessage());
+                return sendEmail(to, subject, body);
+            }
+        }, virtualThreadExecutor);
     }
 
     /**
-     * Sends emails to multiple recipients in parallel on the notification
-     * thread pool, waiting for all to complete.
+     * Queues one email per recipient in the outbox with a single batch
+     * insert.
      * <p>
-     * Performance: N emails sent concurrently ≈ latency of the slowest one
-     * instead of sum of all latencies.
+     * Performance: one write for N recipients; delivery then goes out in
+     * provider-sized batches.
      */
     @Override
     public CompletableFuture<Void> sendBulkEmailAsync(List<String> recipients, String subject, String body) {
         if (recipients == null || recipients.isEmpty()) {
             return CompletableFuture.completedFuture(null);
         }
-        log.info("Sending bulk email to {} recipients, subject='{}'", recipients.size(), subject);
-        CompletableFuture<?>[] futures = recipients.stream()
-                .map(to -> sendEmailAsync(to, subject, body))
-                .toArray(CompletableFuture[]::new);
-        return CompletableFuture.allOf(futures);
+        log.info("Queuing bulk email to {} recipients, subject='{}'", recipients.size(), subject);
+        return CompletableFuture.runAsync(() -> outboxService.enqueueAll(recipients.stream()
+                .map(to -> OutboundNotification.of(NotificationType.EMAIL, to, subject, body))
+                .toList()), virtualThreadExecutor);
     }
 
     // ── Internals ────────────────────────────────────────────────────────
 
     /**
-     * Actual email send. In production this would call an SMTP library or REST
-     * API (SendGrid, SES, etc.).
+     * Actual email send, as a batch of one through the email provider. Runs
+     * on the bulkhead's virtual thread and is interrupted on timeout.
      */
     private boolean doSendEmail(String to, String subject, String body) {
-        // TODO: replace with real email provider integration
         log.info("Sending email to={} subject='{}'", to, subject);
-        // Simulated — always succeeds for now
+        List<DeliveryFailure> failures = emailProvider.send(
+                List.of(OutboundNotification.of(NotificationType.EMAIL, to, subject, body)));
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Email rejected: " + failures.getFirst().error());
+        }
         return true;
     }
 
     private void queueForRetry(String to, String subject, String body) {
-        emailRetryQueue.offer(new QueuedEmail(to, subject, body, System.currentTimeMillis()));
-        log.info("Queued email for retry (queue size={}): to={} subject='{}'",
-                emailRetryQueue.size(), to, subject);
-    }
-
-    /**
-     * Returns the pending-retry queue (visible for monitoring / tests).
-     */
-    public Queue<QueuedEmail> getEmailRetryQueue() {
-        return emailRetryQueue;
-    }
-
-    /**
-     * Simple value holder for a queued email.
-     */
-    public record QueuedEmail(String to, String subject, String body, long queuedAtMillis) {
-
+        try {
+            outboxService.enqueue(NotificationType.EMAIL, to, subject, body);
+            log.info("Queued email for retry: to={} subject='{}'", to, subject);
+        } catch (RuntimeException ex) {
+            log.error("Email to {} lost: could not be sent or queued: {}", to, ex.getMessage());
+        }
     }
 }
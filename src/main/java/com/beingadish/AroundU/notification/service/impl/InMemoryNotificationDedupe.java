@@ -0,0 +1,45 @@
+package com.beingadish.AroundU.notification.service.impl;
+
+import com.beingadish.AroundU.notification.service.NotificationDedupe;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-instance {@link NotificationDedupe} for the test profile.
+ */
+@Service
+@Profile("test")
+public class InMemoryNotificationDedupe implements NotificationDedupe {
+
+    private final Map<String, Instant> claims = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public InMemoryNotificationDedupe(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean claim(String key, Duration ttl) {
+        Instant now = clock.instant();
+        boolean[] claimed = {false};
+        claims.compute(key, (k, until) -> {
+            if (until != null && until.isAfter(now)) {
+                return until;
+            }
+            claimed[0] = true;
+            return now.plus(ttl);
+        });
+        return claimed[0];
+    }
+
+    @Override
+    public void release(String key) {
+        claims.remove(key);
+    }
+}
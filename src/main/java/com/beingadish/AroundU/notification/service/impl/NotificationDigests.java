@@ -0,0 +1,60 @@
+package com.beingadish.AroundU.notification.service.impl;
+
+import com.beingadish.AroundU.notification.entity.OutboxNotification;
+import com.beingadish.AroundU.notification.model.NotificationTopic;
+import com.beingadish.AroundU.notification.model.NotificationType;
+import com.beingadish.AroundU.notification.model.OutboundNotification;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Digest timing and composition for the outbox.
+ */
+final class NotificationDigests {
+
+    private static final int SUMMARY_LENGTH = 120;
+
+    private NotificationDigests() {
+    }
+
+    /**
+     * End of the recipient's current digest window, in epoch millis. Windows
+     * are aligned per recipient and channel, so everything queued for them
+     * within one window falls due at the same instant and is claimed
+     * together.
+     */
+    static long dueAt(long nowMillis, long windowMillis, NotificationType channel, String recipient) {
+        long offset = Math.floorMod((long) (channel.name() + ':' + recipient).hashCode(), windowMillis);
+        return (Math.floorDiv(nowMillis - offset, windowMillis) + 1) * windowMillis + offset;
+    }
+
+    /**
+     * One message standing for all of {@code rows}: counts per topic, then a
+     * line per notification up to {@code maxItems}.
+     */
+    static OutboundNotification compose(List<OutboxNotification> rows, int maxItems) {
+        OutboxNotification first = rows.getFirst();
+        Map<NotificationTopic, Integer> counts = new EnumMap<>(NotificationTopic.class);
+        rows.forEach(row -> counts.merge(row.getTopic(), 1, Integer::sum));
+
+        String subject = counts.size() == 1
+                ? first.getTopic().label() + " (" + rows.size() + ")"
+                : rows.size() + " new notifications";
+        StringBuilder body = new StringBuilder();
+        counts.forEach((topic, count) -> body.append(topic.label()).append(": ").append(count).append('\n'));
+        body.append('\n');
+        rows.stream().limit(maxItems).forEach(row -> body.append("• ").append(summary(row)).append('\n'));
+        if (rows.size() > maxItems) {
+            body.append("…and ").append(rows.size() - maxItems).append(" more\n");
+        }
+        return new OutboundNotification(first.getId(), first.getChannel(), first.getRecipient(),
+                first.getChannel() == NotificationType.SMS ? null : subject, body.toString().stripTrailing());
+    }
+
+    private static String summary(OutboxNotification row) {
+        String text = row.getSubject() != null ? row.getSubject() : row.getBody();
+        return text.length() > SUMMARY_LENGTH ? text.substring(0, SUMMARY_LENGTH - 1) + "…" : text;
+    }
+}
@@ -0,0 +1,336 @@
+package com.beingadish.AroundU.notification.service.impl;
+
+import com.beingadish.AroundU.common.util.JitteredBackoff;
+import com.beingadish.AroundU.infrastructure.config.NotificationProperties;
+import com.beingadish.AroundU.notification.entity.OutboxNotification;
+import com.beingadish.AroundU.notification.model.DeliveryFailure;
+import com.beingadish.AroundU.notification.model.NotificationTopic;
+import com.beingadish.AroundU.notification.model.NotificationType;
+import com.beingadish.AroundU.notification.model.OutboundNotification;
+import com.beingadish.AroundU.notification.provider.NotificationProvider;
+import com.beingadish.AroundU.notification.repository.OutboxNotificationRepository;
+import com.beingadish.AroundU.notification.service.NotificationOutboxService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbox backed by the {@code notification_outbox} table.
+ * <p>
+ * Dispatch claims due rows with {@code FOR UPDATE SKIP LOCKED}, so every
+ * instance can dispatch at once without handing out a row twice. Claimed
+ * rows are grouped by channel, each channel is sent on its own virtual
+ * thread, and within a channel rows go out in batches of the provider's
+ * {@link NotificationProvider#maxBatchSize()} through that channel's
+ * {@link ChannelBulkheads bulkhead and timeout}. Rows the provider accepts are
+ * marked sent; the rest are retried after
+ * {@code initial-backoff × 2^(attempt-1)}, capped at {@code max-backoff} and
+ * jittered to half to full of that so rows that failed together do not
+ * retry together, until they run out of attempts.
+ * <p>
+ * Digested rows are queued due at the end of their recipient's digest window
+ * (see {@link NotificationDigests#dueAt}), so a recipient's rows on a channel
+ * are claimed together; the claimed rows of one recipient go out as a single
+ * {@link NotificationDigests#compose composed} message and succeed or fail
+ * together.
+ */
+@Service
+@Slf4j
+public class NotificationOutboxServiceImpl implements NotificationOutboxService {
+
+    private final OutboxNotificationRepository outboxRepository;
+    private final Map<NotificationType, NotificationProvider> providers = new EnumMap<>(NotificationType.class);
+    private final ChannelBulkheads bulkheads;
+    private final NotificationProperties properties;
+    private final MeterRegistry registry;
+    private final Clock clock;
+
+    private final DistributionSummary throughput;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong oldestPendingAgeSeconds = new AtomicLong();
+
+    public NotificationOutboxServiceImpl(OutboxNotificationRepository outboxRepository,
+                                         List<NotificationProvider> providers,
+                                         ChannelBulkheads bulkheads,
+                                         NotificationProperties properties,
+                                         MeterRegistry registry,
+                                         Clock clock) {
+        this.outboxRepository = outboxRepository;
+        providers.forEach(provider -> this.providers.put(provider.channel(), provider));
+        this.bulkheads = bulkheads;
+        this.properties = properties;
+        this.registry = registry;
+        this.clock = clock;
+        this.throughput = DistributionSummary.builder("aroundu.notifications.outbox.throughput")
+                .baseUnit("messages/s")
+                .description("Notifications delivered per second, per dispatch run")
+                .register(registry);
+        Gauge.builder("aroundu.notifications.outbox.backlog", backlog, AtomicLong::get)
+                .description("Notifications waiting for delivery")
+                .register(registry);
+        Gauge.builder("aroundu.notifications.outbox.age", oldestPendingAgeSeconds, AtomicLong::get)
+                .baseUnit("seconds")
+                .description("Age of the oldest notification waiting for delivery")
+                .register(registry);
+    }
+
+    // ── Enqueue ──────────────────────────────────────────────────────────
+    @Override
+    public void enqueue(NotificationType channel, String recipient, String subject, String body) {
+        enqueue(null, channel, recipient, subject, body);
+    }
+
+    @Override
+    public void enqueue(NotificationTopic topic, NotificationType channel, String recipient, String subject,
+                        String body) {
+        outboxRepository.save(pending(topic, channel, recipient, subject, body, LocalDateTime.now(clock)));
+        enqueued(channel, 1);
+    }
+
+    @Override
+    public void enqueueAll(List<OutboundNotification> notifications) {
+        enqueueAll(null, notifications);
+    }
+
+    @Override
+    public void enqueueAll(NotificationTopic topic, List<OutboundNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        outboxRepository.saveAll(notifications.stream()
+                .map(n -> pending(topic, n.channel(), n.recipient(), n.subject(), n.body(), now))
+                .toList());
+        notifications.forEach(n -> enqueued(n.channel(), 1));
+    }
+
+    // ── Dispatch ─────────────────────────────────────────────────────────
+    @Override
+    public int dispatchDue() {
+        NotificationProperties.Outbox config = properties.getOutbox();
+        long started = System.nanoTime();
+        int delivered = 0;
+        for (int batch = 0; batch < config.getMaxBatchesPerRun(); batch++) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            List<OutboxNotification> claimed = outboxRepository.claimDue(now,
+                    now.plus(Duration.ofMillis(config.getClaimTimeoutMs())), config.getClaimBatchSize());
+            if (claimed.isEmpty()) {
+                break;
+            }
+            delivered += deliver(claimed);
+            if (claimed.size() < config.getClaimBatchSize()) {
+                break;
+            }
+        }
+        if (delivered > 0) {
+            double seconds = Math.max(System.nanoTime() - started, 1) / 1e9;
+            throughput.record(delivered / seconds);
+        }
+        refreshBacklog();
+        return delivered;
+    }
+
+    @Override
+    public int purgeDelivered() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minusDays(properties.getOutbox().getRetentionDays());
+        int deleted = outboxRepository.deleteSentBefore(cutoff);
+        if (deleted > 0) {
+            log.info("Purged {} delivered notifications sent before {}", deleted, cutoff);
+        }
+        return deleted;
+    }
+
+    /**
+     * Sends one claimed batch, all channels side by side, and records the
+     * outcome of every row.
+     */
+    private int deliver(List<OutboxNotification> claimed) {
+        Map<NotificationType, List<OutboxNotification>> byChannel = new EnumMap<>(NotificationType.class);
+        claimed.forEach(row -> byChannel.computeIfAbsent(row.getChannel(), c -> new ArrayList<>()).add(row));
+
+        List<Future<Integer>> channels = new ArrayList<>();
+        try (ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor()) {
+            byChannel.forEach((channel, rows) -> channels.add(scope.submit(() -> deliver(channel, rows))));
+        }
+        int delivered = 0;
+        for (Future<Integer> channel : channels) {
+            if (channel.state() == Future.State.FAILED) {
+                throw channel.exceptionNow() instanceof RuntimeException ex ? ex
+                        : new IllegalStateException(channel.exceptionNow());
+            }
+            delivered += channel.resultNow();
+        }
+        return delivered;
+    }
+
+    private int deliver(NotificationType channel, List<OutboxNotification> rows) {
+        NotificationProvider provider = providers.get(channel);
+        if (provider == null) {
+            fail(rows, "No provider for channel " + channel, true);
+            return 0;
+        }
+        List<Delivery> deliveries = digest(channel, rows);
+        int delivered = 0;
+        int size = provider.maxBatchSize();
+        for (int from = 0; from < deliveries.size(); from += size) {
+            delivered += sendBatch(provider, deliveries.subList(from, Math.min(from + size, deliveries.size())));
+        }
+        return delivered;
+    }
+
+    /**
+     * One delivery per row, except that a recipient's digested rows are
+     * merged into one.
+     */
+    private List<Delivery> digest(NotificationType channel, List<OutboxNotification> rows) {
+        List<Delivery> deliveries = new ArrayList<>(rows.size());
+        Map<String, List<OutboxNotification>> digests = new LinkedHashMap<>();
+        for (OutboxNotification row : rows) {
+            if (digested(row.getTopic())) {
+                digests.computeIfAbsent(row.getRecipient(), r -> new ArrayList<>()).add(row);
+            } else {
+                deliveries.add(Delivery.of(row));
+            }
+        }
+        int maxItems = properties.getDigest().getMaxItems();
+        for (List<OutboxNotification> group : digests.values()) {
+            if (group.size() == 1) {
+                deliveries.add(Delivery.of(group.getFirst()));
+                continue;
+            }
+            deliveries.add(new Delivery(NotificationDigests.compose(group, maxItems), group));
+            registry.counter("aroundu.notifications.digest.merged", "channel", channel.name())
+                    .increment(group.size());
+            registry.summary("aroundu.notifications.digest.size", "channel", channel.name()).record(group.size());
+        }
+        return deliveries;
+    }
+
+    private int sendBatch(NotificationProvider provider, List<Delivery> deliveries) {
+        String channel = provider.channel().name();
+        Map<Long, Delivery> byId = new LinkedHashMap<>();
+        deliveries.forEach(delivery -> byId.put(delivery.message().id(), delivery));
+        List<OutboundNotification> batch = deliveries.stream().map(Delivery::message).toList();
+
+        List<DeliveryFailure> failures;
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            failures = bulkheads.call(provider.channel(), () -> provider.send(batch));
+        } catch (RuntimeException ex) {
+            log.warn("{} provider failed for a batch of {}: {}", channel, batch.size(), ex.getMessage());
+            failures = batch.stream().map(n -> new DeliveryFailure(n, ex.getMessage(), false)).toList();
+        } finally {
+            sample.stop(registry.timer("aroundu.notifications.outbox.send.duration", "channel", channel));
+            registry.summary("aroundu.notifications.outbox.batch.size", "channel", channel).record(batch.size());
+        }
+
+        for (DeliveryFailure failure : failures) {
+            Delivery delivery = byId.remove(failure.notification().id());
+            if (delivery != null) {
+                fail(delivery.rows(), failure.error(), failure.permanent());
+            }
+        }
+        List<Long> sent = byId.values().stream()
+                .flatMap(delivery -> delivery.rows().stream())
+                .map(OutboxNotification::getId)
+                .toList();
+        if (!sent.isEmpty()) {
+            outboxRepository.markSent(sent, LocalDateTime.now(clock));
+            registry.counter("aroundu.notifications.outbox.sent", "channel", channel).increment(sent.size());
+        }
+        return sent.size();
+    }
+
+    /**
+     * Records a failed delivery for each of {@code rows}. Rows retried
+     * together are rescheduled to the same instant so a digest is claimed,
+     * and merged, together again.
+     */
+    private void fail(List<OutboxNotification> rows, String error, boolean permanent) {
+        String message = truncate(error);
+        int attempts = rows.stream().mapToInt(OutboxNotification::getAttempts).max().orElse(0);
+        LocalDateTime retryAt = LocalDateTime.now(clock).plus(backoff(attempts));
+        for (OutboxNotification row : rows) {
+            String channel = row.getChannel().name();
+            if (permanent || row.getAttempts() >= properties.getOutbox().getMaxAttempts()) {
+                outboxRepository.markDead(row.getId(), message);
+                registry.counter("aroundu.notifications.outbox.dead", "channel", channel).increment();
+                log.warn("Giving up on {} notification {} to {} after {} attempt(s): {}", channel, row.getId(),
+                        row.getRecipient(), row.getAttempts(), error);
+                continue;
+            }
+            outboxRepository.reschedule(row.getId(), retryAt, message);
+            registry.counter("aroundu.notifications.outbox.retried", "channel", channel).increment();
+            log.debug("{} notification {} failed (attempt {}), retrying at {}: {}", channel, row.getId(),
+                    row.getAttempts(), retryAt, error);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        NotificationProperties.Outbox config = properties.getOutbox();
+        return JitteredBackoff.delay(config.getInitialBackoffMs(), config.getMaxBackoffMs(), attempts);
+    }
+
+    private void refreshBacklog() {
+        backlog.set(outboxRepository.countByStatus(OutboxNotification.Status.PENDING));
+        LocalDateTime oldest = outboxRepository.findOldestPendingCreatedAt();
+        oldestPendingAgeSeconds.set(oldest == null ? 0
+                : Math.max(0, Duration.between(oldest, LocalDateTime.now(clock)).toSeconds()));
+    }
+
+    private OutboxNotification pending(NotificationTopic topic, NotificationType channel, String recipient,
+                                       String subject, String body, LocalDateTime now) {
+        LocalDateTime due = now;
+        if (digested(topic)) {
+            long dueAt = NotificationDigests.dueAt(clock.millis(), properties.getDigest().getWindowMs(),
+                    channel, recipient);
+            due = LocalDateTime.ofInstant(Instant.ofEpochMilli(dueAt), clock.getZone());
+        }
+        return OutboxNotification.builder()
+                .topic(topic)
+                .channel(channel)
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .nextAttemptAt(due)
+                .createdAt(now)
+                .build();
+    }
+
+    private boolean digested(NotificationTopic topic) {
+        NotificationProperties.Digest digest = properties.getDigest();
+        return topic != null && digest.isEnabled() && !digest.getUrgentTopics().contains(topic);
+    }
+
+    private void enqueued(NotificationType channel, int count) {
+        registry.counter("aroundu.notifications.outbox.enqueued", "channel", channel.name()).increment(count);
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 2000 ? error.substring(0, 2000) : error;
+    }
+
+    /**
+     * A message to send and the outbox rows it stands for.
+     */
+    private record Delivery(OutboundNotification message, List<OutboxNotification> rows) {
+
+        static Delivery of(OutboxNotification row) {
+            return new Delivery(new OutboundNotification(row.getId(), row.getChannel(), row.getRecipient(),
+                    row.getSubject(), row.getBody()), List.of(row));
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.beingadish.AroundU.notification.service.impl;
 
-import com.beingadish.AroundU.notification.entity.FailedNotification;
-import com.beingadish.AroundU.notification.repository.FailedNotificationRepository;
+import com.beingadish.AroundU.notification.model.NotificationTopic;
+import com.beingadish.AroundU.notification.model.NotificationType;
+import com.beingadish.AroundU.notification.model.OutboundNotification;
 import com.beingadish.AroundU.notification.service.EmailService;
+import com.beingadish.AroundU.notification.service.NotificationOutboxService;
 import com.beingadish.AroundU.notification.service.NotificationService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -11,39 +13,49 @@ import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
 
 /**
- * Sends notifications (email, push, SMS) in parallel using the
- * {@code notificationExecutor} thread pool. Individual channel failures are
- * persisted via {@link FailedNotificationRepository} for later retry.
+ * Sends notifications (email, push, SMS) in parallel on virtual threads.
+ * Emails are attempted right away through {@link EmailService}, which bounds
+ * each provider attempt with the email channel's {@link ChannelBulkheads
+ * bulkhead} and falls back to the {@link NotificationOutboxService outbox};
+ * push and SMS go through the outbox, whose dispatcher sends them in provider
+ * batches and retries failures.
  * <p>
  * Execution flow for {@link #sendJobNotifications}:
  * <pre>
  *   OLD (sequential):  email-client → email-worker → push-client → push-worker → sms-client → sms-worker ≈ 5 s
- *   NEW (parallel):    all 6 channels fire concurrently via CompletableFuture.allOf()           ≈ 1 s
+ *   NEW (parallel):    each email on its own virtual thread, push + SMS in one outbox insert         ≈ 1 s
  * </pre>
+ * The fan-out runs in a scope that closes only once every child has
+ * finished, and children never queue on a bounded pool, so a parent waiting
+ * for them cannot starve them of threads.
  */
 @Service
 @Slf4j
 public class NotificationServiceImpl implements NotificationService {
 
     private final EmailService emailService;
-    private final FailedNotificationRepository failedNotificationRepository;
-    private final Executor notificationExecutor;
+    private final NotificationOutboxService outboxService;
+    private final Executor virtualThreadExecutor;
 
     public NotificationServiceImpl(EmailService emailService,
-                                   FailedNotificationRepository failedNotificationRepository,
-                                   @Qualifier("notificationExecutor") Executor notificationExecutor) {
+                                   NotificationOutboxService outboxService,
+                                   @Qualifier("virtualThreadExecutor") Executor virtualThreadExecutor) {
         this.emailService = emailService;
-        this.failedNotificationRepository = failedNotificationRepository;
-        this.notificationExecutor = notificationExecutor;
+        this.outboxService = outboxService;
+        this.virtualThreadExecutor = virtualThreadExecutor;
     }
 
     // ── Fire-and-forget job notification ──────────────────────────────────
     @Override
-    @Async("notificationExecutor")
+    @Async("virtualThreadExecutor")
     public void sendJobNotifications(Long jobId,
                                      String clientEmail, String workerEmail,
                                      Long clientId, Long workerId,
@@ -52,105 +64,70 @@ public class NotificationServiceImpl implements NotificationService {
         log.info("Sending parallel notifications for jobId={}", jobId);
         long start = System.currentTimeMillis();
 
-        try {
-            List<CompletableFuture<?>> futures = new ArrayList<>();
-
-            // Email channels
-            if (clientEmail != null) {
-                futures.add(sendEmailAsync(clientEmail, subject, body));
-            }
-            if (workerEmail != null) {
-                futures.add(sendEmailAsync(workerEmail, subject, body));
-            }
-
-            // Push channels
-            if (clientId != null) {
-                futures.add(sendPushAsync(clientId, subject, body));
-            }
-            if (workerId != null) {
-                futures.add(sendPushAsync(workerId, subject, body));
+        List<String> emails = Stream.of(clientEmail, workerEmail).filter(Objects::nonNull).toList();
+        List<OutboundNotification> queued = new ArrayList<>();
+        Stream.of(clientId, workerId).filter(Objects::nonNull).forEach(userId -> queued.add(
+                OutboundNotification.of(NotificationType.PUSH, String.valueOf(userId), subject, body)));
+        Stream.of(clientPhone, workerPhone).filter(Objects::nonNull).forEach(phone -> queued.add(
+                OutboundNotification.of(NotificationType.SMS, phone, null, body)));
+
+        // close() waits for every child; each child handles its own failure
+        try (ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor()) {
+            emails.forEach(to -> scope.execute(() -> sendEmail(to, subject, body)));
+            if (!queued.isEmpty()) {
+                scope.execute(() -> queue(jobId, queued));
             }
-
-            // SMS channels
-            if (clientPhone != null) {
-                futures.add(sendSmsAsync(clientPhone, body));
-            }
-            if (workerPhone != null) {
-                futures.add(sendSmsAsync(workerPhone, body));
-            }
-
-            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-                    .exceptionally(ex -> {
-                        log.error("One or more notifications failed for jobId={}: {}", jobId, ex.getMessage());
-                        return null; // continue despite failures
-                    })
-                    .join(); // block within async method to track completion
-
-            long elapsed = System.currentTimeMillis() - start;
-            log.info("All notifications for jobId={} completed in {}ms ({} channels)", jobId, elapsed, futures.size());
-        } catch (Exception e) {
-            log.error("Async error in sendJobNotifications for jobId={}: {}", jobId, e.getMessage(), e);
-            recordFailedNotification(jobId, FailedNotification.NotificationType.EMAIL,
-                    "batch-" + jobId, e.getMessage());
         }
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("All notifications for jobId={} completed in {}ms ({} channels)", jobId, elapsed,
+                emails.size() + queued.size());
     }
 
     // ── Individual async channel methods ─────────────────────────────────
     @Override
     public CompletableFuture<Boolean> sendEmailAsync(String to, String subject, String body) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                return emailService.sendEmail(to, subject, body);
-            } catch (Exception e) {
-                log.warn("Email send failed for to={}: {}", to, e.getMessage());
-                throw new RuntimeException("Email failed: " + e.getMessage(), e);
-            }
-        }, notificationExecutor);
+        return CompletableFuture.supplyAsync(() -> sendEmail(to, subject, body), virtualThreadExecutor);
     }
 
     @Override
     public CompletableFuture<Boolean> sendPushAsync(Long userId, String title, String message) {
         return CompletableFuture.supplyAsync(() -> {
-            try {
-                // TODO: integrate with actual push notification provider (FCM / APNs)
-                log.info("Sending push notification to userId={} title='{}'", userId, title);
-                return true; // simulated success
-            } catch (Exception e) {
-                log.warn("Push notification failed for userId={}: {}", userId, e.getMessage());
-                throw new RuntimeException("Push failed: " + e.getMessage(), e);
-            }
-        }, notificationExecutor);
+            log.info("Queuing push notification to userId={} title='{}'", userId, title);
+            outboxService.enqueue(NotificationType.PUSH, String.valueOf(userId), title, message);
+            return true;
+        }, virtualThreadExecutor);
     }
 
     @Override
     public CompletableFuture<Boolean> sendSmsAsync(String phoneNumber, String message) {
         return CompletableFuture.supplyAsync(() -> {
-            try {
-                // TODO: integrate with actual SMS provider (Twilio, SNS, etc.)
-                log.info("Sending SMS to phone={}", phoneNumber);
-                return true; // simulated success
-            } catch (Exception e) {
-                log.warn("SMS send failed for phone={}: {}", phoneNumber, e.getMessage());
-                throw new RuntimeException("SMS failed: " + e.getMessage(), e);
-            }
-        }, notificationExecutor);
+            log.info("Queuing SMS to phone={}", phoneNumber);
+            outboxService.enqueue(NotificationType.SMS, phoneNumber, null, message);
+            return true;
+        }, virtualThreadExecutor);
+    }
+
+    /**
+     * Sends one email now. {@link EmailService#sendEmail} queues its own
+     * failures in the outbox, so anything thrown here is only logged; queuing
+     * again would send the email twice.
+     */
+    private boolean sendEmail(String to, String subject, String body) {
+        try {
+            return emailService.sendEmail(to, subject, body);
+        } catch (Exception e) {
+            log.error("Email send failed for to={}: {}", to, e.getMessage(), e);
+            return false;
+        }
     }
 
-    // ── Failure persistence ──────────────────────────────────────────────
-    private void recordFailedNotification(Long jobId, FailedNotification.NotificationType type,
-                                          String recipient, String errorMessage) {
+    private void queue(Long jobId, List<OutboundNotification> notifications) {
         try {
-            failedNotificationRepository.save(FailedNotification.builder()
-                    .jobId(jobId)
-                    .type(type)
-                    .recipient(recipient)
-                    .errorMessage(errorMessage != null && errorMessage.length() > 2000
-                            ? errorMessage.substring(0, 2000) : errorMessage)
-                    .retryCount(0)
-                    .resolved(false)
-                    .build());
+            outboxService.enqueueAll(NotificationTopic.JOB_UPDATE, notifications);
         } catch (Exception e) {
-            log.error("Failed to record notification failure for jobId={}: {}", jobId, e.getMessage());
+            log.error("Could not queue {} push/SMS notifications for jobId={}: {}", notifications.size(), jobId,
+                    e.getMessage(), e);
         }
     }
 }
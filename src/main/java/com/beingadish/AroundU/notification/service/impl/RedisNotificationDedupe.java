@@ -0,0 +1,45 @@
+package com.beingadish.AroundU.notification.service.impl;
+
+import com.beingadish.AroundU.notification.service.NotificationDedupe;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * {@link NotificationDedupe} on Redis keys with a TTL.
+ * <p>
+ * Key format: {@code notify:sent:{key}}. If Redis is unreachable the claim
+ * succeeds: a duplicate reminder is preferred over a missing one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Profile("!test")
+public class RedisNotificationDedupe implements NotificationDedupe {
+
+    private static final String KEY_PREFIX = "notify:sent:";
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Override
+    public boolean claim(String key, Duration ttl) {
+        try {
+            return !Boolean.FALSE.equals(stringRedisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + key, "1", ttl));
+        } catch (Exception ex) {
+            log.warn("Notification dedupe check failed for {}: {}", key, ex.getMessage());
+            return true;
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        try {
+            stringRedisTemplate.delete(KEY_PREFIX + key);
+        } catch (Exception ex) {
+            log.warn("Failed to release notification claim {}: {}", key, ex.getMessage());
+        }
+    }
+}
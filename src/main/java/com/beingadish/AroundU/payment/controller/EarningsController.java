@@ -0,0 +1,57 @@
+package com.beingadish.AroundU.payment.controller;
+
+import com.beingadish.AroundU.common.dto.ApiResponse;
+import com.beingadish.AroundU.common.util.CursorPageResponse;
+import com.beingadish.AroundU.payment.dto.LedgerBalanceDTO;
+import com.beingadish.AroundU.payment.dto.LedgerEntryDTO;
+import com.beingadish.AroundU.payment.entity.LedgerBalance;
+import com.beingadish.AroundU.payment.service.PaymentLedgerService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import static com.beingadish.AroundU.common.constants.URIConstants.WORKER_BASE;
+
+@RestController
+@RequestMapping(WORKER_BASE)
+@RequiredArgsConstructor
+@Tag(name = "Earnings", description = "Worker balance and earnings history from the payment ledger")
+@SecurityRequirement(name = "bearerAuth")
+public class EarningsController {
+
+    private final PaymentLedgerService ledgerService;
+
+    @GetMapping("/{workerId}/earnings")
+    @PreAuthorize("hasRole('ADMIN') or #workerId == authentication.principal.id")
+    @Operation(summary = "Get worker balance", description = "Amount held in escrow for the worker's open jobs and total earned")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Balance returned"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public ResponseEntity<ApiResponse<LedgerBalanceDTO>> getBalance(@PathVariable Long workerId) {
+        return ResponseEntity.ok(ApiResponse.success(ledgerService.getBalance(LedgerBalance.OwnerType.WORKER, workerId)));
+    }
+
+    @GetMapping("/{workerId}/earnings/history")
+    @PreAuthorize("hasRole('ADMIN') or #workerId == authentication.principal.id")
+    @Operation(summary = "List worker ledger entries", description = "Newest first, with the worker's balance after each entry. "
+            + "Pass the returned nextCursor as cursor to get the next page.")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Page returned"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public ResponseEntity<ApiResponse<CursorPageResponse<LedgerEntryDTO>>> getHistory(
+            @PathVariable Long workerId,
+            @Parameter(description = "nextCursor of the previous page; omit for the first page")
+            @RequestParam(required = false) Long cursor,
+            @Parameter(description = "Entries per page, at most 100")
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(ApiResponse.success(ledgerService.getWorkerHistory(workerId, cursor, size)));
+    }
+}
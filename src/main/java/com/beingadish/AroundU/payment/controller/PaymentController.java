@@ -1,9 +1,11 @@
 package com.beingadish.AroundU.payment.controller;
 
+import com.beingadish.AroundU.common.constants.enums.PaymentStatus;
 import com.beingadish.AroundU.common.dto.ApiResponse;
 import com.beingadish.AroundU.payment.dto.PaymentLockRequest;
 import com.beingadish.AroundU.payment.dto.PaymentReleaseRequest;
 import com.beingadish.AroundU.payment.dto.PaymentResponseDTO;
+import com.beingadish.AroundU.payment.entity.PaymentTransaction;
 import com.beingadish.AroundU.payment.mapper.PaymentTransactionMapper;
 import com.beingadish.AroundU.payment.service.PaymentService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,6 +16,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -28,6 +31,8 @@ import static com.beingadish.AroundU.common.constants.URIConstants.JOB_BASE;
 @SecurityRequirement(name = "bearerAuth")
 public class PaymentController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final PaymentService paymentService;
     private final PaymentTransactionMapper paymentTransactionMapper;
 
@@ -36,6 +41,8 @@ public class PaymentController {
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Escrow locked",
                     content = @Content(schema = @Schema(implementation = PaymentResponseDTO.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "Lock accepted, waiting on the payment gateway",
+                    content = @Content(schema = @Schema(implementation = PaymentResponseDTO.class))),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Validation error",
                     content = @Content(schema = @Schema(implementation = ApiResponse.class))),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Job not found"),
@@ -44,8 +51,15 @@ public class PaymentController {
     public ResponseEntity<PaymentResponseDTO> lock(
             @Parameter(description = "Job ID", required = true) @PathVariable Long jobId,
             @Parameter(description = "Client ID (job owner)", required = true) @RequestParam Long clientId,
+            @Parameter(description = "Repeat a request with the same key to get its original result")
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) @Size(max = 100) String idempotencyKey,
             @Valid @RequestBody PaymentLockRequest request) {
-        return new ResponseEntity<>(paymentTransactionMapper.toDto(paymentService.lockEscrow(jobId, clientId, request)), HttpStatus.CREATED);
+        if (idempotencyKey != null) {
+            request.setIdempotencyKey(idempotencyKey);
+        }
+        PaymentTransaction payment = paymentService.lockEscrow(jobId, clientId, request);
+        HttpStatus status = payment.getStatus() == PaymentStatus.PENDING_ESCROW ? HttpStatus.ACCEPTED : HttpStatus.CREATED;
+        return new ResponseEntity<>(paymentTransactionMapper.toDto(payment), status);
     }
 
     @PostMapping("/{jobId}/payments/release")
@@ -53,6 +67,8 @@ public class PaymentController {
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Payment released",
                     content = @Content(schema = @Schema(implementation = PaymentResponseDTO.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "Release accepted, waiting on the payment gateway",
+                    content = @Content(schema = @Schema(implementation = PaymentResponseDTO.class))),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid release code"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Job or payment not found"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Payment not in locked state")
@@ -60,7 +76,30 @@ public class PaymentController {
     public ResponseEntity<PaymentResponseDTO> release(
             @Parameter(description = "Job ID", required = true) @PathVariable Long jobId,
             @Parameter(description = "Client ID (job owner)", required = true) @RequestParam Long clientId,
+            @Parameter(description = "Repeat a request with the same key to get its original result")
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) @Size(max = 100) String idempotencyKey,
             @Valid @RequestBody PaymentReleaseRequest request) {
-        return ResponseEntity.ok(paymentTransactionMapper.toDto(paymentService.releaseEscrow(jobId, clientId, request)));
+        if (idempotencyKey != null) {
+            request.setIdempotencyKey(idempotencyKey);
+        }
+        PaymentTransaction payment = paymentService.releaseEscrow(jobId, clientId, request);
+        HttpStatus status = payment.getStatus() == PaymentStatus.RELEASED ? HttpStatus.OK : HttpStatus.ACCEPTED;
+        return new ResponseEntity<>(paymentTransactionMapper.toDto(payment), status);
+    }
+
+    @GetMapping("/{jobId}/payments")
+    @Operation(summary = "Get escrow payment", description = "Current state of the job's payment, e.g. after a 202 from lock or release, "
+            + "with the status of its last lock or release so a payout still pending can be told from one that failed")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Payment found",
+                    content = @Content(schema = @Schema(implementation = PaymentResponseDTO.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Job or payment not found")
+    })
+    public ResponseEntity<PaymentResponseDTO> get(
+            @Parameter(description = "Job ID", required = true) @PathVariable Long jobId,
+            @Parameter(description = "Client ID (job owner)", required = true) @RequestParam Long clientId) {
+        PaymentTransaction payment = paymentService.getPayment(jobId, clientId);
+        return ResponseEntity.ok(paymentTransactionMapper.toDto(payment,
+                paymentService.getLatestOperation(payment).orElse(null)));
     }
 }
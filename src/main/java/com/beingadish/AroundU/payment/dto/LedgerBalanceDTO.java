@@ -0,0 +1,28 @@
+package com.beingadish.AroundU.payment.dto;
+
+import com.beingadish.AroundU.payment.entity.LedgerBalance;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerBalanceDTO {
+
+    private LedgerBalance.OwnerType ownerType;
+    private Long ownerId;
+    /**
+     * Held in escrow for open jobs.
+     */
+    private Double escrow;
+    /**
+     * Paid out (client) or earned (worker) so far.
+     */
+    private Double settled;
+    private LocalDateTime updatedAt;
+}
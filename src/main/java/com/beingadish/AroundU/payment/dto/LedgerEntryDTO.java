@@ -0,0 +1,29 @@
+package com.beingadish.AroundU.payment.dto;
+
+import com.beingadish.AroundU.payment.entity.LedgerEntry;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A ledger entry as seen by one party, with that party's balances right
+ * after it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerEntryDTO {
+
+    private Long id;
+    private LedgerEntry.Type type;
+    private Long paymentId;
+    private Long jobId;
+    private Double amount;
+    private Double escrowBalance;
+    private Double settledBalance;
+    private LocalDateTime createdAt;
+}
@@ -2,6 +2,7 @@ package com.beingadish.AroundU.payment.dto;
 
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 @Data
@@ -9,4 +10,10 @@ public class PaymentLockRequest {
     @NotNull
     @Positive
     private Double amount;
+
+    /**
+     * Optional; taken from the {@code Idempotency-Key} header.
+     */
+    @Size(max = 100)
+    private String idempotencyKey;
 }
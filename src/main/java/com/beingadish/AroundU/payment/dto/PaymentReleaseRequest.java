@@ -1,10 +1,17 @@
 package com.beingadish.AroundU.payment.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 @Data
 public class PaymentReleaseRequest {
     @NotBlank
     private String releaseCode;
+
+    /**
+     * Optional; taken from the {@code Idempotency-Key} header.
+     */
+    @Size(max = 100)
+    private String idempotencyKey;
 }
@@ -2,6 +2,7 @@ package com.beingadish.AroundU.payment.dto;
 
 import com.beingadish.AroundU.common.constants.enums.PaymentMode;
 import com.beingadish.AroundU.common.constants.enums.PaymentStatus;
+import com.beingadish.AroundU.payment.entity.PaymentOperation;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -24,4 +25,10 @@ public class PaymentResponseDTO {
     private PaymentStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    /**
+     * Last lock or release recorded for the payment and how its gateway call
+     * went; only filled in when the payment is read.
+     */
+    private PaymentOperation.Type operationType;
+    private PaymentOperation.Status operationStatus;
 }
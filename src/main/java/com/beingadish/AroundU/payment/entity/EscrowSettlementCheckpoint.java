@@ -0,0 +1,90 @@
+package com.beingadish.AroundU.payment.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Progress of one partition of an {@link EscrowSettlementRun}. Updated in
+ * the same transaction as each settled chunk, so a restarted run resumes
+ * after the last committed payment id.
+ */
+@Entity
+@Table(name = "escrow_settlement_checkpoints",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"run_date", "partition_no"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EscrowSettlementCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Column(name = "partition_no", nullable = false)
+    private int partitionNo;
+
+    /**
+     * Highest payment id this partition has processed.
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private long lastId = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private long settledCount = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private double settledAmount = 0;
+
+    /**
+     * Payments that could not be released; they stay locked and are picked
+     * up by the next day's run.
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private long failedCount = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private boolean completed = false;
+
+    /**
+     * Fencing token of the lease that last advanced this partition; writes
+     * under an older token are refused.
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private long fencingToken = 0;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        EscrowSettlementCheckpoint that = (EscrowSettlementCheckpoint) o;
+        return id != null && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
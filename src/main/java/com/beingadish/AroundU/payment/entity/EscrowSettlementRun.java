@@ -0,0 +1,68 @@
+package com.beingadish.AroundU.payment.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * One day's escrow settlement. Created by whichever instance starts the run
+ * first, together with one {@link EscrowSettlementCheckpoint} per partition;
+ * {@code completedAt} and the totals are filled in once every partition has
+ * finished.
+ */
+@Entity
+@Table(name = "escrow_settlement_runs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EscrowSettlementRun {
+
+    @Id
+    private LocalDate runDate;
+
+    /**
+     * Partition count the run was started with; fixed for the run so a
+     * config change does not reshuffle work mid-run.
+     */
+    @Column(nullable = false)
+    private int partitions;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private long settledCount = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private double settledAmount = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private long failedCount = 0;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        EscrowSettlementRun that = (EscrowSettlementRun) o;
+        return runDate != null && Objects.equals(runDate, that.runDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,58 @@
+package com.beingadish.AroundU.payment.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Current ledger balance of one client or worker, updated in the same
+ * transaction as every {@link LedgerEntry} that moves it, so reading it is
+ * a single-row lookup.
+ * <p>
+ * {@code escrow} is money held for open jobs: what a client has locked, or
+ * what a worker is waiting to be paid. {@code settled} is money that has
+ * moved: what a client has paid out, or what a worker has earned.
+ */
+@Entity
+@Table(name = "ledger_balances",
+        uniqueConstraints = @UniqueConstraint(name = "uk_ledger_balances_owner",
+                columnNames = {"owner_type", "owner_id"}))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerBalance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private OwnerType ownerType;
+
+    @Column(nullable = false)
+    private Long ownerId;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Double escrow = 0.0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Double settled = 0.0;
+
+    /**
+     * The last entry applied, {@code null} until the first.
+     */
+    private Long lastEntryId;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum OwnerType {
+        CLIENT, WORKER
+    }
+}
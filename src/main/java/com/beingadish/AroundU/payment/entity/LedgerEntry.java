@@ -0,0 +1,95 @@
+package com.beingadish.AroundU.payment.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * One movement of money in the payment ledger. Entries are only ever
+ * inserted, never updated or deleted.
+ * <p>
+ * Each entry carries the client's and the worker's {@link LedgerBalance}
+ * as they stood right after it, so a balance history is a read of entries
+ * without summing anything. A payment gets at most one entry of each type.
+ */
+@Entity
+@Table(name = "payment_ledger",
+        uniqueConstraints = @UniqueConstraint(name = "uk_payment_ledger_payment_type",
+                columnNames = {"payment_transaction_id", "type"}),
+        indexes = {
+                @Index(name = "idx_payment_ledger_worker", columnList = "worker_id, id"),
+                @Index(name = "idx_payment_ledger_type_created", columnList = "type, created_at")
+        })
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerEntry {
+
+    /**
+     * Entries that pay a worker, i.e. count as revenue.
+     */
+    public static final Set<Type> PAYOUT_TYPES = Collections.unmodifiableSet(EnumSet.of(Type.RELEASE, Type.SETTLEMENT));
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Type type;
+
+    @Column(nullable = false)
+    private Long paymentTransactionId;
+
+    @Column(nullable = false)
+    private Long jobId;
+
+    @Column(nullable = false)
+    private Long clientId;
+
+    @Column(nullable = false)
+    private Long workerId;
+
+    @Column(nullable = false)
+    private Double amount;
+
+    @Column(nullable = false)
+    private Double clientEscrow;
+
+    @Column(nullable = false)
+    private Double clientSettled;
+
+    @Column(nullable = false)
+    private Double workerEscrow;
+
+    @Column(nullable = false)
+    private Double workerSettled;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum Type {
+        /**
+         * Funds held in escrow for the job.
+         */
+        ESCROW_LOCK,
+        /**
+         * Escrow paid to the worker when the client released it.
+         */
+        RELEASE,
+        /**
+         * Escrow paid to the worker by the end-of-day settlement run.
+         */
+        SETTLEMENT,
+        /**
+         * Escrow returned to the client.
+         */
+        REFUND
+    }
+}
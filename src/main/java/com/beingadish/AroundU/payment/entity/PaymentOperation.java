@@ -0,0 +1,116 @@
+package com.beingadish.AroundU.payment.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A gateway call a payment is waiting on: the hold behind an escrow lock or
+ * the payout behind a release.
+ * <p>
+ * The row is written in the same transaction that validates the request, so
+ * an accepted request is never lost. The caller tries the gateway once
+ * straight away; if that fails the reconciler claims the row later and
+ * retries with backoff until the gateway accepts it or it runs out of
+ * attempts. The row's id is the gateway idempotency key, so a retry after a
+ * lost response cannot charge or pay out twice.
+ */
+@Entity
+@Table(name = "payment_operations",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_payment_operations_client_key",
+                        columnNames = {"client_id", "idempotency_key"}),
+                @UniqueConstraint(name = "uk_payment_operations_pending",
+                        columnNames = {"payment_transaction_id", "pending_type"})
+        },
+        indexes = {
+                @Index(name = "idx_payment_operations_due", columnList = "status, next_attempt_at"),
+                @Index(name = "idx_payment_operations_payment", columnList = "payment_transaction_id")
+        })
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentOperation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Type type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    /**
+     * Same as {@link #type} while the operation is pending, cleared once it
+     * completes. Unique per payment, so however requests interleave a
+     * payment has at most one pending operation of each type; rows with a
+     * {@code NULL} here do not collide.
+     */
+    @Column(length = 20)
+    private String pendingType;
+
+    /**
+     * Key the client sent with the request, unique per client; a repeated
+     * request with the same key gets the original payment back.
+     */
+    @Column(length = 100)
+    private String idempotencyKey;
+
+    @Column(nullable = false)
+    private Long paymentTransactionId;
+
+    @Column(nullable = false)
+    private Long jobId;
+
+    @Column(nullable = false)
+    private Long clientId;
+
+    @Column(nullable = false)
+    private Double amount;
+
+    /**
+     * Gateway attempts so far, counted when the operation is claimed.
+     */
+    @Column(nullable = false)
+    private int attempts;
+
+    /**
+     * When the operation is next due; pushed forward while it is claimed.
+     */
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+
+    @Column(length = 255)
+    private String gatewayReference;
+
+    @Column(length = 2000)
+    private String lastError;
+
+    /**
+     * The key sent to the gateway, the same on every attempt.
+     */
+    public String gatewayKey() {
+        return "aroundu-payment-op-" + id;
+    }
+
+    public enum Type {
+        LOCK, RELEASE
+    }
+
+    public enum Status {
+        PENDING, SUCCEEDED, FAILED
+    }
+}
@@ -0,0 +1,11 @@
+package com.beingadish.AroundU.payment.event;
+
+/**
+ * Published when escrow funds are released to workers: once per payment by
+ * the client release flow, once per chunk by the EOD settlement.
+ *
+ * @param payments number of payments released
+ * @param amount   total amount released
+ */
+public record EscrowReleasedEvent(int payments, double amount) {
+}
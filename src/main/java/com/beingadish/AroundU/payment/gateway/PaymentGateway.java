@@ -0,0 +1,25 @@
+package com.beingadish.AroundU.payment.gateway;
+
+/**
+ * The external payment provider.
+ * <p>
+ * Every call carries an idempotency key that stays the same across retries of
+ * one operation, so a call that reached the provider but whose response was
+ * lost can be repeated without charging or paying out twice.
+ */
+public interface PaymentGateway {
+
+    /**
+     * Holds {@code amount} on the client's instrument for an escrow payment.
+     *
+     * @return the provider's reference for the hold
+     */
+    String hold(String idempotencyKey, Long paymentId, Double amount);
+
+    /**
+     * Pays a held escrow payment out to the worker.
+     *
+     * @return the provider's reference for the payout
+     */
+    String release(String idempotencyKey, Long paymentId, Double amount);
+}
@@ -0,0 +1,26 @@
+package com.beingadish.AroundU.payment.gateway;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Placeholder gateway that accepts every call: replace with the real
+ * provider's client. References are derived from the idempotency key, so a
+ * repeated call returns the same reference like a real provider would.
+ */
+@Component
+@Slf4j
+public class StubPaymentGateway implements PaymentGateway {
+
+    @Override
+    public String hold(String idempotencyKey, Long paymentId, Double amount) {
+        log.debug("Gateway hold payment={} amount={} key={}", paymentId, amount, idempotencyKey);
+        return "hold_" + idempotencyKey;
+    }
+
+    @Override
+    public String release(String idempotencyKey, Long paymentId, Double amount) {
+        log.debug("Gateway release payment={} amount={} key={}", paymentId, amount, idempotencyKey);
+        return "payout_" + idempotencyKey;
+    }
+}
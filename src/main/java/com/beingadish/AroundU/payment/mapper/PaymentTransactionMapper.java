@@ -4,6 +4,7 @@ import com.beingadish.AroundU.common.constants.enums.PaymentStatus;
 import com.beingadish.AroundU.job.entity.Job;
 import com.beingadish.AroundU.payment.dto.PaymentLockRequest;
 import com.beingadish.AroundU.payment.dto.PaymentResponseDTO;
+import com.beingadish.AroundU.payment.entity.PaymentOperation;
 import com.beingadish.AroundU.payment.entity.PaymentTransaction;
 import com.beingadish.AroundU.user.entity.Client;
 import com.beingadish.AroundU.user.entity.Worker;
@@ -18,7 +19,7 @@ public interface PaymentTransactionMapper {
     @Mapping(target = "client", source = "client")
     @Mapping(target = "worker", source = "worker")
     @Mapping(target = "paymentMode", source = "job.paymentMode")
-    @Mapping(target = "status", constant = "ESCROW_LOCKED")
+    @Mapping(target = "status", constant = "PENDING_ESCROW")
     @Mapping(target = "gatewayReference", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
@@ -27,8 +28,19 @@ public interface PaymentTransactionMapper {
     @Mapping(target = "jobId", source = "job.id")
     @Mapping(target = "clientId", source = "client.id")
     @Mapping(target = "workerId", source = "worker.id")
+    @Mapping(target = "operationType", ignore = true)
+    @Mapping(target = "operationStatus", ignore = true)
     PaymentResponseDTO toDto(PaymentTransaction entity);
 
+    default PaymentResponseDTO toDto(PaymentTransaction entity, PaymentOperation operation) {
+        PaymentResponseDTO dto = toDto(entity);
+        if (operation != null) {
+            dto.setOperationType(operation.getType());
+            dto.setOperationStatus(operation.getStatus());
+        }
+        return dto;
+    }
+
     default PaymentTransaction withStatus(PaymentTransaction tx, PaymentStatus status) {
         tx.setStatus(status);
         return tx;
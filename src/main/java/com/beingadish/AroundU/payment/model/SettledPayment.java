@@ -0,0 +1,17 @@
+package com.beingadish.AroundU.payment.model;
+
+/**
+ * A payment released by the settlement run.
+ */
+public interface SettledPayment {
+
+    Long getId();
+
+    Double getAmount();
+
+    Long getJobId();
+
+    Long getClientId();
+
+    Long getWorkerId();
+}
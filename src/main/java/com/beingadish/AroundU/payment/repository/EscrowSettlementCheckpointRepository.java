@@ -0,0 +1,29 @@
+package com.beingadish.AroundU.payment.repository;
+
+import com.beingadish.AroundU.payment.entity.EscrowSettlementCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EscrowSettlementCheckpointRepository extends JpaRepository<EscrowSettlementCheckpoint, Long> {
+
+    Optional<EscrowSettlementCheckpoint> findByRunDateAndPartitionNo(LocalDate runDate, int partitionNo);
+
+    List<EscrowSettlementCheckpoint> findByRunDateOrderByPartitionNoAsc(LocalDate runDate);
+
+    /**
+     * Reads the checkpoint under a row lock, so the fencing check and the
+     * advance that follows cannot interleave with another holder's.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM EscrowSettlementCheckpoint c WHERE c.id = :id")
+    Optional<EscrowSettlementCheckpoint> lockById(@Param("id") Long id);
+}
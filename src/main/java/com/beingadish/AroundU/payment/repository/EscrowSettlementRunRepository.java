@@ -0,0 +1,37 @@
+package com.beingadish.AroundU.payment.repository;
+
+import com.beingadish.AroundU.payment.entity.EscrowSettlementRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EscrowSettlementRunRepository extends JpaRepository<EscrowSettlementRun, LocalDate> {
+
+    List<EscrowSettlementRun> findByCompletedAtIsNullOrderByRunDateAsc();
+
+    /**
+     * Closes the run with its totals. Returns 1 only for the caller that
+     * closed it, so the run report is produced once.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE EscrowSettlementRun r
+            SET r.completedAt = :now, r.settledCount = :settledCount,
+                r.settledAmount = :settledAmount, r.failedCount = :failedCount
+            WHERE r.runDate = :runDate AND r.completedAt IS NULL
+            """)
+    int complete(@Param("runDate") LocalDate runDate,
+                 @Param("now") LocalDateTime now,
+                 @Param("settledCount") long settledCount,
+                 @Param("settledAmount") double settledAmount,
+                 @Param("failedCount") long failedCount);
+}